@@ -0,0 +1,77 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.mdm.api.base.adapter.ChildrenStore;
+import org.eclipse.mdm.api.base.adapter.Core;
+import org.eclipse.mdm.api.base.adapter.EntityStore;
+import org.eclipse.mdm.api.base.model.Value;
+
+/**
+ * Creates lightweight {@link Core}s for benchmarks. Unlike the mocked ones of
+ * {@link TestCores}, their calls are cheap enough not to dominate the
+ * measured code.
+ */
+final class BenchmarkCores {
+
+	/**
+	 * Constructor.
+	 */
+	private BenchmarkCores() {
+	}
+
+	/**
+	 * Creates a {@code Core} with given type name and values.
+	 */
+	static Core core(String typeName, Value... values) {
+		Map<String, Value> valueMap = new HashMap<>();
+		for (Value value : values) {
+			valueMap.put(value.getName(), value);
+		}
+
+		EntityStore permanentStore = new EntityStore();
+		EntityStore mutableStore = new EntityStore();
+		ChildrenStore childrenStore = new ChildrenStore();
+		return (Core) Proxy.newProxyInstance(Core.class.getClassLoader(), new Class<?>[] { Core.class },
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+					case "getTypeName":
+						return typeName;
+					case "getValues":
+					case "getAllValues":
+						return valueMap;
+					case "getPermanentStore":
+						return permanentStore;
+					case "getMutableStore":
+						return mutableStore;
+					case "getChildrenStore":
+						return childrenStore;
+					case "equals":
+						return proxy == args[0];
+					case "hashCode":
+						return System.identityHashCode(proxy);
+					case "toString":
+						return typeName;
+					default:
+						throw new UnsupportedOperationException("Method '" + method + "' is not supported.");
+					}
+				});
+	}
+
+}
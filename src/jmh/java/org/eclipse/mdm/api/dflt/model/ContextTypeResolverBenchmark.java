@@ -0,0 +1,90 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.mdm.api.base.adapter.Core;
+import org.eclipse.mdm.api.base.model.ContextType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Hydrates a catalog of 20,000 {@link CatalogComponent}s and compares the
+ * {@link ContextType} resolution of {@link ContextTypeResolver} with the
+ * search of each type name the constructor did before.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Threads(4)
+public class ContextTypeResolverBenchmark {
+
+	private static final String[] TYPE_NAMES = { "CatUnitUnderTestComponent", "CatTestSequenceComponent",
+			"CatTestEquipmentComponent" };
+
+	private final Core[] cores = new Core[20_000];
+
+	@Setup
+	public void setUp() {
+		for (int i = 0; i < cores.length; i++) {
+			// distinct instances, as read from a data source
+			cores[i] = BenchmarkCores.core(new String(TYPE_NAMES[i % TYPE_NAMES.length]));
+		}
+	}
+
+	@Benchmark
+	public void search(Blackhole blackhole) {
+		for (Core core : cores) {
+			// the former CatalogComponent(Core) constructor
+			String typeName = core.getTypeName().toUpperCase(Locale.ROOT);
+			for (ContextType contextType : ContextType.values()) {
+				if (typeName.contains(contextType.name())) {
+					blackhole.consume(contextType);
+					break;
+				}
+			}
+		}
+	}
+
+	@Benchmark
+	public void resolver(Blackhole blackhole) {
+		for (Core core : cores) {
+			blackhole.consume(ContextTypeResolver.resolve(core.getTypeName()));
+		}
+	}
+
+	@Benchmark
+	public void hydration(Blackhole blackhole) {
+		for (Core core : cores) {
+			blackhole.consume(new CatalogComponent(core));
+		}
+	}
+
+}
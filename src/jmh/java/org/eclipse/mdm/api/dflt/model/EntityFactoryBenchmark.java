@@ -0,0 +1,55 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.mdm.api.base.adapter.Core;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the entity constructors resolved once per entity class by
+ * {@link EntityFactory#createBaseEntity(Class, Core)} with the reflective
+ * constructor lookup it used before.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class EntityFactoryBenchmark {
+
+	private final Core core = BenchmarkCores.core("TplUnitUnderTestAttr");
+
+	@Benchmark
+	public TemplateAttribute reflection() throws ReflectiveOperationException {
+		return TemplateAttribute.class.getDeclaredConstructor(Core.class).newInstance(core);
+	}
+
+	@Benchmark
+	public TemplateAttribute resolvedConstructor() {
+		return EntityFactory.construct(TemplateAttribute.class, core);
+	}
+
+}
@@ -0,0 +1,94 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.mdm.api.base.adapter.Core;
+import org.eclipse.mdm.api.base.model.Sortable;
+import org.eclipse.mdm.api.base.model.ValueType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares sorting {@link TemplateAttribute}s with {@link SortIndexSorter}
+ * and with comparators, which extract the sort index of the
+ * {@link CatalogAttribute} on each comparison.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class SortIndexSorterBenchmark {
+
+	// the former TemplateAttribute#COMPARATOR
+	private static final Comparator<TemplateAttribute> BOXING_COMPARATOR = Comparator
+			.comparing(ta -> ta.getCatalogAttribute().getSortIndex());
+
+	@Param({ "10", "100", "1000" })
+	public int size;
+
+	private List<TemplateAttribute> templateAttributes;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		templateAttributes = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			CatalogAttribute catalogAttribute = new CatalogAttribute(BenchmarkCores.core("CatUnitUnderTestAttr",
+					ValueType.INTEGER.create(Sortable.ATTR_SORT_INDEX, random.nextInt(size))));
+			Core core = BenchmarkCores.core("TplUnitUnderTestAttr");
+			core.getMutableStore().set(catalogAttribute);
+			templateAttributes.add(new TemplateAttribute(core));
+		}
+	}
+
+	@Benchmark
+	public List<TemplateAttribute> boxingComparator() {
+		List<TemplateAttribute> sorted = new ArrayList<>(templateAttributes);
+		sorted.sort(BOXING_COMPARATOR);
+		return sorted;
+	}
+
+	@Benchmark
+	public List<TemplateAttribute> comparator() {
+		List<TemplateAttribute> sorted = new ArrayList<>(templateAttributes);
+		sorted.sort(TemplateAttribute.COMPARATOR);
+		return sorted;
+	}
+
+	@Benchmark
+	public List<TemplateAttribute> sortIndexSorter() {
+		List<TemplateAttribute> sorted = new ArrayList<>(templateAttributes);
+		SortIndexSorter.sortTemplateAttributes(sorted);
+		return sorted;
+	}
+
+}
@@ -0,0 +1,115 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.mdm.api.base.model.Entity;
+import org.eclipse.mdm.api.base.model.ValueType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares sorting 10,000 {@link TemplateRoot} versions by the memoized
+ * version numbers, by memoized boxed versions and by versions parsed and
+ * boxed on each comparison, both by name and version and by version only.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class VersionableBenchmark {
+
+	// Versionable#COMPARATOR with the former Versionable#getVersion()
+	private static final Comparator<Versionable> PARSING_COMPARATOR = Comparator.comparing(Versionable::getName)
+			.thenComparing(Comparator.comparing(VersionableBenchmark::parseVersion).reversed());
+
+	private static final Comparator<Versionable> PARSING_VERSION_COMPARATOR = Comparator
+			.comparing(VersionableBenchmark::parseVersion);
+
+	private static final Comparator<Versionable> VERSION_COMPARATOR = Comparator
+			.comparingInt(Versionable::getVersionNumber);
+
+	private List<TemplateRoot> templateRoots;
+
+	@Setup
+	public void setUp() {
+		templateRoots = new ArrayList<>();
+		for (int name = 0; name < 100; name++) {
+			for (int version = 1; version <= 100; version++) {
+				templateRoots.add(new TemplateRoot(BenchmarkCores.core("TplUnitUnderTestRoot",
+						ValueType.STRING.create(Entity.ATTR_NAME, "Root" + name),
+						ValueType.STRING.create(Versionable.ATTR_VERSION, Integer.toString(version)))));
+			}
+		}
+		Collections.shuffle(templateRoots, new Random(42));
+	}
+
+	@Benchmark
+	public List<TemplateRoot> parsingComparator() {
+		List<TemplateRoot> sorted = new ArrayList<>(templateRoots);
+		sorted.sort(PARSING_COMPARATOR);
+		return sorted;
+	}
+
+	@Benchmark
+	public List<TemplateRoot> comparator() {
+		List<TemplateRoot> sorted = new ArrayList<>(templateRoots);
+		sorted.sort(Versionable.COMPARATOR);
+		return sorted;
+	}
+
+	@Benchmark
+	public List<TemplateRoot> versionNumberComparator() {
+		List<TemplateRoot> sorted = new ArrayList<>(templateRoots);
+		sorted.sort(Versionable.VERSION_NUMBER_COMPARATOR);
+		return sorted;
+	}
+
+	@Benchmark
+	public List<TemplateRoot> parsingVersionComparator() {
+		List<TemplateRoot> sorted = new ArrayList<>(templateRoots);
+		sorted.sort(PARSING_VERSION_COMPARATOR);
+		return sorted;
+	}
+
+	@Benchmark
+	public List<TemplateRoot> versionComparator() {
+		List<TemplateRoot> sorted = new ArrayList<>(templateRoots);
+		sorted.sort(VERSION_COMPARATOR);
+		return sorted;
+	}
+
+	// the former Versionable#getVersion()
+	private static Integer parseVersion(Versionable versionable) {
+		return Integer.valueOf(versionable.getValue(Versionable.ATTR_VERSION).extract());
+	}
+
+}
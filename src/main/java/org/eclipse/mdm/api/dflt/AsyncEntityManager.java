@@ -0,0 +1,392 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.eclipse.mdm.api.base.model.ContextType;
+import org.eclipse.mdm.api.base.model.Entity;
+import org.eclipse.mdm.api.base.model.StatusAttachable;
+import org.eclipse.mdm.api.dflt.model.Status;
+import org.eclipse.mdm.api.dflt.model.Versionable;
+
+/**
+ * Asynchronous facade of an {@link EntityManager}. Each call is executed on
+ * the configured {@link Executor} and its result is returned as a
+ * {@link CompletableFuture}, so independent loads overlap instead of running
+ * one after another.
+ *
+ * <pre>
+ * {
+ * 	&#64;code
+ * 	try (AsyncEntityManager asyncEntityManager = new AsyncEntityManager(entityManager)) {
+ * 		CompletableFuture<List<CatalogComponent>> uut = asyncEntityManager.loadAllAsync(CatalogComponent.class,
+ * 				UNITUNDERTEST);
+ * 		CompletableFuture<List<CatalogComponent>> ts = asyncEntityManager.loadAllAsync(CatalogComponent.class,
+ * 				TESTSEQUENCE);
+ * 		CompletableFuture.allOf(uut, ts).join();
+ * 	}
+ * }
+ * </pre>
+ *
+ * <p>
+ * <b>NOTE:</b> The decorated {@code EntityManager} is called concurrently
+ * and therefore has to be thread safe. Failures of the decorated
+ * {@code EntityManager} complete the returned futures exceptionally.
+ *
+ * @since 5.1.0
+ */
+public class AsyncEntityManager implements AutoCloseable {
+
+	// ======================================================================
+	// Instance variables
+	// ======================================================================
+
+	private final EntityManager entityManager;
+	private final Executor executor;
+	private final boolean shutdownOnClose;
+
+	// ======================================================================
+	// Constructors
+	// ======================================================================
+
+	/**
+	 * Constructor. Calls are executed on virtual threads if the running JVM
+	 * supports them, otherwise on a cached pool of daemon threads. The
+	 * executor is shut down once this facade is closed.
+	 *
+	 * @param entityManager
+	 *            The decorated {@link EntityManager}.
+	 */
+	public AsyncEntityManager(EntityManager entityManager) {
+		this(entityManager, createDefaultExecutor(), true);
+	}
+
+	/**
+	 * Constructor. The given {@link Executor} is owned by the caller and
+	 * therefore not shut down once this facade is closed.
+	 *
+	 * @param entityManager
+	 *            The decorated {@link EntityManager}.
+	 * @param executor
+	 *            The {@code Executor} used to execute the calls.
+	 */
+	public AsyncEntityManager(EntityManager entityManager, Executor executor) {
+		this(entityManager, executor, false);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param entityManager
+	 *            The decorated {@link EntityManager}.
+	 * @param executor
+	 *            The {@code Executor} used to execute the calls.
+	 * @param shutdownOnClose
+	 *            Whether the executor is shut down once this facade is
+	 *            closed.
+	 */
+	private AsyncEntityManager(EntityManager entityManager, Executor executor, boolean shutdownOnClose) {
+		this.entityManager = Objects.requireNonNull(entityManager, "Entity manager must not be null.");
+		this.executor = Objects.requireNonNull(executor, "Executor must not be null.");
+		this.shutdownOnClose = shutdownOnClose;
+	}
+
+	// ======================================================================
+	// Public methods
+	// ======================================================================
+
+	/**
+	 * Returns the decorated {@link EntityManager}.
+	 *
+	 * @return The decorated {@code EntityManager} is returned.
+	 */
+	public EntityManager getEntityManager() {
+		return entityManager;
+	}
+
+	/**
+	 * Returns the {@link Executor} used to execute the calls.
+	 *
+	 * @return The {@code Executor} is returned.
+	 */
+	public Executor getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Executes given call of the decorated {@link EntityManager}
+	 * asynchronously.
+	 *
+	 * @param <R>
+	 *            The result type.
+	 * @param call
+	 *            The call.
+	 * @return The {@code CompletableFuture} result is returned.
+	 */
+	public <R> CompletableFuture<R> supplyAsync(Function<EntityManager, R> call) {
+		return CompletableFuture.supplyAsync(() -> call.apply(entityManager), executor);
+	}
+
+	/**
+	 * Loads the entity identified by given entity class and its instance ID
+	 * asynchronously.
+	 *
+	 * @param <T>
+	 *            The desired type.
+	 * @param entityClass
+	 *            Type of the returned entity.
+	 * @param instanceID
+	 *            The instance ID.
+	 * @return The {@code CompletableFuture} entity is returned.
+	 * @see EntityManager#load(Class, String)
+	 */
+	public <T extends Entity> CompletableFuture<T> loadAsync(Class<T> entityClass, String instanceID) {
+		return supplyAsync(em -> em.load(entityClass, instanceID));
+	}
+
+	/**
+	 * Loads the entity identified by given entity class, {@link ContextType}
+	 * and its instance ID asynchronously.
+	 *
+	 * @param <T>
+	 *            The desired type.
+	 * @param entityClass
+	 *            Type of the returned entity.
+	 * @param contextType
+	 *            The {@code ContextType}.
+	 * @param instanceID
+	 *            The instance ID.
+	 * @return The {@code CompletableFuture} entity is returned.
+	 * @see EntityManager#load(Class, ContextType, String)
+	 */
+	public <T extends Entity> CompletableFuture<T> loadAsync(Class<T> entityClass, ContextType contextType,
+			String instanceID) {
+		return supplyAsync(em -> em.load(entityClass, contextType, instanceID));
+	}
+
+	/**
+	 * Loads the entities identified by given entity class and their instance
+	 * IDs asynchronously.
+	 *
+	 * @param <T>
+	 *            The desired type.
+	 * @param entityClass
+	 *            Type of the returned entities.
+	 * @param instanceIDs
+	 *            The instance IDs.
+	 * @return The {@code CompletableFuture} entities are returned.
+	 * @see EntityManager#load(Class, Collection)
+	 */
+	public <T extends Entity> CompletableFuture<List<T>> loadAsync(Class<T> entityClass,
+			Collection<String> instanceIDs) {
+		return supplyAsync(em -> em.load(entityClass, instanceIDs));
+	}
+
+	/**
+	 * Loads all available entities of given type asynchronously.
+	 *
+	 * @param <T>
+	 *            The desired type.
+	 * @param entityClass
+	 *            Type of the returned entities.
+	 * @return The {@code CompletableFuture} entities are returned.
+	 * @see EntityManager#loadAll(Class)
+	 */
+	public <T extends Entity> CompletableFuture<List<T>> loadAllAsync(Class<T> entityClass) {
+		return supplyAsync(em -> em.loadAll(entityClass));
+	}
+
+	/**
+	 * Loads all available entities of given type whose name fulfills the
+	 * given pattern asynchronously.
+	 *
+	 * @param <T>
+	 *            The desired type.
+	 * @param entityClass
+	 *            Type of the returned entities.
+	 * @param pattern
+	 *            The name pattern.
+	 * @return The {@code CompletableFuture} entities are returned.
+	 * @see EntityManager#loadAll(Class, String)
+	 */
+	public <T extends Entity> CompletableFuture<List<T>> loadAllAsync(Class<T> entityClass, String pattern) {
+		return supplyAsync(em -> em.loadAll(entityClass, pattern));
+	}
+
+	/**
+	 * Loads all available entities of given type and {@link ContextType}
+	 * asynchronously.
+	 *
+	 * @param <T>
+	 *            The desired type.
+	 * @param entityClass
+	 *            Type of the returned entities.
+	 * @param contextType
+	 *            The {@code ContextType}.
+	 * @return The {@code CompletableFuture} entities are returned.
+	 * @see EntityManager#loadAll(Class, ContextType)
+	 */
+	public <T extends Entity> CompletableFuture<List<T>> loadAllAsync(Class<T> entityClass,
+			ContextType contextType) {
+		return supplyAsync(em -> em.loadAll(entityClass, contextType));
+	}
+
+	/**
+	 * Loads all available entities of given type and {@link ContextType}
+	 * whose name fulfills the given pattern asynchronously.
+	 *
+	 * @param <T>
+	 *            The desired type.
+	 * @param entityClass
+	 *            Type of the returned entities.
+	 * @param contextType
+	 *            The {@code ContextType}.
+	 * @param pattern
+	 *            The name pattern.
+	 * @return The {@code CompletableFuture} entities are returned.
+	 * @see EntityManager#loadAll(Class, ContextType, String)
+	 */
+	public <T extends Entity> CompletableFuture<List<T>> loadAllAsync(Class<T> entityClass, ContextType contextType,
+			String pattern) {
+		return supplyAsync(em -> em.loadAll(entityClass, contextType, pattern));
+	}
+
+	/**
+	 * Loads all available entities of given type and {@link Status} whose
+	 * name fulfills the given pattern asynchronously.
+	 *
+	 * @param <T>
+	 *            The desired type.
+	 * @param entityClass
+	 *            Type of the returned entities.
+	 * @param status
+	 *            The {@code Status}.
+	 * @param pattern
+	 *            The name pattern.
+	 * @return The {@code CompletableFuture} entities are returned.
+	 * @see EntityManager#loadAll(Class, Status, String)
+	 */
+	public <T extends StatusAttachable> CompletableFuture<List<T>> loadAllAsync(Class<T> entityClass, Status status,
+			String pattern) {
+		return supplyAsync(em -> em.loadAll(entityClass, status, pattern));
+	}
+
+	/**
+	 * Loads the latest valid {@link Versionable} entity of given type and
+	 * name asynchronously.
+	 *
+	 * @param <T>
+	 *            The desired type.
+	 * @param entityClass
+	 *            Type of the returned entity.
+	 * @param name
+	 *            The exact name of the requested entity.
+	 * @return The {@code CompletableFuture} entity is returned.
+	 * @see EntityManager#loadLatestValid(Class, String)
+	 */
+	public <T extends Versionable> CompletableFuture<Optional<T>> loadLatestValidAsync(Class<T> entityClass,
+			String name) {
+		return supplyAsync(em -> em.loadLatestValid(entityClass, name));
+	}
+
+	/**
+	 * Loads the latest valid {@link Versionable} entity of given type,
+	 * {@link ContextType} and name asynchronously.
+	 *
+	 * @param <T>
+	 *            The desired type.
+	 * @param entityClass
+	 *            Type of the returned entity.
+	 * @param contextType
+	 *            The {@code ContextType}.
+	 * @param name
+	 *            The exact name of the requested entity.
+	 * @return The {@code CompletableFuture} entity is returned.
+	 * @see EntityManager#loadLatestValid(Class, ContextType, String)
+	 */
+	public <T extends Versionable> CompletableFuture<Optional<T>> loadLatestValidAsync(Class<T> entityClass,
+			ContextType contextType, String name) {
+		return supplyAsync(em -> em.loadLatestValid(entityClass, contextType, name));
+	}
+
+	/**
+	 * Loads the latest valid {@link Versionable} entities of given type,
+	 * {@link ContextType} and names asynchronously.
+	 *
+	 * @param <T>
+	 *            The desired type.
+	 * @param entityClass
+	 *            Type of the returned entities.
+	 * @param contextType
+	 *            The {@code ContextType}, may be null.
+	 * @param names
+	 *            The exact names of the requested entities.
+	 * @return The {@code CompletableFuture} entities mapped by their names
+	 *         are returned.
+	 * @see EntityManager#loadLatestValid(Class, ContextType, Collection)
+	 */
+	public <T extends Versionable> CompletableFuture<Map<String, T>> loadLatestValidAsync(Class<T> entityClass,
+			ContextType contextType, Collection<String> names) {
+		return supplyAsync(em -> em.loadLatestValid(entityClass, contextType, names));
+	}
+
+	/**
+	 * Shuts down the default executor. An executor passed by the caller is
+	 * left untouched. Already submitted calls are still completed.
+	 */
+	@Override
+	public void close() {
+		if (shutdownOnClose && executor instanceof ExecutorService) {
+			((ExecutorService) executor).shutdown();
+		}
+	}
+
+	// ======================================================================
+	// Private methods
+	// ======================================================================
+
+	/**
+	 * Creates an {@link ExecutorService} which starts a new virtual thread per
+	 * call if the running JVM supports virtual threads. Otherwise a cached
+	 * pool of daemon threads is created.
+	 *
+	 * @return The created {@code ExecutorService} is returned.
+	 */
+	private static ExecutorService createDefaultExecutor() {
+		try {
+			// looked up reflectively, since this module is compiled for Java 8
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			AtomicInteger threadCount = new AtomicInteger();
+			return Executors.newCachedThreadPool(runnable -> {
+				Thread thread = new Thread(runnable, "mdm-async-entity-manager-" + threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+	}
+
+}
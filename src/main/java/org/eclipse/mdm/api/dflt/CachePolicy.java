@@ -0,0 +1,182 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Describes how the results loaded for an entity class are cached by the
+ * {@link CachingEntityManager}: the maximum number of cached results, the
+ * eviction strategy applied once that limit is exceeded and an optional time
+ * to live.
+ *
+ * @since 5.1.0
+ * @see CachingEntityManager
+ */
+public final class CachePolicy {
+
+	// ======================================================================
+	// Inner classes
+	// ======================================================================
+
+	/**
+	 * Strategy used to select the cached result that is evicted once the
+	 * maximum number of cached results is exceeded.
+	 */
+	public enum Eviction {
+
+		/**
+		 * Evicts the least recently used result.
+		 */
+		LRU,
+
+		/**
+		 * Evicts the least frequently used result.
+		 */
+		LFU
+
+	}
+
+	// ======================================================================
+	// Instance variables
+	// ======================================================================
+
+	private final Eviction eviction;
+	private final int maxEntries;
+	private final Duration timeToLive;
+
+	// ======================================================================
+	// Constructors
+	// ======================================================================
+
+	/**
+	 * Constructor.
+	 *
+	 * @param eviction
+	 *            The {@link Eviction} strategy.
+	 * @param maxEntries
+	 *            The maximum number of cached results.
+	 * @param timeToLive
+	 *            The time to live, may be null.
+	 * @throws IllegalArgumentException
+	 *             Thrown if the maximum number of cached results is not
+	 *             positive or the time to live is negative.
+	 */
+	private CachePolicy(Eviction eviction, int maxEntries, Duration timeToLive) {
+		if (maxEntries < 1) {
+			throw new IllegalArgumentException("Maximum number of cached results must be positive.");
+		} else if (timeToLive != null && timeToLive.isNegative()) {
+			throw new IllegalArgumentException("Time to live must not be negative.");
+		}
+
+		this.eviction = eviction;
+		this.maxEntries = maxEntries;
+		this.timeToLive = timeToLive;
+	}
+
+	// ======================================================================
+	// Public methods
+	// ======================================================================
+
+	/**
+	 * Creates a new least recently used policy whose results never expire.
+	 *
+	 * @param maxEntries
+	 *            The maximum number of cached results.
+	 * @return The created {@code CachePolicy} is returned.
+	 */
+	public static CachePolicy lru(int maxEntries) {
+		return new CachePolicy(Eviction.LRU, maxEntries, null);
+	}
+
+	/**
+	 * Creates a new least recently used policy whose results expire after
+	 * given time to live.
+	 *
+	 * @param maxEntries
+	 *            The maximum number of cached results.
+	 * @param timeToLive
+	 *            The time to live of a cached result.
+	 * @return The created {@code CachePolicy} is returned.
+	 */
+	public static CachePolicy lru(int maxEntries, Duration timeToLive) {
+		return new CachePolicy(Eviction.LRU, maxEntries, timeToLive);
+	}
+
+	/**
+	 * Creates a new least frequently used policy whose results never expire.
+	 *
+	 * @param maxEntries
+	 *            The maximum number of cached results.
+	 * @return The created {@code CachePolicy} is returned.
+	 */
+	public static CachePolicy lfu(int maxEntries) {
+		return new CachePolicy(Eviction.LFU, maxEntries, null);
+	}
+
+	/**
+	 * Creates a new least frequently used policy whose results expire after
+	 * given time to live.
+	 *
+	 * @param maxEntries
+	 *            The maximum number of cached results.
+	 * @param timeToLive
+	 *            The time to live of a cached result.
+	 * @return The created {@code CachePolicy} is returned.
+	 */
+	public static CachePolicy lfu(int maxEntries, Duration timeToLive) {
+		return new CachePolicy(Eviction.LFU, maxEntries, timeToLive);
+	}
+
+	/**
+	 * Returns the {@link Eviction} strategy of this policy.
+	 *
+	 * @return The {@code Eviction} strategy is returned.
+	 */
+	public Eviction getEviction() {
+		return eviction;
+	}
+
+	/**
+	 * Returns the maximum number of cached results.
+	 *
+	 * @return The maximum number of cached results is returned.
+	 */
+	public int getMaxEntries() {
+		return maxEntries;
+	}
+
+	/**
+	 * Returns the time to live of a cached result.
+	 *
+	 * @return {@code Optional} is empty if cached results never expire.
+	 */
+	public Optional<Duration> getTimeToLive() {
+		return Optional.ofNullable(timeToLive);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder(getClass().getSimpleName()).append('(');
+		sb.append("Eviction = ").append(eviction).append(", MaxEntries = ").append(maxEntries);
+		getTimeToLive().ifPresent(ttl -> sb.append(", TimeToLive = ").append(ttl));
+		return sb.append(')').toString();
+	}
+
+}
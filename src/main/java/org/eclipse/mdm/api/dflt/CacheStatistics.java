@@ -0,0 +1,162 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt;
+
+/**
+ * Immutable snapshot of the hit, miss and eviction counters of a
+ * {@link CachingEntityManager}.
+ *
+ * @since 5.1.0
+ * @see CachingEntityManager#getStatistics()
+ */
+public final class CacheStatistics {
+
+	// ======================================================================
+	// Class variables
+	// ======================================================================
+
+	/**
+	 * Statistics of a cache which has not been used at all.
+	 */
+	public static final CacheStatistics EMPTY = new CacheStatistics(0, 0, 0, 0, 0);
+
+	// ======================================================================
+	// Instance variables
+	// ======================================================================
+
+	private final long hitCount;
+	private final long missCount;
+	private final long evictionCount;
+	private final int size;
+	private final int pinnedCount;
+
+	// ======================================================================
+	// Constructors
+	// ======================================================================
+
+	/**
+	 * Constructor.
+	 *
+	 * @param hitCount
+	 *            Number of requests served from the cache.
+	 * @param missCount
+	 *            Number of requests passed to the underlying
+	 *            {@link EntityManager}.
+	 * @param evictionCount
+	 *            Number of cached results that were evicted or expired.
+	 * @param size
+	 *            Number of currently cached results.
+	 * @param pinnedCount
+	 *            Number of currently pinned valid versions, which are not
+	 *            counted as cached results.
+	 */
+	CacheStatistics(long hitCount, long missCount, long evictionCount, int size, int pinnedCount) {
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.evictionCount = evictionCount;
+		this.size = size;
+		this.pinnedCount = pinnedCount;
+	}
+
+	// ======================================================================
+	// Public methods
+	// ======================================================================
+
+	/**
+	 * Returns the number of requests served from the cache.
+	 *
+	 * @return The number of cache hits is returned.
+	 */
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * Returns the number of requests passed to the underlying
+	 * {@link EntityManager}.
+	 *
+	 * @return The number of cache misses is returned.
+	 */
+	public long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * Returns the number of cached results that were evicted, either because
+	 * the maximum number of cached results was exceeded or because they
+	 * expired.
+	 *
+	 * @return The number of evictions is returned.
+	 */
+	public long getEvictionCount() {
+		return evictionCount;
+	}
+
+	/**
+	 * Returns the number of currently cached results.
+	 *
+	 * @return The number of cached results is returned.
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of pinned valid
+	 * {@link org.eclipse.mdm.api.dflt.model.Versionable}s. A version is pinned
+	 * by its name and version until it is archived or, once the maximum
+	 * number of results of the {@link CachePolicy} is exceeded, it is the
+	 * least recently used one. Pinned versions do not expire.
+	 *
+	 * @return The number of pinned versions is returned.
+	 */
+	public int getPinnedCount() {
+		return pinnedCount;
+	}
+
+	/**
+	 * Returns the ratio of cache hits to all requests.
+	 *
+	 * @return The hit rate is returned, which is {@code 0} if no request was
+	 *         made so far.
+	 */
+	public double getHitRate() {
+		long requestCount = hitCount + missCount;
+		return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+	}
+
+	/**
+	 * Adds given statistics to these statistics.
+	 *
+	 * @param statistics
+	 *            The added {@link CacheStatistics}.
+	 * @return The summed up {@code CacheStatistics} are returned.
+	 */
+	public CacheStatistics plus(CacheStatistics statistics) {
+		return new CacheStatistics(hitCount + statistics.hitCount, missCount + statistics.missCount,
+				evictionCount + statistics.evictionCount, size + statistics.size, pinnedCount + statistics.pinnedCount);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return new StringBuilder(getClass().getSimpleName()).append('(').append("Hits = ").append(hitCount)
+				.append(", Misses = ").append(missCount).append(", Evictions = ").append(evictionCount)
+				.append(", Size = ").append(size).append(", Pinned = ").append(pinnedCount).append(')').toString();
+	}
+
+}
@@ -0,0 +1,935 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.eclipse.mdm.api.base.Transaction;
+import org.eclipse.mdm.api.base.massdata.ReadRequest;
+import org.eclipse.mdm.api.base.model.ContextDescribable;
+import org.eclipse.mdm.api.base.model.ContextRoot;
+import org.eclipse.mdm.api.base.model.ContextType;
+import org.eclipse.mdm.api.base.model.Entity;
+import org.eclipse.mdm.api.base.model.Environment;
+import org.eclipse.mdm.api.base.model.MeasuredValues;
+import org.eclipse.mdm.api.base.model.StatusAttachable;
+import org.eclipse.mdm.api.base.model.User;
+import org.eclipse.mdm.api.base.query.DataAccessException;
+import org.eclipse.mdm.api.dflt.model.CatalogComponent;
+import org.eclipse.mdm.api.dflt.model.CatalogSensor;
+import org.eclipse.mdm.api.dflt.model.Status;
+import org.eclipse.mdm.api.dflt.model.TemplateRoot;
+import org.eclipse.mdm.api.dflt.model.TemplateTest;
+import org.eclipse.mdm.api.dflt.model.TemplateTestStep;
+import org.eclipse.mdm.api.dflt.model.Versionable;
+
+/**
+ * Decorates an {@link EntityManager} with a cache for rarely modified catalog
+ * and template entities. Results of
+ *
+ * <ul>
+ * <li>{@link EntityManager#loadAll(Class)},</li>
+ * <li>{@link EntityManager#loadAll(Class, String)},</li>
+ * <li>{@link EntityManager#loadAll(Class, ContextType)},</li>
+ * <li>{@link EntityManager#loadAll(Class, ContextType, String)},</li>
+ * <li>{@link EntityManager#loadLatestValid(Class, String)},</li>
+ * <li>{@link EntityManager#loadLatestValid(Class, ContextType, String)},</li>
+ * <li>{@link EntityManager#loadLatestValid(Class, ContextType, Collection)} and</li>
+ * <li>{@link EntityManager#queryLatestValid(Class, ContextType, String)}</li>
+ * </ul>
+ *
+ * are cached per entity class, keyed by the {@link ContextType} and the name
+ * pattern, if a {@link CachePolicy} is configured for the requested entity
+ * class. All other calls are passed through to the decorated
+ * {@code EntityManager}.
+ *
+ * <p>
+ * All results, including latest valid ones, are evicted and expire as
+ * described by the {@code CachePolicy}, since a newer version may become the
+ * latest valid one at any time. A valid {@link Versionable} itself is no
+ * longer allowed to be modified. Therefore it is pinned by its name and
+ * version and latest valid results are resolved through the pinned instance.
+ * Pinned versions do not expire, so reloading an expired latest valid result
+ * of the same version yields the already cached instance together with
+ * everything it has resolved so far. Pinned versions are not pinned forever
+ * though: they are bounded separately by the maximum number of results of
+ * the {@code CachePolicy}, least recently used ones are discarded first, and
+ * an archived version is discarded and its latest valid results are
+ * reloaded.
+ *
+ * <pre>
+ * {
+ * 	&#64;code
+ * 	CachingEntityManager cachingEntityManager = new CachingEntityManager(entityManager);
+ * 	List<CatalogComponent> catalogComponents = cachingEntityManager.loadAll(CatalogComponent.class, UNITUNDERTEST);
+ * }
+ * </pre>
+ *
+ * <p>
+ * <b>NOTE:</b> Each call returns its own unmodifiable copy of a cached
+ * {@code List}, while the cached entities are shared between all callers.
+ * Since cached entities are not aware of modifications made by
+ * others, the cache of an entity class has to be invalidated once such
+ * entities are written.
+ *
+ * @since 5.1.0
+ * @see CachePolicy
+ * @see CacheStatistics
+ */
+public class CachingEntityManager implements EntityManager {
+
+	// ======================================================================
+	// Class variables
+	// ======================================================================
+
+	private static final CachePolicy DEFAULT_POLICY = CachePolicy.lru(256, Duration.ofMinutes(10));
+
+	private static final List<Class<? extends Entity>> DEFAULT_CACHED_TYPES = Arrays.asList(CatalogComponent.class,
+			CatalogSensor.class, TemplateRoot.class, TemplateTest.class, TemplateTestStep.class);
+
+	// ======================================================================
+	// Instance variables
+	// ======================================================================
+
+	private final Map<Class<?>, Region> regions = new HashMap<>();
+	private final EntityManager entityManager;
+	private final LongSupplier clock;
+
+	// ======================================================================
+	// Constructors
+	// ======================================================================
+
+	/**
+	 * Constructor. Uses the {@link #defaultPolicies()}.
+	 *
+	 * @param entityManager
+	 *            The decorated {@link EntityManager}.
+	 */
+	public CachingEntityManager(EntityManager entityManager) {
+		this(entityManager, defaultPolicies());
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param entityManager
+	 *            The decorated {@link EntityManager}.
+	 * @param policies
+	 *            The {@link CachePolicy}s mapped by the cached entity classes.
+	 */
+	public CachingEntityManager(EntityManager entityManager, Map<Class<? extends Entity>, CachePolicy> policies) {
+		this(entityManager, policies, System::nanoTime);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param entityManager
+	 *            The decorated {@link EntityManager}.
+	 * @param policies
+	 *            The {@link CachePolicy}s mapped by the cached entity classes.
+	 * @param clock
+	 *            Provides the current time in nanoseconds.
+	 */
+	CachingEntityManager(EntityManager entityManager, Map<Class<? extends Entity>, CachePolicy> policies,
+			LongSupplier clock) {
+		this.entityManager = Objects.requireNonNull(entityManager, "Entity manager must not be null.");
+		this.clock = clock;
+		policies.forEach((entityClass, policy) -> regions.put(entityClass, new Region(policy)));
+	}
+
+	// ======================================================================
+	// Public methods
+	// ======================================================================
+
+	/**
+	 * Returns the default {@link CachePolicy}s, which cache catalog components
+	 * and sensors as well as template roots, tests and test steps using a
+	 * least recently used policy with up to 256 results, each expiring after
+	 * 10 minutes. Value lists are not cached by default, since they are
+	 * edited like regular data.
+	 *
+	 * @return The returned {@code Map} may be modified by the caller.
+	 */
+	public static Map<Class<? extends Entity>, CachePolicy> defaultPolicies() {
+		Map<Class<? extends Entity>, CachePolicy> policies = new LinkedHashMap<>();
+		DEFAULT_CACHED_TYPES.forEach(entityClass -> policies.put(entityClass, DEFAULT_POLICY));
+		return policies;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <T extends Entity> T load(Class<T> entityClass, String instanceID) {
+		return entityManager.load(entityClass, instanceID);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <T extends Entity> List<T> load(Class<T> entityClass, Collection<String> instanceIDs) {
+		return entityManager.load(entityClass, instanceIDs);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <T extends Entity> T load(Class<T> entityClass, ContextType contextType, String instanceID) {
+		return entityManager.load(entityClass, contextType, instanceID);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <T extends Entity> List<T> load(Class<T> entityClass, ContextType contextType,
+			Collection<String> instanceIDs) {
+		return entityManager.load(entityClass, contextType, instanceIDs);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <T extends Entity> List<T> loadAll(Class<T> entityClass) {
+		return loadAll(entityClass, null, "*");
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <T extends Entity> List<T> loadAll(Class<T> entityClass, String pattern) {
+		return loadAll(entityClass, null, pattern);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <T extends Entity> List<T> loadAll(Class<T> entityClass, ContextType contextType) {
+		return loadAll(entityClass, contextType, "*");
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <T extends Entity> List<T> loadAll(Class<T> entityClass, ContextType contextType, String pattern) {
+		Region region = regions.get(entityClass);
+		if (region == null) {
+			return contextType == null ? entityManager.loadAll(entityClass, pattern)
+					: entityManager.loadAll(entityClass, contextType, pattern);
+		}
+
+		List<T> cached = region.get(new Key(Kind.ALL, contextType, pattern), () -> {
+			List<T> entities = contextType == null ? entityManager.loadAll(entityClass, pattern)
+					: entityManager.loadAll(entityClass, contextType, pattern);
+			return new ArrayList<>(entities);
+		});
+		return Collections.unmodifiableList(new ArrayList<>(cached));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <T extends StatusAttachable> List<T> loadAll(Class<T> entityClass, Status status, String pattern) {
+		return entityManager.loadAll(entityClass, status, pattern);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <T extends Versionable> Optional<T> loadLatestValid(Class<T> entityClass, String name) {
+		return loadLatestValid(entityClass, null, name);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <T extends Versionable> Optional<T> loadLatestValid(Class<T> entityClass, ContextType contextType,
+			String name) {
+		Region region = regions.get(entityClass);
+		if (region == null) {
+			return contextType == null ? entityManager.loadLatestValid(entityClass, name)
+					: entityManager.loadLatestValid(entityClass, contextType, name);
+		}
+
+		return region.get(new Key(Kind.LATEST_VALID, contextType, name),
+				() -> contextType == null ? entityManager.loadLatestValid(entityClass, name)
+						: entityManager.loadLatestValid(entityClass, contextType, name));
+	}
+
+	/**
+	 * Loads the latest valid {@link Versionable}s of given type,
+	 * {@link ContextType} and names. Cached names are served from the cache,
+	 * all others are loaded with a single call of the decorated
+	 * {@link EntityManager} and cached afterwards.
+	 */
+	@Override
+	public <T extends Versionable> Map<String, T> loadLatestValid(Class<T> entityClass, ContextType contextType,
+			Collection<String> names) {
+		Region region = regions.get(entityClass);
+		if (region == null) {
+			return entityManager.loadLatestValid(entityClass, contextType, names);
+		}
+
+		Map<String, T> latestValid = new LinkedHashMap<>();
+		List<String> missingNames = new ArrayList<>();
+		for (String name : names) {
+			Optional<T> cached = region.lookup(new Key(Kind.LATEST_VALID, contextType, name));
+			if (cached == null) {
+				missingNames.add(name);
+			} else {
+				cached.ifPresent(versionable -> latestValid.put(name, versionable));
+			}
+		}
+
+		if (!missingNames.isEmpty()) {
+			Map<String, T> loaded = entityManager.loadLatestValid(entityClass, contextType, missingNames);
+			for (String name : missingNames) {
+				Optional<T> cached = region.store(new Key(Kind.LATEST_VALID, contextType, name),
+						Optional.ofNullable(loaded.get(name)));
+				cached.ifPresent(versionable -> latestValid.put(name, versionable));
+			}
+		}
+
+		return latestValid;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <T extends Versionable> Optional<T> queryLatestValid(Class<T> entityClass, ContextType contextType,
+			String name) {
+		return loadLatestValid(entityClass, contextType, name);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <T extends Entity> List<T> loadAllByNames(Class<T> entityClass, ContextType contextType,
+			Collection<String> names) {
+		return entityManager.loadAllByNames(entityClass, contextType, names);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isPageable(Class<? extends Entity> entityClass) {
+		return entityManager.isPageable(entityClass);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <T extends Entity> List<T> loadPage(Class<T> entityClass, ContextType contextType, String pattern,
+			int offset, int limit) {
+		return entityManager.loadPage(entityClass, contextType, pattern, offset, limit);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <T extends StatusAttachable> List<T> loadPage(Class<T> entityClass, Status status, String pattern,
+			int offset, int limit) {
+		return entityManager.loadPage(entityClass, status, pattern, offset, limit);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <T extends Entity> Stream<T> streamAll(Class<T> entityClass, ContextType contextType, String pattern) {
+		return entityManager.streamAll(entityClass, contextType, pattern);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <T extends Entity> Stream<T> streamAll(Class<T> entityClass, ContextType contextType, String pattern,
+			int pageSize) {
+		return entityManager.streamAll(entityClass, contextType, pattern, pageSize);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <T extends StatusAttachable> Stream<T> streamAll(Class<T> entityClass, Status status, String pattern) {
+		return entityManager.streamAll(entityClass, status, pattern);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <T extends StatusAttachable> Stream<T> streamAll(Class<T> entityClass, Status status, String pattern,
+			int pageSize) {
+		return entityManager.streamAll(entityClass, status, pattern, pageSize);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Environment loadEnvironment() {
+		return entityManager.loadEnvironment();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Optional<User> loadLoggedOnUser() {
+		return entityManager.loadLoggedOnUser();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <T extends Entity> Optional<T> loadParent(Entity child, Class<T> entityClass) {
+		return entityManager.loadParent(child, entityClass);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <T extends Entity> List<T> loadChildren(Entity parent, Class<T> entityClass) {
+		return entityManager.loadChildren(parent, entityClass);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <T extends Entity> List<T> loadChildren(Entity parent, Class<T> entityClass, String pattern) {
+		return entityManager.loadChildren(parent, entityClass, pattern);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<ContextType> loadContextTypes(ContextDescribable contextDescribable) {
+		return entityManager.loadContextTypes(contextDescribable);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Map<ContextType, ContextRoot> loadContexts(ContextDescribable contextDescribable,
+			ContextType... contextTypes) {
+		return entityManager.loadContexts(contextDescribable, contextTypes);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <T extends Entity> List<T> loadRelatedEntities(Entity entity, String relationName, Class<T> relatedClass) {
+		return entityManager.loadRelatedEntities(entity, relationName, relatedClass);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<MeasuredValues> readMeasuredValues(ReadRequest readRequest) {
+		return entityManager.readMeasuredValues(readRequest);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Transaction startTransaction() {
+		return entityManager.startTransaction();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Map<Entity, String> getLinks(Collection<Entity> entities) {
+		return entityManager.getLinks(entities);
+	}
+
+	/**
+	 * Returns the decorated {@link EntityManager}, which is never cached.
+	 *
+	 * @return The decorated {@code EntityManager} is returned.
+	 */
+	public EntityManager getDelegate() {
+		return entityManager;
+	}
+
+	/**
+	 * Returns the summed up {@link CacheStatistics} of all cached entity
+	 * classes.
+	 *
+	 * @return The {@code CacheStatistics} are returned.
+	 */
+	public CacheStatistics getStatistics() {
+		return regions.values().stream().map(Region::getStatistics).reduce(CacheStatistics.EMPTY,
+				CacheStatistics::plus);
+	}
+
+	/**
+	 * Returns the {@link CacheStatistics} of given entity class.
+	 *
+	 * @param entityClass
+	 *            The cached entity class.
+	 * @return {@link CacheStatistics#EMPTY} is returned if given entity class
+	 *         is not cached at all.
+	 */
+	public CacheStatistics getStatistics(Class<? extends Entity> entityClass) {
+		Region region = regions.get(entityClass);
+		return region == null ? CacheStatistics.EMPTY : region.getStatistics();
+	}
+
+	/**
+	 * Discards all cached results of given entity class.
+	 *
+	 * @param entityClass
+	 *            The cached entity class.
+	 */
+	public void invalidate(Class<? extends Entity> entityClass) {
+		Region region = regions.get(entityClass);
+		if (region != null) {
+			region.clear();
+		}
+	}
+
+	/**
+	 * Discards all cached results.
+	 */
+	public void invalidateAll() {
+		regions.values().forEach(Region::clear);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return new StringBuilder(getClass().getSimpleName()).append('(').append(entityManager).append(", ")
+				.append(getStatistics()).append(')').toString();
+	}
+
+	// ======================================================================
+	// Private methods
+	// ======================================================================
+
+	/**
+	 * Checks whether given latest valid result is still valid.
+	 *
+	 * @param versionable
+	 *            The loaded {@link Versionable}.
+	 * @return Returns {@code true} if given {@code Versionable} is valid.
+	 */
+	private static boolean isValid(Object versionable) {
+		return ((Versionable) versionable).isValid();
+	}
+
+	// ======================================================================
+	// Inner classes
+	// ======================================================================
+
+	/**
+	 * Kind of a cached result.
+	 */
+	private enum Kind {
+
+		ALL,
+
+		LATEST_VALID
+
+	}
+
+	/**
+	 * Identifies a cached result within the {@link Region} of an entity class.
+	 */
+	private static final class Key {
+
+		private final Kind kind;
+		private final ContextType contextType;
+		private final String pattern;
+
+		private Key(Kind kind, ContextType contextType, String pattern) {
+			this.kind = kind;
+			this.contextType = contextType;
+			this.pattern = pattern;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (this == object) {
+				return true;
+			} else if (!(object instanceof Key)) {
+				return false;
+			}
+
+			Key key = (Key) object;
+			return kind == key.kind && contextType == key.contextType && Objects.equals(pattern, key.pattern);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(kind, contextType, pattern);
+		}
+
+	}
+
+	/**
+	 * Identifies a pinned valid {@link Versionable} by its {@link ContextType},
+	 * name and version.
+	 */
+	private static final class Version {
+
+		private final ContextType contextType;
+		private final String name;
+		private final Integer version;
+
+		private Version(ContextType contextType, Versionable versionable) {
+			this.contextType = contextType;
+			name = versionable.getName();
+			version = versionable.getVersion();
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (this == object) {
+				return true;
+			} else if (!(object instanceof Version)) {
+				return false;
+			}
+
+			Version other = (Version) object;
+			return contextType == other.contextType && Objects.equals(name, other.name)
+					&& Objects.equals(version, other.version);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(contextType, name, version);
+		}
+
+	}
+
+	/**
+	 * A cached result. Valid latest versions are cached as their
+	 * {@link Version}, which is resolved through the pinned instance.
+	 */
+	private static final class CacheEntry {
+
+		private final Object value;
+		private final long loadedAt;
+		private long frequency;
+
+		private CacheEntry(Object value, long loadedAt) {
+			this.value = value;
+			this.loadedAt = loadedAt;
+		}
+
+	}
+
+	/**
+	 * Cached results of a single entity class, which are evicted as described
+	 * by its {@link CachePolicy}. Valid versions are pinned separately by
+	 * their name and version.
+	 */
+	private final class Region {
+
+		private final CachePolicy policy;
+		private final long timeToLive;
+		// load order, so the eldest result expires first
+		private final LinkedHashMap<Key, CacheEntry> entries = new LinkedHashMap<>();
+		// LRU: least recently used first
+		private final LinkedHashSet<Key> recentlyUsed = new LinkedHashSet<>();
+		// LFU: results by their use count, least recently stored first
+		private final TreeMap<Long, LinkedHashSet<Key>> frequencies = new TreeMap<>();
+		// LRU: least recently used first
+		private final LinkedHashMap<Version, Versionable> pinned;
+
+		private long hitCount;
+		private long missCount;
+		private long evictionCount;
+
+		private Region(CachePolicy policy) {
+			this.policy = policy;
+			timeToLive = policy.getTimeToLive().map(Duration::toNanos).orElse(-1L);
+			pinned = new LinkedHashMap<Version, Versionable>(16, 0.75f, true) {
+
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Version, Versionable> eldest) {
+					return size() > policy.getMaxEntries();
+				}
+
+			};
+		}
+
+		/**
+		 * Returns the cached result for given {@link Key} or loads and caches
+		 * it. The decorated {@link EntityManager} is called without holding
+		 * any lock, so concurrent misses may load the same result twice.
+		 *
+		 * @param key
+		 *            The {@code Key}.
+		 * @param loader
+		 *            Loads the result on a cache miss.
+		 * @return The cached or loaded result is returned.
+		 * @throws DataAccessException
+		 *             Thrown if unable to load the result.
+		 */
+		private <V> V get(Key key, Supplier<V> loader) {
+			V value = lookup(key);
+			if (value == null) {
+				value = store(key, loader.get());
+			}
+			return value;
+		}
+
+		/**
+		 * Returns the cached result for given {@link Key}. A valid latest
+		 * version is resolved through its pinned instance.
+		 *
+		 * @param key
+		 *            The {@code Key}.
+		 * @return The cached result or null is returned.
+		 */
+		@SuppressWarnings("unchecked")
+		private synchronized <V> V lookup(Key key) {
+			CacheEntry entry = entries.get(key);
+			Object value = entry == null ? null : resolve(entry);
+			if (entry != null && value == null) {
+				remove(key);
+				evictionCount++;
+			}
+
+			if (value == null) {
+				missCount++;
+				return null;
+			}
+
+			used(key, entry);
+			hitCount++;
+			return (V) value;
+		}
+
+		/**
+		 * Caches given result. A valid latest version is replaced with the
+		 * pinned instance of the same name and version, if any, otherwise it
+		 * is pinned.
+		 *
+		 * @param key
+		 *            The {@code Key}.
+		 * @param value
+		 *            The loaded result.
+		 * @return The cached result is returned.
+		 */
+		@SuppressWarnings("unchecked")
+		private synchronized <V> V store(Key key, V value) {
+			remove(key);
+			Object cached = value;
+			V result = value;
+			if (key.kind == Kind.LATEST_VALID
+					&& ((Optional<?>) value).filter(CachingEntityManager::isValid).isPresent()) {
+				Versionable versionable = (Versionable) ((Optional<?>) value).get();
+				Version version = new Version(key.contextType, versionable);
+				Versionable pinnedVersionable = pinned.get(version);
+				if (pinnedVersionable == null || !pinnedVersionable.isValid()) {
+					pinned.put(version, versionable);
+					pinnedVersionable = versionable;
+				}
+
+				cached = version;
+				result = (V) Optional.of(pinnedVersionable);
+			}
+
+			CacheEntry entry = new CacheEntry(cached, clock.getAsLong());
+			entries.put(key, entry);
+			if (policy.getEviction() == CachePolicy.Eviction.LRU) {
+				recentlyUsed.add(key);
+			} else {
+				frequencies.computeIfAbsent(entry.frequency, frequency -> new LinkedHashSet<>()).add(key);
+			}
+
+			while (entries.size() > policy.getMaxEntries()) {
+				evict(key);
+			}
+			return result;
+		}
+
+		/**
+		 * Resolves given cached result. Expired results, valid versions which
+		 * are no longer pinned and archived versions are not resolved.
+		 * Archived versions are no longer pinned.
+		 *
+		 * @param entry
+		 *            The cached result.
+		 * @return The resolved result or null is returned, if it has to be
+		 *         reloaded.
+		 */
+		private Object resolve(CacheEntry entry) {
+			if (isExpired(entry)) {
+				return null;
+			} else if (!(entry.value instanceof Version)) {
+				return entry.value;
+			}
+
+			Versionable versionable = pinned.get(entry.value);
+			if (versionable == null) {
+				return null;
+			} else if (!versionable.isValid()) {
+				pinned.remove(entry.value);
+				return null;
+			}
+
+			return Optional.of(versionable);
+		}
+
+		/**
+		 * Records a cache hit of given result for its eviction policy.
+		 *
+		 * @param key
+		 *            The {@link Key} of the result.
+		 * @param entry
+		 *            The cached result.
+		 */
+		private void used(Key key, CacheEntry entry) {
+			if (policy.getEviction() == CachePolicy.Eviction.LRU) {
+				recentlyUsed.remove(key);
+				recentlyUsed.add(key);
+			} else {
+				unrank(key, entry.frequency);
+				entry.frequency++;
+				frequencies.computeIfAbsent(entry.frequency, frequency -> new LinkedHashSet<>()).add(key);
+			}
+		}
+
+		/**
+		 * Evicts the eldest result if it is expired, otherwise the least
+		 * recently or least frequently used one. The just stored result is
+		 * never evicted by the least frequently used policy, since its
+		 * frequency is naturally the lowest.
+		 *
+		 * @param stored
+		 *            The {@link Key} of the just stored result.
+		 */
+		private void evict(Key stored) {
+			Map.Entry<Key, CacheEntry> eldest = entries.entrySet().iterator().next();
+			Key victim = eldest.getKey();
+			if (!isExpired(eldest.getValue())) {
+				victim = policy.getEviction() == CachePolicy.Eviction.LRU ? recentlyUsed.iterator().next()
+						: leastFrequentlyUsed(stored);
+			}
+
+			remove(victim);
+			evictionCount++;
+		}
+
+		/**
+		 * Returns the least frequently used result except given one. At most
+		 * two results are visited, since given one is the only one which may
+		 * have to be skipped.
+		 *
+		 * @param stored
+		 *            The {@link Key} of the just stored result.
+		 * @return The {@code Key} of the least frequently used result is
+		 *         returned.
+		 */
+		private Key leastFrequentlyUsed(Key stored) {
+			for (Set<Key> keys : frequencies.values()) {
+				for (Key key : keys) {
+					if (!key.equals(stored)) {
+						return key;
+					}
+				}
+			}
+
+			throw new IllegalStateException("No result to evict.");
+		}
+
+		private void remove(Key key) {
+			CacheEntry entry = entries.remove(key);
+			if (entry == null) {
+				return;
+			} else if (policy.getEviction() == CachePolicy.Eviction.LRU) {
+				recentlyUsed.remove(key);
+			} else {
+				unrank(key, entry.frequency);
+			}
+		}
+
+		private void unrank(Key key, long frequency) {
+			Set<Key> keys = frequencies.get(frequency);
+			keys.remove(key);
+			if (keys.isEmpty()) {
+				frequencies.remove(frequency);
+			}
+		}
+
+		private boolean isExpired(CacheEntry entry) {
+			return timeToLive >= 0 && clock.getAsLong() - entry.loadedAt >= timeToLive;
+		}
+
+		private synchronized void clear() {
+			entries.clear();
+			recentlyUsed.clear();
+			frequencies.clear();
+			pinned.clear();
+		}
+
+		private synchronized CacheStatistics getStatistics() {
+			return new CacheStatistics(hitCount, missCount, evictionCount, entries.size(), pinned.size());
+		}
+
+	}
+
+}
@@ -14,10 +14,13 @@
 
 package org.eclipse.mdm.api.dflt;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.eclipse.mdm.api.base.BaseEntityManager;
 import org.eclipse.mdm.api.base.model.ContextType;
@@ -36,6 +39,16 @@ import org.eclipse.mdm.api.dflt.model.Versionable;
  */
 public interface EntityManager extends BaseEntityManager {
 
+	// ======================================================================
+	// Class variables
+	// ======================================================================
+
+	/**
+	 * The default number of entities fetched per page by the
+	 * {@code streamAll} methods.
+	 */
+	int DEFAULT_PAGE_SIZE = 1000;
+
 	// ======================================================================
 	// Public methods
 	// ======================================================================
@@ -135,8 +148,7 @@ public interface EntityManager extends BaseEntityManager {
 	 *             Thrown if unable to retrieve the entity.
 	 */
 	default <T extends Versionable> Optional<T> loadLatestValid(Class<T> entityClass, String name) {
-		return loadAll(entityClass, name).stream().filter(v -> v.nameEquals(name)).filter(Versionable::isValid)
-				.max(Versionable.COMPARATOR);
+		return queryLatestValid(entityClass, null, name);
 	}
 
 	/**
@@ -157,10 +169,360 @@ public interface EntityManager extends BaseEntityManager {
 	 */
 	default <T extends Versionable> Optional<T> loadLatestValid(Class<T> entityClass, ContextType contextType,
 			String name) {
-		return loadAll(entityClass, contextType, name).stream().filter(v -> v.nameEquals(name))
-				.filter(Versionable::isValid).max(Versionable.COMPARATOR);
+		return queryLatestValid(entityClass, contextType, name);
+	}
+
+	/**
+	 * Loads the latest valid {@link Versionable} entities of given type,
+	 * {@link ContextType} and names.
+	 *
+	 * <p>
+	 * This default implementation groups given names by their first
+	 * characters and loads the candidates of each group at once, using the
+	 * longest common prefix of the group as pattern. Names without such a
+	 * group are loaded together with
+	 * {@link #loadAllByNames(Class, ContextType, Collection)}. The latest
+	 * valid version of each name is then selected in a single pass.
+	 * Implementations are encouraged to override this method and resolve all
+	 * names with a single backend query.
+	 *
+	 * <pre>
+	 * {
+	 * 	&#64;code
+	 * 	Map<String, TemplateTestStep> templateTestSteps = entityManager.loadLatestValid(TemplateTestStep.class, null,
+	 * 			Arrays.asList("Step1", "Step2"));
+	 * }
+	 * </pre>
+	 *
+	 * @param <T>
+	 *            The desired type.
+	 * @param entityClass
+	 *            Type of the returned entities.
+	 * @param contextType
+	 *            The {@code ContextType}, null if given entity type is not
+	 *            context type dependent.
+	 * @param names
+	 *            The exact names of the requested entities.
+	 * @return The found entities mapped by their names are returned, names
+	 *         without a valid version are omitted.
+	 * @throws DataAccessException
+	 *             Thrown if unable to retrieve the entities.
+	 * @see Versionable#latestValid(Collection, Collection)
+	 */
+	default <T extends Versionable> Map<String, T> loadLatestValid(Class<T> entityClass, ContextType contextType,
+			Collection<String> names) {
+		if (names.isEmpty()) {
+			return Collections.emptyMap();
+		}
+
+		List<T> candidates = new ArrayList<>();
+		List<String> ungrouped = new ArrayList<>();
+		for (String pattern : NamePatterns.of(names, ungrouped)) {
+			candidates.addAll(contextType == null ? loadAll(entityClass, pattern)
+					: loadAll(entityClass, contextType, pattern));
+		}
+		if (!ungrouped.isEmpty()) {
+			candidates.addAll(loadAllByNames(entityClass, contextType, ungrouped));
+		}
+		return Versionable.latestValid(candidates, names);
+	}
+
+	/**
+	 * Queries the latest valid {@link Versionable} entity of given type,
+	 * {@link ContextType} and name. Both {@code loadLatestValid} methods
+	 * delegate to this method.
+	 *
+	 * <p>
+	 * This default implementation loads all versions with given name and
+	 * selects the valid one with the highest version on the client side.
+	 * Implementations are encouraged to override this method and push the
+	 * selection down to the backend as a single query, which is filtered by
+	 * name and version state, ordered by version in descending order and
+	 * limited to one result.
+	 *
+	 * @param <T>
+	 *            The desired type.
+	 * @param entityClass
+	 *            Type of the returned entity.
+	 * @param contextType
+	 *            The {@code ContextType}, null if given entity type is not
+	 *            context type dependent.
+	 * @param name
+	 *            The exact name of the requested entity.
+	 * @return Optional is empty if no such entity was found
+	 * @throws DataAccessException
+	 *             Thrown if unable to retrieve the entity.
+	 * @see Versionable#latestValid(Collection, String)
+	 */
+	default <T extends Versionable> Optional<T> queryLatestValid(Class<T> entityClass, ContextType contextType,
+			String name) {
+		List<T> candidates = contextType == null ? loadAll(entityClass, name)
+				: loadAll(entityClass, contextType, name);
+		return Versionable.latestValid(candidates, name);
+	}
+
+	/**
+	 * Loads the entities of given type and {@link ContextType} whose name
+	 * equals one of given names.
+	 *
+	 * <p>
+	 * This default implementation loads the entities of each name one by one.
+	 * Implementations are encouraged to override this method and load all
+	 * entities with a single backend query, which is filtered by name with an
+	 * IN (or OR) condition.
+	 *
+	 * @param <T>
+	 *            The desired type.
+	 * @param entityClass
+	 *            Type of the returned entities.
+	 * @param contextType
+	 *            The {@code ContextType}, null if given entity type is not
+	 *            context type dependent.
+	 * @param names
+	 *            The exact names of the requested entities.
+	 * @return The entities are returned in no particular order.
+	 * @throws DataAccessException
+	 *             Thrown if unable to retrieve the entities.
+	 * @since 5.1.0
+	 * @see #loadLatestValid(Class, ContextType, Collection)
+	 */
+	default <T extends Entity> List<T> loadAllByNames(Class<T> entityClass, ContextType contextType,
+			Collection<String> names) {
+		List<T> entities = new ArrayList<>();
+		for (String name : names) {
+			entities.addAll(contextType == null ? loadAll(entityClass, name)
+					: loadAll(entityClass, contextType, name));
+		}
+		return entities;
 	}
 
 
 	<T extends StatusAttachable> List<T> loadAll(Class<T> entityClass, Status status, String pattern);
+
+	/**
+	 * Checks whether entities of given type can be fetched page by page with
+	 * the {@code loadPage} methods. Implementations overriding these methods
+	 * have to override this method as well.
+	 *
+	 * @param entityClass
+	 *            The entity type.
+	 * @return Returns {@code true} if the {@code loadPage} methods are
+	 *         supported for given type.
+	 * @since 5.1.0
+	 * @see #loadPage(Class, ContextType, String, int, int)
+	 * @see #loadPage(Class, Status, String, int, int)
+	 */
+	default boolean isPageable(Class<? extends Entity> entityClass) {
+		return false;
+	}
+
+	/**
+	 * Loads a single page of the entities of given type whose name fulfills
+	 * the given pattern. Pages are cut from a result with a stable order,
+	 * which is defined by the data source. Only called if
+	 * {@link #isPageable(Class)} returns {@code true} for given type.
+	 *
+	 * @param <T>
+	 *            The desired type.
+	 * @param entityClass
+	 *            Type of the returned entities.
+	 * @param contextType
+	 *            The {@link ContextType}.
+	 * @param pattern
+	 *            Is always case sensitive and may contain wildcard characters
+	 *            as follows: "?" for one matching character and "*" for a
+	 *            sequence of matching characters.
+	 * @param offset
+	 *            The number of skipped entities.
+	 * @param limit
+	 *            The maximum number of loaded entities.
+	 * @return The entities of the page are returned, a page with less than
+	 *         {@code limit} entities is the last one.
+	 * @throws DataAccessException
+	 *             Thrown if unable to retrieve the entities.
+	 * @throws UnsupportedOperationException
+	 *             Thrown by this default implementation.
+	 * @since 5.1.0
+	 */
+	default <T extends Entity> List<T> loadPage(Class<T> entityClass, ContextType contextType, String pattern,
+			int offset, int limit) {
+		throw new UnsupportedOperationException("Paging of '" + entityClass.getSimpleName() + "' is not supported.");
+	}
+
+	/**
+	 * Loads a single page of the entities of given type and {@link Status}
+	 * whose name fulfills the given pattern. Pages are cut from a result with
+	 * a stable order, which is defined by the data source. Only called if
+	 * {@link #isPageable(Class)} returns {@code true} for given type.
+	 *
+	 * @param <T>
+	 *            The desired type.
+	 * @param entityClass
+	 *            Type of the returned entities.
+	 * @param status
+	 *            The {@code Status}.
+	 * @param pattern
+	 *            Is always case sensitive and may contain wildcard characters
+	 *            as follows: "?" for one matching character and "*" for a
+	 *            sequence of matching characters.
+	 * @param offset
+	 *            The number of skipped entities.
+	 * @param limit
+	 *            The maximum number of loaded entities.
+	 * @return The entities of the page are returned, a page with less than
+	 *         {@code limit} entities is the last one.
+	 * @throws DataAccessException
+	 *             Thrown if unable to retrieve the entities.
+	 * @throws UnsupportedOperationException
+	 *             Thrown by this default implementation.
+	 * @since 5.1.0
+	 */
+	default <T extends StatusAttachable> List<T> loadPage(Class<T> entityClass, Status status, String pattern,
+			int offset, int limit) {
+		throw new UnsupportedOperationException("Paging of '" + entityClass.getSimpleName() + "' is not supported.");
+	}
+
+	/**
+	 * Streams all available entities of given type whose name fulfills the
+	 * given pattern. Entities are fetched in pages of
+	 * {@link #DEFAULT_PAGE_SIZE} entities.
+	 *
+	 * @param <T>
+	 *            The desired type.
+	 * @param entityClass
+	 *            Type of the returned entities.
+	 * @param contextType
+	 *            The {@link ContextType}.
+	 * @param pattern
+	 *            Is always case sensitive and may contain wildcard characters
+	 *            as follows: "?" for one matching character and "*" for a
+	 *            sequence of matching characters.
+	 * @return Matched entities are returned in a {@code Stream}, which has to
+	 *         be closed.
+	 * @throws DataAccessException
+	 *             Thrown if unable to retrieve the entities.
+	 * @see #streamAll(Class, ContextType, String, int)
+	 */
+	default <T extends Entity> Stream<T> streamAll(Class<T> entityClass, ContextType contextType, String pattern) {
+		return streamAll(entityClass, contextType, pattern, DEFAULT_PAGE_SIZE);
+	}
+
+	/**
+	 * Streams all available entities of given type whose name fulfills the
+	 * given pattern. Entities are fetched page by page while the returned
+	 * {@code Stream} is consumed, so the memory used does not depend on the
+	 * number of matched entities. Closing the {@code Stream} stops fetching.
+	 *
+	 * <pre>
+	 * {
+	 * 	&#64;code
+	 * 	try (Stream<TemplateAttribute> templateAttributes = entityManager.streamAll(TemplateAttribute.class,
+	 * 			UNITUNDERTEST, "*", 500)) {
+	 * 		templateAttributes.forEach(...);
+	 * 	}
+	 * }
+	 * </pre>
+	 *
+	 * <p>
+	 * This default implementation fetches each page with
+	 * {@link #loadPage(Class, ContextType, String, int, int)}. If given type
+	 * is not {@link #isPageable(Class) pageable}, it falls back to paging
+	 * through the result of {@link #loadAll(Class, ContextType, String)},
+	 * which is loaded once the first page is requested, and therefore holds
+	 * all matched entities at once until the {@code Stream} is closed.
+	 *
+	 * @param <T>
+	 *            The desired type.
+	 * @param entityClass
+	 *            Type of the returned entities.
+	 * @param contextType
+	 *            The {@link ContextType}.
+	 * @param pattern
+	 *            Is always case sensitive and may contain wildcard characters
+	 *            as follows: "?" for one matching character and "*" for a
+	 *            sequence of matching characters.
+	 * @param pageSize
+	 *            The maximum number of entities fetched at once.
+	 * @return Matched entities are returned in a {@code Stream}, which has to
+	 *         be closed.
+	 * @throws DataAccessException
+	 *             Thrown if unable to retrieve the entities.
+	 * @throws IllegalArgumentException
+	 *             Thrown if the page size is not positive.
+	 */
+	default <T extends Entity> Stream<T> streamAll(Class<T> entityClass, ContextType contextType, String pattern,
+			int pageSize) {
+		if (!isPageable(entityClass)) {
+			return PagedStream.ofList(() -> loadAll(entityClass, contextType, pattern), pageSize);
+		}
+
+		return PagedStream.of((offset, limit) -> loadPage(entityClass, contextType, pattern, offset, limit), pageSize);
+	}
+
+	/**
+	 * Streams all available entities of given type and {@link Status} whose
+	 * name fulfills the given pattern. Entities are fetched in pages of
+	 * {@link #DEFAULT_PAGE_SIZE} entities.
+	 *
+	 * @param <T>
+	 *            The desired type.
+	 * @param entityClass
+	 *            Type of the returned entities.
+	 * @param status
+	 *            The {@code Status}.
+	 * @param pattern
+	 *            Is always case sensitive and may contain wildcard characters
+	 *            as follows: "?" for one matching character and "*" for a
+	 *            sequence of matching characters.
+	 * @return Matched entities are returned in a {@code Stream}, which has to
+	 *         be closed.
+	 * @throws DataAccessException
+	 *             Thrown if unable to retrieve the entities.
+	 * @see #streamAll(Class, Status, String, int)
+	 */
+	default <T extends StatusAttachable> Stream<T> streamAll(Class<T> entityClass, Status status, String pattern) {
+		return streamAll(entityClass, status, pattern, DEFAULT_PAGE_SIZE);
+	}
+
+	/**
+	 * Streams all available entities of given type and {@link Status} whose
+	 * name fulfills the given pattern. Entities are fetched page by page while
+	 * the returned {@code Stream} is consumed. Closing the {@code Stream} stops
+	 * fetching.
+	 *
+	 * <p>
+	 * This default implementation fetches each page with
+	 * {@link #loadPage(Class, Status, String, int, int)}. If given type is not
+	 * {@link #isPageable(Class) pageable}, it falls back to paging through the
+	 * result of {@link #loadAll(Class, Status, String)}, which is loaded once
+	 * the first page is requested, and therefore holds all matched entities
+	 * at once until the {@code Stream} is closed.
+	 *
+	 * @param <T>
+	 *            The desired type.
+	 * @param entityClass
+	 *            Type of the returned entities.
+	 * @param status
+	 *            The {@code Status}.
+	 * @param pattern
+	 *            Is always case sensitive and may contain wildcard characters
+	 *            as follows: "?" for one matching character and "*" for a
+	 *            sequence of matching characters.
+	 * @param pageSize
+	 *            The maximum number of entities fetched at once.
+	 * @return Matched entities are returned in a {@code Stream}, which has to
+	 *         be closed.
+	 * @throws DataAccessException
+	 *             Thrown if unable to retrieve the entities.
+	 * @throws IllegalArgumentException
+	 *             Thrown if the page size is not positive.
+	 */
+	default <T extends StatusAttachable> Stream<T> streamAll(Class<T> entityClass, Status status, String pattern,
+			int pageSize) {
+		if (!isPageable(entityClass)) {
+			return PagedStream.ofList(() -> loadAll(entityClass, status, pattern), pageSize);
+		}
+
+		return PagedStream.of((offset, limit) -> loadPage(entityClass, status, pattern, offset, limit), pageSize);
+	}
 }
@@ -0,0 +1,120 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Derives name patterns, which match a set of exact names, from their common
+ * prefixes. Names are grouped by their first characters, so a short or empty
+ * common prefix of unrelated names never results in a pattern which matches
+ * (almost) all entities.
+ *
+ * @since 5.1.0
+ * @see EntityManager#loadLatestValid(Class, org.eclipse.mdm.api.base.model.ContextType,
+ *      Collection)
+ */
+final class NamePatterns {
+
+	// ======================================================================
+	// Class variables
+	// ======================================================================
+
+	/**
+	 * Minimum length of the prefix a pattern is derived from.
+	 */
+	static final int MIN_PREFIX_LENGTH = 3;
+
+	// ======================================================================
+	// Constructors
+	// ======================================================================
+
+	/**
+	 * Constructor.
+	 */
+	private NamePatterns() {
+	}
+
+	// ======================================================================
+	// Package methods
+	// ======================================================================
+
+	/**
+	 * Returns patterns which match at least all names sharing their first
+	 * {@value #MIN_PREFIX_LENGTH} characters with another one. Each group of
+	 * such names is matched by a single pattern built from their longest
+	 * common prefix. All other names are added to given collection, so they
+	 * can be loaded with a single query.
+	 *
+	 * @param names
+	 *            The exact names.
+	 * @param ungrouped
+	 *            Receives the distinct names which are not matched by a
+	 *            pattern.
+	 * @return The patterns are returned in the order of the first name they
+	 *         match.
+	 */
+	static List<String> of(Collection<String> names, Collection<String> ungrouped) {
+		Map<String, Set<String>> groups = new LinkedHashMap<>();
+		for (String name : names) {
+			String key = name.length() < MIN_PREFIX_LENGTH ? name : name.substring(0, MIN_PREFIX_LENGTH);
+			groups.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(name);
+		}
+
+		List<String> patterns = new ArrayList<>(groups.size());
+		for (Set<String> group : groups.values()) {
+			if (group.size() == 1) {
+				ungrouped.add(group.iterator().next());
+			} else {
+				patterns.add(commonPrefix(group) + "*");
+			}
+		}
+		return patterns;
+	}
+
+	// ======================================================================
+	// Private methods
+	// ======================================================================
+
+	/**
+	 * Returns the longest common prefix of given names.
+	 *
+	 * @param names
+	 *            The names, must not be empty.
+	 * @return The longest common prefix is returned.
+	 */
+	private static String commonPrefix(Collection<String> names) {
+		Iterator<String> iterator = names.iterator();
+		String prefix = iterator.next();
+		int length = prefix.length();
+		while (iterator.hasNext()) {
+			String name = iterator.next();
+			int max = Math.min(length, name.length());
+			length = 0;
+			while (length < max && prefix.charAt(length) == name.charAt(length)) {
+				length++;
+			}
+		}
+		return prefix.substring(0, length);
+	}
+
+}
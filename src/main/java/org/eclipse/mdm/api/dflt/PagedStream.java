@@ -0,0 +1,246 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.eclipse.mdm.api.base.query.DataAccessException;
+
+/**
+ * Creates sequential {@link Stream}s whose elements are fetched page by page
+ * while the stream is consumed. At most one page is held at a time, so the
+ * memory used by a stream does not depend on the total number of elements.
+ *
+ * <pre>
+ * {
+ * 	&#64;code
+ * 	try (Stream<TemplateAttribute> templateAttributes = PagedStream.of(
+ * 			(offset, limit) -> loadPage(offset, limit), 500, () -> releaseResources())) {
+ * 		templateAttributes.filter(ta -> ta.isOptional()).forEach(...);
+ * 	}
+ * }
+ * </pre>
+ *
+ * <p>
+ * Closing a stream stops fetching further pages, releases the current page
+ * and runs the close handler. Streams should therefore be used within a
+ * try-with-resources statement.
+ *
+ * @since 5.1.0
+ * @see EntityManager#streamAll(Class, org.eclipse.mdm.api.base.model.ContextType,
+ *      String, int)
+ */
+public final class PagedStream {
+
+	// ======================================================================
+	// Constructors
+	// ======================================================================
+
+	/**
+	 * Constructor.
+	 */
+	private PagedStream() {
+	}
+
+	// ======================================================================
+	// Public methods
+	// ======================================================================
+
+	/**
+	 * Creates a new {@link Stream} backed by given {@link PageLoader}.
+	 *
+	 * @param <T>
+	 *            The element type.
+	 * @param pageLoader
+	 *            Fetches the pages.
+	 * @param pageSize
+	 *            The maximum number of elements per page.
+	 * @return The lazily fetched {@code Stream} is returned.
+	 * @throws IllegalArgumentException
+	 *             Thrown if the page size is not positive.
+	 */
+	public static <T> Stream<T> of(PageLoader<T> pageLoader, int pageSize) {
+		return of(pageLoader, pageSize, () -> {
+		});
+	}
+
+	/**
+	 * Creates a new {@link Stream} backed by given {@link PageLoader}.
+	 *
+	 * @param <T>
+	 *            The element type.
+	 * @param pageLoader
+	 *            Fetches the pages.
+	 * @param pageSize
+	 *            The maximum number of elements per page.
+	 * @param closeHandler
+	 *            Releases resources held by the page loader once the stream
+	 *            is closed, e.g. an open cursor.
+	 * @return The lazily fetched {@code Stream} is returned.
+	 * @throws IllegalArgumentException
+	 *             Thrown if the page size is not positive.
+	 */
+	public static <T> Stream<T> of(PageLoader<T> pageLoader, int pageSize, Runnable closeHandler) {
+		if (pageSize < 1) {
+			throw new IllegalArgumentException("Page size must be positive.");
+		}
+
+		PageSpliterator<T> spliterator = new PageSpliterator<>(pageLoader, pageSize);
+		return StreamSupport.stream(spliterator, false).onClose(spliterator::close).onClose(closeHandler);
+	}
+
+	// ======================================================================
+	// Package methods
+	// ======================================================================
+
+	/**
+	 * Creates a new {@link Stream} which hands out the elements of a
+	 * {@code List} page by page. The {@code List} is requested from given
+	 * {@code Supplier} once the first page is fetched and released once the
+	 * stream is closed.
+	 *
+	 * @param <T>
+	 *            The element type.
+	 * @param elementsSupplier
+	 *            Provides all elements at once.
+	 * @param pageSize
+	 *            The maximum number of elements per page.
+	 * @return The lazily fetched {@code Stream} is returned.
+	 * @throws IllegalArgumentException
+	 *             Thrown if the page size is not positive.
+	 */
+	static <T> Stream<T> ofList(Supplier<List<T>> elementsSupplier, int pageSize) {
+		ListPageLoader<T> pageLoader = new ListPageLoader<>(elementsSupplier);
+		return of(pageLoader, pageSize, pageLoader::release);
+	}
+
+	// ======================================================================
+	// Inner classes
+	// ======================================================================
+
+	/**
+	 * Fetches a single page of a {@link PagedStream}.
+	 *
+	 * @param <T>
+	 *            The element type.
+	 */
+	@FunctionalInterface
+	public interface PageLoader<T> {
+
+		/**
+		 * Fetches the page starting at given offset. A page with less than the
+		 * requested number of elements is the last one.
+		 *
+		 * @param offset
+		 *            The number of already fetched elements.
+		 * @param limit
+		 *            The maximum number of fetched elements.
+		 * @return The fetched elements are returned.
+		 * @throws DataAccessException
+		 *             Thrown if unable to fetch the page.
+		 */
+		List<T> load(int offset, int limit);
+
+	}
+
+	/**
+	 * Fetches the pages of a {@link PagedStream} from a {@code List} that is
+	 * requested on first use.
+	 *
+	 * @param <T>
+	 *            The element type.
+	 */
+	private static final class ListPageLoader<T> implements PageLoader<T> {
+
+		private final Supplier<List<T>> elementsSupplier;
+
+		private List<T> elements;
+
+		private ListPageLoader(Supplier<List<T>> elementsSupplier) {
+			this.elementsSupplier = elementsSupplier;
+		}
+
+		@Override
+		public List<T> load(int offset, int limit) {
+			if (elements == null) {
+				elements = elementsSupplier.get();
+			}
+
+			int to = Math.min(offset + limit, elements.size());
+			return offset < to ? elements.subList(offset, to) : Collections.emptyList();
+		}
+
+		private void release() {
+			elements = null;
+		}
+
+	}
+
+	/**
+	 * Traverses the pages of a {@link PagedStream}.
+	 *
+	 * @param <T>
+	 *            The element type.
+	 */
+	private static final class PageSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+		private final PageLoader<T> pageLoader;
+		private final int pageSize;
+
+		private Iterator<T> page;
+		private int offset;
+		private boolean lastPage;
+		private volatile boolean closed;
+
+		private PageSpliterator(PageLoader<T> pageLoader, int pageSize) {
+			super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+			this.pageLoader = pageLoader;
+			this.pageSize = pageSize;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			while (page == null || !page.hasNext()) {
+				if (lastPage || closed) {
+					page = null;
+					return false;
+				}
+
+				List<T> elements = pageLoader.load(offset, pageSize);
+				offset += elements.size();
+				lastPage = elements.size() < pageSize;
+				page = elements.iterator();
+			}
+
+			action.accept(page.next());
+			return true;
+		}
+
+		private void close() {
+			closed = true;
+			page = null;
+		}
+
+	}
+
+}
@@ -16,6 +16,7 @@ package org.eclipse.mdm.api.dflt.model;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.eclipse.mdm.api.base.adapter.Core;
@@ -78,14 +79,26 @@ public class CatalogAttribute extends BaseEntity implements Deletable, Describab
 	 */
 	public static final String VATTR_SEQUENCE = "@Sequence";
 
+	/**
+	 * Enumerations resolved from the {@link EnumRegistry} mapped by their
+	 * names, shared by all catalog attributes. Each generation of the registry
+	 * gets its own map, which is replaced in {@link #enumerationsChanged()}.
+	 * Unknown names are not memorized, since enumerations may be registered
+	 * later on.
+	 */
+	private static volatile Map<String, Enumeration<?>> enumerations = new ConcurrentHashMap<>();
+
 	// ======================================================================
 	// Instance variables
 	// ======================================================================
 
-	private Enumeration<?> enumerationObj;
+	private volatile Enumeration<?> enumerationObj;
+	private volatile String enumerationName;
 	private final Value scalarTypeValue;
 	private final Value sequenceValue;
 
+	private volatile ValueType<?> valueType;
+
 	private Unit unit;
 
 	// ======================================================================
@@ -102,10 +115,10 @@ public class CatalogAttribute extends BaseEntity implements Deletable, Describab
 		super(core);
 
 		Map<String, Value> values = core.getValues();
-		EnumRegistry er = EnumRegistry.getInstance();
 		Value enumValue = values.remove(VATTR_ENUMERATION_NAME);
 		if (enumValue != null) {
-			enumerationObj = er.get(enumValue.extract(ValueType.STRING));
+			// resolved on first access
+			enumerationName = enumValue.extract(ValueType.STRING);
 		}
 		scalarTypeValue = values.remove(VATTR_SCALAR_TYPE);
 		sequenceValue = values.remove(VATTR_SEQUENCE);
@@ -225,16 +238,32 @@ public class CatalogAttribute extends BaseEntity implements Deletable, Describab
 		return Optional.ofNullable(getCore().getPermanentStore().get(CatalogSensor.class));
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setName(String name) {
+		String oldName = getName();
+		super.setName(name);
+		getCatalogComponent().ifPresent(cc -> cc.catalogAttributeRenamed(this, oldName));
+		getCatalogSensor().ifPresent(cs -> cs.catalogAttributeRenamed(this, oldName));
+	}
+
 	/**
 	 * Returns the virtual and unmodifiable {@link ValueType} of this catalog
-	 * attribute.
+	 * attribute. It is resolved on first access.
 	 *
 	 * @return The {@code ValueType} is returned.
 	 */
 	public ValueType<?> getValueType() {
-		ScalarType scalarType = scalarTypeValue.extract();
-		Boolean sequence = sequenceValue.extract();
-		return sequence.booleanValue() ? scalarType.toValueType() : scalarType.toSingleValueType();
+		ValueType<?> resolved = valueType;
+		if (resolved == null) {
+			ScalarType scalarType = scalarTypeValue.extract();
+			Boolean sequence = sequenceValue.extract();
+			resolved = sequence.booleanValue() ? scalarType.toValueType() : scalarType.toSingleValueType();
+			valueType = resolved;
+		}
+		return resolved;
 	}
 
 	/**
@@ -252,7 +281,26 @@ public class CatalogAttribute extends BaseEntity implements Deletable, Describab
 		if (!getValueType().isEnumerationType()) {
 			throw new IllegalStateException("Catalog attribute is not of type enumeration.");
 		}
-		return enumerationObj;
+
+		Enumeration<?> enumeration = enumerationObj;
+		if (enumeration == null) {
+			String name = enumerationName;
+			if (name != null) {
+				enumeration = resolveEnumeration(name);
+			}
+		}
+		return enumeration;
+	}
+
+	/**
+	 * Discards the enumerations memorized by all catalog attributes. Has to be
+	 * called once enumerations are added to, replaced in or removed from the
+	 * {@link EnumRegistry}, since the registry does not publish its changes.
+	 *
+	 * @since 5.1.0
+	 */
+	public static void enumerationsChanged() {
+		enumerations = new ConcurrentHashMap<>();
 	}
 
 	/**
@@ -308,9 +356,10 @@ public class CatalogAttribute extends BaseEntity implements Deletable, Describab
 	 *            The {@link ValueType}.
 	 */
 	void setValueType(ValueType<?> valueType) {
-		Enumeration<?> scalarTypeEnum = EnumRegistry.getInstance().get(EnumRegistry.SCALAR_TYPE);
+		Enumeration<?> scalarTypeEnum = resolveEnumeration(EnumRegistry.SCALAR_TYPE);
 		scalarTypeValue.set(scalarTypeEnum.valueOf(valueType.toSingleType().name()));
 		sequenceValue.set(valueType.isSequence());
+		this.valueType = null;
 	}
 
 	/**
@@ -321,7 +370,34 @@ public class CatalogAttribute extends BaseEntity implements Deletable, Describab
 	 */
 	void setEnumerationObj(Enumeration<?> enumerationObj) {
 		setValueType(ValueType.ENUMERATION);
-		this.enumerationObj=enumerationObj;
+		this.enumerationObj = enumerationObj;
+		enumerationName = null;
+	}
+
+	// ======================================================================
+	// Private methods
+	// ======================================================================
+
+	/**
+	 * Returns the enumeration registered with given name. A resolved
+	 * enumeration is memorized in the map of the current registry generation,
+	 * so a map replaced in the meantime never receives an outdated one.
+	 *
+	 * @param name
+	 *            The name of the enumeration.
+	 * @return The enumeration is returned or {@code null} if it is not
+	 *         registered.
+	 */
+	private static Enumeration<?> resolveEnumeration(String name) {
+		Map<String, Enumeration<?>> generation = enumerations;
+		Enumeration<?> enumeration = generation.get(name);
+		if (enumeration == null) {
+			enumeration = EnumRegistry.getInstance().get(name);
+			if (enumeration != null) {
+				generation.putIfAbsent(name, enumeration);
+			}
+		}
+		return enumeration;
 	}
 
 }
@@ -16,7 +16,6 @@ package org.eclipse.mdm.api.dflt.model;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -51,6 +50,9 @@ public class CatalogComponent extends BaseEntity implements Datable, Deletable,
 
 	private final ContextType contextType;
 
+	private final NameIndex<CatalogAttribute> catalogAttributeIndex = new NameIndex<>(this::getCatalogAttributes);
+	private final NameIndex<CatalogSensor> catalogSensorIndex = new NameIndex<>(this::getCatalogSensors);
+
 	// ======================================================================
 	// Constructors
 	// ======================================================================
@@ -64,15 +66,7 @@ public class CatalogComponent extends BaseEntity implements Datable, Deletable,
 	CatalogComponent(Core core) {
 		super(core);
 
-		String typeName = core.getTypeName().toUpperCase(Locale.ROOT);
-		for (ContextType contextTypeCandidate : ContextType.values()) {
-			if (typeName.contains(contextTypeCandidate.name())) {
-				contextType = contextTypeCandidate;
-				return;
-			}
-		}
-
-		throw new IllegalStateException("Core is incompatible.");
+		contextType = ContextTypeResolver.resolve(core.getTypeName());
 	}
 
 	// ======================================================================
@@ -97,7 +91,7 @@ public class CatalogComponent extends BaseEntity implements Datable, Deletable,
 	 *         given name does not exist.
 	 */
 	public Optional<CatalogAttribute> getCatalogAttribute(String name) {
-		return getCatalogAttributes().stream().filter(ca -> ca.nameEquals(name)).findAny();
+		return catalogAttributeIndex.get(name);
 	}
 
 	/**
@@ -124,6 +118,7 @@ public class CatalogComponent extends BaseEntity implements Datable, Deletable,
 			return false;
 		}
 		getCore().getChildrenStore().remove(catalogAttribute.get());
+		catalogAttributeIndex.removed(catalogAttribute.get());
 		return true;
 	}
 
@@ -136,7 +131,7 @@ public class CatalogComponent extends BaseEntity implements Datable, Deletable,
 	 *         given name does not exist.
 	 */
 	public Optional<CatalogSensor> getCatalogSensor(String name) {
-		return getCatalogSensors().stream().filter(cs -> cs.nameEquals(name)).findAny();
+		return catalogSensorIndex.get(name);
 	}
 
 	/**
@@ -167,6 +162,7 @@ public class CatalogComponent extends BaseEntity implements Datable, Deletable,
 			return false;
 		}
 		getCore().getChildrenStore().remove(catalogSensor.get());
+		catalogSensorIndex.removed(catalogSensor.get());
 		return true;
 	}
 
@@ -192,4 +188,52 @@ public class CatalogComponent extends BaseEntity implements Datable, Deletable,
 		return sb.append(')').toString();
 	}
 
+	// ======================================================================
+	// Package methods
+	// ======================================================================
+
+	/**
+	 * Adds given new {@link CatalogAttribute} to the name index.
+	 *
+	 * @param catalogAttribute
+	 *            The added {@code CatalogAttribute}.
+	 */
+	void catalogAttributeAdded(CatalogAttribute catalogAttribute) {
+		catalogAttributeIndex.added(catalogAttribute);
+	}
+
+	/**
+	 * Updates the name index for given renamed {@link CatalogAttribute}.
+	 *
+	 * @param catalogAttribute
+	 *            The renamed {@code CatalogAttribute}.
+	 * @param oldName
+	 *            The former name of the {@code CatalogAttribute}.
+	 */
+	void catalogAttributeRenamed(CatalogAttribute catalogAttribute, String oldName) {
+		catalogAttributeIndex.renamed(catalogAttribute, oldName);
+	}
+
+	/**
+	 * Adds given new {@link CatalogSensor} to the name index.
+	 *
+	 * @param catalogSensor
+	 *            The added {@code CatalogSensor}.
+	 */
+	void catalogSensorAdded(CatalogSensor catalogSensor) {
+		catalogSensorIndex.added(catalogSensor);
+	}
+
+	/**
+	 * Updates the name index for given renamed {@link CatalogSensor}.
+	 *
+	 * @param catalogSensor
+	 *            The renamed {@code CatalogSensor}.
+	 * @param oldName
+	 *            The former name of the {@code CatalogSensor}.
+	 */
+	void catalogSensorRenamed(CatalogSensor catalogSensor, String oldName) {
+		catalogSensorIndex.renamed(catalogSensor, oldName);
+	}
+
 }
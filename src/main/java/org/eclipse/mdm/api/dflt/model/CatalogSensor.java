@@ -43,6 +43,12 @@ import org.eclipse.mdm.api.base.model.Value;
  */
 public class CatalogSensor extends BaseEntity implements Datable, Deletable, Describable {
 
+	// ======================================================================
+	// Instance variables
+	// ======================================================================
+
+	private final NameIndex<CatalogAttribute> catalogAttributeIndex = new NameIndex<>(this::getCatalogAttributes);
+
 	// ======================================================================
 	// Constructors
 	// ======================================================================
@@ -70,6 +76,19 @@ public class CatalogSensor extends BaseEntity implements Datable, Deletable, Des
 		return getCore().getPermanentStore().get(CatalogComponent.class);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setName(String name) {
+		String oldName = getName();
+		super.setName(name);
+		CatalogComponent catalogComponent = getCatalogComponent();
+		if (catalogComponent != null) {
+			catalogComponent.catalogSensorRenamed(this, oldName);
+		}
+	}
+
 	/**
 	 * Returns the {@link CatalogAttribute} identified by given name.
 	 *
@@ -79,7 +98,7 @@ public class CatalogSensor extends BaseEntity implements Datable, Deletable, Des
 	 *         given name does not exist.
 	 */
 	public Optional<CatalogAttribute> getCatalogAttribute(String name) {
-		return getCatalogAttributes().stream().filter(ca -> ca.nameEquals(name)).findAny();
+		return catalogAttributeIndex.get(name);
 	}
 
 	/**
@@ -106,6 +125,7 @@ public class CatalogSensor extends BaseEntity implements Datable, Deletable, Des
 			return false;
 		}
 		getCore().getChildrenStore().remove(catalogAttribute.get());
+		catalogAttributeIndex.removed(catalogAttribute.get());
 		return true;
 	}
 
@@ -125,4 +145,30 @@ public class CatalogSensor extends BaseEntity implements Datable, Deletable, Des
 		return sb.append(')').toString();
 	}
 
+	// ======================================================================
+	// Package methods
+	// ======================================================================
+
+	/**
+	 * Adds given new {@link CatalogAttribute} to the name index.
+	 *
+	 * @param catalogAttribute
+	 *            The added {@code CatalogAttribute}.
+	 */
+	void catalogAttributeAdded(CatalogAttribute catalogAttribute) {
+		catalogAttributeIndex.added(catalogAttribute);
+	}
+
+	/**
+	 * Updates the name index for given renamed {@link CatalogAttribute}.
+	 *
+	 * @param catalogAttribute
+	 *            The renamed {@code CatalogAttribute}.
+	 * @param oldName
+	 *            The former name of the {@code CatalogAttribute}.
+	 */
+	void catalogAttributeRenamed(CatalogAttribute catalogAttribute, String oldName) {
+		catalogAttributeIndex.renamed(catalogAttribute, oldName);
+	}
+
 }
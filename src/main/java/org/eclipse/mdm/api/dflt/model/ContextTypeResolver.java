@@ -0,0 +1,101 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.mdm.api.base.model.ContextType;
+
+/**
+ * Resolves the {@link ContextType} encoded in the type name of a
+ * {@link org.eclipse.mdm.api.base.adapter.Core}, e.g. 'CatUnitUnderTestComp'
+ * or 'TplTestEquipmentRoot'. Each distinct type name is resolved only once and
+ * shared by all threads.
+ *
+ * @since 5.1.0
+ * @see CatalogComponent
+ * @see TemplateRoot
+ */
+final class ContextTypeResolver {
+
+	// ======================================================================
+	// Class variables
+	// ======================================================================
+
+	private static final ContextType[] CONTEXT_TYPES = ContextType.values();
+
+	private static final Map<String, Optional<ContextType>> CONTEXT_TYPES_BY_TYPE_NAME = new ConcurrentHashMap<>();
+
+	// ======================================================================
+	// Constructors
+	// ======================================================================
+
+	/**
+	 * Constructor.
+	 */
+	private ContextTypeResolver() {
+	}
+
+	// ======================================================================
+	// Package methods
+	// ======================================================================
+
+	/**
+	 * Returns the {@link ContextType} encoded in given type name.
+	 *
+	 * @param typeName
+	 *            The type name.
+	 * @return The resolved {@code ContextType} is returned.
+	 * @throws IllegalStateException
+	 *             Thrown if given type name does not contain a
+	 *             {@code ContextType}.
+	 */
+	static ContextType resolve(String typeName) {
+		// computeIfAbsent locks the bin on Java 8, even if the key is present
+		Optional<ContextType> contextType = CONTEXT_TYPES_BY_TYPE_NAME.get(typeName);
+		if (contextType == null) {
+			contextType = CONTEXT_TYPES_BY_TYPE_NAME.computeIfAbsent(typeName, ContextTypeResolver::find);
+		}
+
+		return contextType.orElseThrow(() -> new IllegalStateException("Core is incompatible."));
+	}
+
+	// ======================================================================
+	// Private methods
+	// ======================================================================
+
+	/**
+	 * Searches the {@link ContextType} encoded in given type name.
+	 *
+	 * @param typeName
+	 *            The type name.
+	 * @return {@code Optional} is empty if given type name does not contain a
+	 *         {@code ContextType}.
+	 */
+	private static Optional<ContextType> find(String typeName) {
+		String upperCaseTypeName = typeName.toUpperCase(Locale.ROOT);
+		for (ContextType contextType : CONTEXT_TYPES) {
+			if (upperCaseTypeName.contains(contextType.name())) {
+				return Optional.of(contextType);
+			}
+		}
+
+		return Optional.empty();
+	}
+
+}
@@ -0,0 +1,147 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily reads the first field of each line of a CSV {@link Reader}. Blank
+ * lines are skipped. A field may be enclosed in double quotes, where a double
+ * quote is escaped by another one. Only a single line is held at a time.
+ *
+ * @since 5.1.0
+ * @see EntityFactory#importValueListValues(ValueList, Reader, int,
+ *      java.util.function.Consumer)
+ */
+final class CsvFirstFieldIterator implements Iterator<String> {
+
+	// ======================================================================
+	// Class variables
+	// ======================================================================
+
+	private static final char SEPARATOR = ',';
+	private static final char QUOTE = '"';
+
+	// ======================================================================
+	// Instance variables
+	// ======================================================================
+
+	private final BufferedReader reader;
+
+	private String next;
+	private int lineNumber;
+
+	// ======================================================================
+	// Constructors
+	// ======================================================================
+
+	/**
+	 * Constructor.
+	 *
+	 * @param reader
+	 *            Provides the CSV records.
+	 */
+	CsvFirstFieldIterator(Reader reader) {
+		this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+	}
+
+	// ======================================================================
+	// Public methods
+	// ======================================================================
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @throws UncheckedIOException
+	 *             Thrown if unable to read the next line.
+	 * @throws IllegalArgumentException
+	 *             Thrown if the next line is malformed.
+	 */
+	@Override
+	public boolean hasNext() {
+		if (next != null) {
+			return true;
+		}
+
+		try {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				if (!line.trim().isEmpty()) {
+					next = parseFirstField(line);
+					return true;
+				}
+			}
+			return false;
+		} catch (IOException exc) {
+			throw new UncheckedIOException(exc);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		String field = next;
+		next = null;
+		return field;
+	}
+
+	// ======================================================================
+	// Private methods
+	// ======================================================================
+
+	/**
+	 * Extracts the first field of given line.
+	 *
+	 * @param line
+	 *            The non blank line.
+	 * @return The unquoted first field is returned.
+	 * @throws IllegalArgumentException
+	 *             Thrown if a quoted field is not terminated.
+	 */
+	private String parseFirstField(String line) {
+		if (line.charAt(0) != QUOTE) {
+			int end = line.indexOf(SEPARATOR);
+			return end < 0 ? line : line.substring(0, end);
+		}
+
+		StringBuilder sb = new StringBuilder(line.length());
+		for (int i = 1; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (c != QUOTE) {
+				sb.append(c);
+			} else if (i + 1 < line.length() && line.charAt(i + 1) == QUOTE) {
+				sb.append(QUOTE);
+				i++;
+			} else {
+				return sb.toString();
+			}
+		}
+
+		throw new IllegalArgumentException("Unterminated quoted field in line " + lineNumber + ".");
+	}
+
+}
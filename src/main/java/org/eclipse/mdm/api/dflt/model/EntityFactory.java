@@ -14,15 +14,26 @@
 
 package org.eclipse.mdm.api.dflt.model;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.eclipse.mdm.api.base.adapter.Core;
 import org.eclipse.mdm.api.base.model.BaseEntity;
@@ -50,6 +61,59 @@ import org.eclipse.mdm.api.base.model.VersionState;
  */
 public abstract class EntityFactory extends BaseEntityFactory {
 
+	// ======================================================================
+	// Class variables
+	// ======================================================================
+
+	private static final Lookup LOOKUP = MethodHandles.lookup();
+
+	/**
+	 * Entity constructors, resolved once per entity class. An empty
+	 * {@code Optional} marks classes whose constructor is not accessible from
+	 * this package. A {@code ClassValue} is used, so the entity classes remain
+	 * eligible for unloading.
+	 */
+	private static final ClassValue<Optional<Function<Core, ?>>> CONSTRUCTORS = new ClassValue<Optional<Function<Core, ?>>>() {
+		@Override
+		protected Optional<Function<Core, ?>> computeValue(Class<?> type) {
+			return resolveConstructor(type);
+		}
+	};
+
+	/**
+	 * Whether a factory class may replay {@link TemplateRootPlan}s. This is
+	 * only the case if it inherits
+	 * {@link #createContextComponent(String, ContextRoot)} and
+	 * {@link #createContextSensor(String, ContextComponent)} from this class,
+	 * since the replay does not pass through overridden variants of these
+	 * methods.
+	 */
+	private static final ClassValue<Boolean> REPLAYABLE = new ClassValue<Boolean>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			return isDeclaredByEntityFactory(type, "createContextComponent", String.class, ContextRoot.class)
+					&& isDeclaredByEntityFactory(type, "createContextSensor", String.class, ContextComponent.class);
+		}
+	};
+
+	/**
+	 * Whether a factory class may create {@link Test}s in bulk. This is only
+	 * the case if it inherits
+	 * {@link #createTest(String, Pool, Status, Status, TemplateTest)} and
+	 * {@link #createTestStep(Test, Status, TemplateTestStep)} from this class,
+	 * since the bulk creation does not pass through overridden variants of
+	 * these methods.
+	 */
+	private static final ClassValue<Boolean> BULK_CREATABLE = new ClassValue<Boolean>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			return isDeclaredByEntityFactory(type, "createTest", String.class, Pool.class, Status.class,
+					Status.class, TemplateTest.class)
+					&& isDeclaredByEntityFactory(type, "createTestStep", Test.class, Status.class,
+							TemplateTestStep.class);
+		}
+	};
+
 	// ======================================================================
 	// Public methods
 	// ======================================================================
@@ -121,6 +185,169 @@ public abstract class EntityFactory extends BaseEntityFactory {
 		return createTest(name, pool, null, null, templateTest);
 	}
 
+	/**
+	 * Creates new {@link Test}s for given {@link Pool} using given
+	 * {@link TemplateTest}. This is the bulk variant of
+	 * {@link #createTest(String, Pool, TemplateTest)}.
+	 *
+	 * @param names
+	 *            Names of the created {@code Test}s.
+	 * @param pool
+	 *            The parent {@code Pool}.
+	 * @param templateTest
+	 *            The template the returned {@code Test}s will be derived from.
+	 * @return The created {@code Test}s are returned in the order of the given
+	 *         names.
+	 * @see #createTests(List, Pool, Status, Status, TemplateTest, Consumer)
+	 * @since 5.1.0
+	 */
+	public List<Test> createTests(List<String> names, Pool pool, TemplateTest templateTest) {
+		return createTests(names, pool, null, null, templateTest, timings -> {
+		});
+	}
+
+	/**
+	 * Creates new {@link Test}s for given {@link Pool} using given
+	 * {@link TemplateTest} and reports the time spent in each phase to given
+	 * {@code Consumer}. This is the bulk variant of
+	 * {@link #createTest(String, Pool, Status, Status, TemplateTest)}. The
+	 * implicitly created {@link TemplateTestStep}s and their
+	 * {@link TemplateRoot}s are resolved once, including the instantiation
+	 * plans of valid {@code TemplateRoot}s, and are then used for all
+	 * {@code Test}s.
+	 *
+	 * <p>
+	 * The entities are created with {@link #createTest(String, Pool, Status)},
+	 * {@link #createTestStep(String, Test, Status)} and
+	 * {@link #createContextRoot(TestStep, TemplateRoot)}. If this factory
+	 * overrides {@link #createTest(String, Pool, Status, Status, TemplateTest)}
+	 * or {@link #createTestStep(Test, Status, TemplateTestStep)}, each
+	 * {@code Test} is created with the former instead, so the overridden
+	 * variants are always called. In that case the {@code ContextRoot}s are
+	 * created along with the {@code Test}s and their creation time is
+	 * reported as part of the {@code Test} creation.
+	 *
+	 * @param names
+	 *            Names of the created {@code Test}s.
+	 * @param pool
+	 *            The parent {@code Pool}.
+	 * @param statusTest
+	 *            The related {@link Status} of the created {@code Test}s.
+	 * @param statusTestStep
+	 *            The related {@code Status} of the created {@link TestStep}s.
+	 * @param templateTest
+	 *            The template the returned {@code Test}s will be derived from.
+	 * @param timingsConsumer
+	 *            Receives the {@link TestCreationTimings} once all
+	 *            {@code Test}s are created.
+	 * @return The created {@code Test}s are returned in the order of the given
+	 *         names.
+	 * @see #createTests(List, Pool, TemplateTest)
+	 * @since 5.1.0
+	 */
+	// TODO make a decision: status in or out!
+	protected List<Test> createTests(List<String> names, Pool pool, Status statusTest, Status statusTestStep,
+			TemplateTest templateTest, Consumer<TestCreationTimings> timingsConsumer) {
+		return createTests(names, pool, statusTest, statusTestStep, templateTest, timingsConsumer,
+				BULK_CREATABLE.get(getClass()));
+	}
+
+	/**
+	 * Creates new {@link Test}s for given {@link Pool} using given
+	 * {@link TemplateTest}, either in bulk or one by one.
+	 *
+	 * @param names
+	 *            Names of the created {@code Test}s.
+	 * @param pool
+	 *            The parent {@code Pool}.
+	 * @param statusTest
+	 *            The related {@link Status} of the created {@code Test}s.
+	 * @param statusTestStep
+	 *            The related {@code Status} of the created {@link TestStep}s.
+	 * @param templateTest
+	 *            The template the returned {@code Test}s will be derived from.
+	 * @param timingsConsumer
+	 *            Receives the {@link TestCreationTimings} once all
+	 *            {@code Test}s are created.
+	 * @param bulk
+	 *            Whether the {@code Test}s are created in bulk or with
+	 *            {@link #createTest(String, Pool, Status, Status, TemplateTest)}.
+	 * @return The created {@code Test}s are returned in the order of the given
+	 *         names.
+	 */
+	List<Test> createTests(List<String> names, Pool pool, Status statusTest, Status statusTestStep,
+			TemplateTest templateTest, Consumer<TestCreationTimings> timingsConsumer, boolean bulk) {
+		// resolve the template once for all tests
+		long start = System.nanoTime();
+		List<TemplateTestStep> templateTestSteps = new ArrayList<>();
+		List<List<TemplateRoot>> templateRoots = new ArrayList<>();
+		boolean replayable = REPLAYABLE.get(getClass());
+		for (TemplateTestStepUsage templateTestStepUsage : templateTest.getTemplateTestStepUsages()) {
+			if (TemplateTestStepUsage.IS_IMPLICIT_CREATE.test(templateTestStepUsage)) {
+				TemplateTestStep templateTestStep = templateTestStepUsage.getTemplateTestStep();
+				List<TemplateRoot> stepTemplateRoots = templateTestStep.getTemplateRoots();
+				for (TemplateRoot templateRoot : stepTemplateRoots) {
+					if (replayable && templateRoot.isValid()) {
+						templateRoot.getInstantiationPlan();
+					}
+				}
+				templateTestSteps.add(templateTestStep);
+				templateRoots.add(stepTemplateRoots);
+			}
+		}
+		long templateResolution = System.nanoTime() - start;
+
+		// create tests and test steps
+		start = System.nanoTime();
+		List<Test> tests = new ArrayList<>(names.size());
+		if (!bulk) {
+			// overridden variants have to be called for each test
+			int contextRootCount = 0;
+			for (List<TemplateRoot> stepTemplateRoots : templateRoots) {
+				contextRootCount += stepTemplateRoots.size();
+			}
+			for (String name : names) {
+				tests.add(createTest(name, pool, statusTest, statusTestStep, templateTest));
+			}
+
+			timingsConsumer.accept(new TestCreationTimings(templateResolution, System.nanoTime() - start, 0,
+					tests.size(), tests.size() * templateTestSteps.size(), tests.size() * contextRootCount));
+			return tests;
+		}
+
+		// the test steps are taken from the template test, so each of them is
+		// part of it
+		List<TestStep> testSteps = new ArrayList<>(names.size() * templateTestSteps.size());
+		for (String name : names) {
+			Test test = createTest(name, pool, statusTest);
+			getCore(test).getMutableStore().set(templateTest);
+			tests.add(test);
+
+			for (TemplateTestStep templateTestStep : templateTestSteps) {
+				TestStep testStep = createTestStep(templateTestStep.getName(), test, statusTestStep);
+				getCore(testStep).getMutableStore().set(templateTestStep);
+				testSteps.add(testStep);
+			}
+		}
+		long testCreation = System.nanoTime() - start;
+
+		// create the initial context roots of each test step
+		start = System.nanoTime();
+		int contextRootCount = 0;
+		for (int i = 0; i < testSteps.size(); i++) {
+			TestStep testStep = testSteps.get(i);
+			for (TemplateRoot templateRoot : templateRoots.get(i % templateTestSteps.size())) {
+				createContextRoot(testStep, templateRoot);
+				contextRootCount++;
+			}
+		}
+		long contextRootCreation = System.nanoTime() - start;
+
+		timingsConsumer.accept(new TestCreationTimings(templateResolution, testCreation, contextRootCreation,
+				tests.size(), testSteps.size(), contextRootCount));
+		return tests;
+	}
+
 	/**
 	 * Creates a new {@link ContextRoot} for given {@link TestStep} using given
 	 * {@link TemplateRoot}.
@@ -170,17 +397,8 @@ public abstract class EntityFactory extends BaseEntityFactory {
 	 * @return The created {@code ContextRoot} is returned.
 	 */
 	public ContextRoot createContextRoot(TemplateRoot templateRoot) {
-		ContextRoot contextRoot = createContextRoot(templateRoot.getName(), templateRoot.getContextType());
-
-		// relations
-		getCore(contextRoot).getMutableStore().set(templateRoot);
-
-		// create default active and mandatory context components
-		templateRoot.getTemplateComponents().stream()
-				.filter(TemplateComponent.IS_DEFAULT_ACTIVE.or(TemplateComponent.IS_MANDATORY))
-				.forEach(templateComponent -> createContextComponent(templateComponent.getName(), contextRoot));
-
-		return contextRoot;
+		// valid templates are no longer modified, replay the compiled plan
+		return createContextRoot(templateRoot, templateRoot.isValid() && REPLAYABLE.get(getClass()));
 	}
 
 	/**
@@ -358,6 +576,7 @@ public abstract class EntityFactory extends BaseEntityFactory {
 		catalogAttribute.setName(name);
 		catalogAttribute.setValueType(valueType);
 		catalogAttribute.setSortIndex(nextIndex(catalogComponent.getCatalogAttributes()));
+		catalogComponent.catalogAttributeAdded(catalogAttribute);
 
 		return catalogAttribute;
 	}
@@ -396,6 +615,7 @@ public abstract class EntityFactory extends BaseEntityFactory {
 		catalogAttribute.setName(name);
 		catalogAttribute.setEnumerationObj(enumerationObj);
 		catalogAttribute.setSortIndex(nextIndex(catalogComponent.getCatalogAttributes()));
+		catalogComponent.catalogAttributeAdded(catalogAttribute);
 
 		return catalogAttribute;
 	}
@@ -438,6 +658,7 @@ public abstract class EntityFactory extends BaseEntityFactory {
 		catalogAttribute.setName(name);
 		catalogAttribute.setValueType(valueType);
 		catalogAttribute.setSortIndex(nextIndex(catalogSensor.getCatalogAttributes()));
+		catalogSensor.catalogAttributeAdded(catalogAttribute);
 
 		return catalogAttribute;
 	}
@@ -473,6 +694,7 @@ public abstract class EntityFactory extends BaseEntityFactory {
 		// properties
 		catalogSensor.setName(name);
 		catalogSensor.setDateCreated(LocalDateTime.now());
+		catalogComponent.catalogSensorAdded(catalogSensor);
 
 		return catalogSensor;
 	}
@@ -530,6 +752,7 @@ public abstract class EntityFactory extends BaseEntityFactory {
 		getCore(templateComponent).getPermanentStore().set(templateRoot);
 		getCore(templateComponent).getMutableStore().set(catalogComponent);
 		getCore(templateRoot).getChildrenStore().add(templateComponent);
+		templateRoot.invalidateTemplateComponentIndex();
 
 		// properties
 		templateComponent.setName(name);
@@ -576,6 +799,7 @@ public abstract class EntityFactory extends BaseEntityFactory {
 		getCore(templateComponent).getPermanentStore().set(partentComponentTemplate);
 		getCore(templateComponent).getMutableStore().set(catalogComponent);
 		getCore(partentComponentTemplate).getChildrenStore().add(templateComponent);
+		templateRoot.invalidateTemplateComponentIndex();
 
 		// properties
 		templateComponent.setName(name);
@@ -746,6 +970,7 @@ public abstract class EntityFactory extends BaseEntityFactory {
 		getCore(templateTestStepUsage).getPermanentStore().set(templateTest);
 		getCore(templateTestStepUsage).getMutableStore().set(templateTestStep);
 		getCore(templateTest).getChildrenStore().add(templateTestStepUsage);
+		templateTest.invalidateTemplateTestStepIndex();
 
 		// properties
 		templateTestStepUsage.setName(name);
@@ -787,21 +1012,109 @@ public abstract class EntityFactory extends BaseEntityFactory {
 			throw new IllegalArgumentException(new StringBuilder().append("Value list value with name '").append(name).append("' already exists.").toString());
 		}
 
-		ValueListValue valueListValue = new ValueListValue(createCore(ValueListValue.class));
+		return createValueListValue(name, valueList, valueList.nextSortIndex());
+	}
 
-		// relations
-		getCore(valueListValue).getPermanentStore().set(valueList);
-		getCore(valueList).getChildrenStore().add(valueListValue);
+	/**
+	 * Creates a new {@link ValueListValue} for each name provided by given
+	 * {@code Iterator}. Names are consumed one by one, names already used
+	 * within given {@link ValueList} or provided before are skipped. Sort
+	 * indices are assigned sequentially, starting after the highest sort index
+	 * of the existing {@code ValueListValue}s. Created {@code ValueListValue}s
+	 * are handed over to given consumer in batches, which has to persist them,
+	 * e.g. within a transaction.
+	 *
+	 * <p>
+	 * Names are checked against the name index of the {@code ValueList}, so
+	 * only the names of the {@code ValueListValue}s created by this import
+	 * are retained until it is finished.
+	 *
+	 * <p>
+	 * <b>NOTE:</b> Created {@code ValueListValue}s are detached: they
+	 * reference the {@code ValueList} as their parent, but are not added to
+	 * its children. Hence each batch is released once it was consumed. Until
+	 * the {@code ValueList} is reloaded, the imported {@code ValueListValue}s
+	 * are neither returned by {@link ValueList#getValueListValues()},
+	 * {@link ValueList#getValueListValue(String)} nor
+	 * {@link ValueList#findByPrefix(String, int)} and their names are not
+	 * rejected by {@link #createValueListValue(String, ValueList)}. Values
+	 * created afterwards continue the sort indices though.
+	 *
+	 * @param valueList
+	 *            The parent {@code ValueList}.
+	 * @param names
+	 *            Provides the names of the created {@code ValueListValue}s.
+	 * @param batchSize
+	 *            The maximum number of {@code ValueListValue}s per batch.
+	 * @param batchConsumer
+	 *            Receives the created {@code ValueListValue}s batch by batch.
+	 *            A batch is no longer accessed once it was consumed.
+	 * @return The number of created {@code ValueListValue}s is returned.
+	 * @throws IllegalArgumentException
+	 *             Thrown if given batch size is not positive.
+	 * @since 5.1.0
+	 */
+	public int importValueListValues(ValueList valueList, Iterator<String> names, int batchSize,
+			Consumer<List<ValueListValue>> batchConsumer) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("Batch size must be positive.");
+		}
 
-		// properties
-		valueListValue.setName(name);
-		valueListValue.setSortIndex(nextIndex(valueList.getValueListValues()));
+		Set<String> importedNames = new HashSet<>();
+		int sortIndex = valueList.nextSortIndex();
+		int count = 0;
+		List<ValueListValue> batch = new ArrayList<>(batchSize);
+		while (names.hasNext()) {
+			String name = names.next();
+			if (valueList.isValueListValueIndexed(name) || !importedNames.add(name)) {
+				continue;
+			}
 
-		// this property is hidden by the public API and is not allowed to be
-		// modified!
-		valueListValue.getValue(ValueListValue.ATTR_SCALAR_TYPE).set(ScalarType.STRING);
+			batch.add(createDetachedValueListValue(name, valueList, sortIndex++));
+			count++;
+			if (batch.size() == batchSize) {
+				handOver(valueList, batch, batchConsumer);
+				batch = new ArrayList<>(batchSize);
+			}
+		}
 
-		return valueListValue;
+		if (!batch.isEmpty()) {
+			handOver(valueList, batch, batchConsumer);
+		}
+
+		return count;
+	}
+
+	/**
+	 * Creates a new {@link ValueListValue} for each record read from given
+	 * CSV {@code Reader}. The first field of each line is used as name, blank
+	 * lines are ignored. Fields may be enclosed in double quotes, where a
+	 * double quote is escaped by another one.
+	 *
+	 * @param valueList
+	 *            The parent {@code ValueList}.
+	 * @param reader
+	 *            Provides the CSV records, is not closed.
+	 * @param batchSize
+	 *            The maximum number of {@code ValueListValue}s per batch.
+	 * @param batchConsumer
+	 *            Receives the created {@code ValueListValue}s batch by batch.
+	 * @return The number of created {@code ValueListValue}s is returned.
+	 * @throws IOException
+	 *             Thrown if unable to read the records.
+	 * @throws IllegalArgumentException
+	 *             Thrown if given batch size is not positive or a record is
+	 *             malformed.
+	 * @see #importValueListValues(ValueList, Iterator, int, Consumer)
+	 * @since 5.1.0
+	 */
+	public int importValueListValues(ValueList valueList, Reader reader, int batchSize,
+			Consumer<List<ValueListValue>> batchConsumer) throws IOException {
+		try {
+			return importValueListValues(valueList, new CsvFirstFieldIterator(reader), batchSize, batchConsumer);
+		} catch (UncheckedIOException exc) {
+			throw exc.getCause();
+		}
 	}
 
 	public Classification createClassification(String name, Status status, ProjectDomain projectDomain, Domain domain) {
@@ -938,7 +1251,7 @@ public abstract class EntityFactory extends BaseEntityFactory {
 		getCore(testStep).getMutableStore().set(templateTestStep);
 
 		// create initial context roots
-		templateTestStep.getTemplateRoots().forEach(templateRoot -> createContextRoot(testStep, templateRoot));
+		templateTestStep.forEachTemplateRoot(templateRoot -> createContextRoot(testStep, templateRoot));
 
 		return testStep;
 	}
@@ -970,16 +1283,13 @@ public abstract class EntityFactory extends BaseEntityFactory {
 	 */
 	@Override
 	protected <T extends BaseEntity> T createBaseEntity(Class<T> clazz, Core core) {
-		try {
-			Constructor<T> constructor = clazz.getDeclaredConstructor(Core.class);
-			try {
-				return constructor.newInstance(core);
-			} catch (IllegalAccessException exc) {
-				return super.createBaseEntity(clazz, core);
-			}
-		} catch (NoSuchMethodException | InvocationTargetException | InstantiationException exc) {
-			throw new IllegalStateException(exc.getMessage(), exc);
+		T entity = construct(clazz, core);
+		if (entity != null) {
+			return entity;
 		}
+
+		// constructor is not accessible from this package
+		return super.createBaseEntity(clazz, core);
 	}
 
 	/**
@@ -994,9 +1304,206 @@ public abstract class EntityFactory extends BaseEntityFactory {
 	protected abstract void validateEnum(Enumeration<?> enumerationObj);
 
 	// ======================================================================
-	// Private methods
+	// Package methods
 	// ======================================================================
 
+	/**
+	 * Creates a new instance of given entity class through its resolved
+	 * constructor. This is the fast path of
+	 * {@link #createBaseEntity(Class, Core)}, also used by the benchmarks of
+	 * this package.
+	 *
+	 * @param <T>
+	 *            The entity type.
+	 * @param clazz
+	 *            The entity class.
+	 * @param core
+	 *            The {@link Core} of the created entity.
+	 * @return The created entity is returned or {@code null} if the
+	 *         constructor is not accessible from this package.
+	 * @throws IllegalStateException
+	 *             Thrown if the constructor failed.
+	 */
+	static <T extends BaseEntity> T construct(Class<T> clazz, Core core) {
+		Optional<Function<Core, ?>> constructor = CONSTRUCTORS.get(clazz);
+		if (!constructor.isPresent()) {
+			return null;
+		}
+
+		Object entity;
+		try {
+			entity = constructor.get().apply(core);
+		} catch (RuntimeException exc) {
+			// thrown by the constructor itself
+			throw new IllegalStateException(exc.getMessage(), exc);
+		}
+		return clazz.cast(entity);
+	}
+
+	/**
+	 * Creates a new {@link ContextRoot} using given {@link TemplateRoot}.
+	 *
+	 * @param templateRoot
+	 *            The template the returned {@code ContextRoot} will be derived
+	 *            from.
+	 * @param replay
+	 *            Whether the {@link TemplateRootPlan} of given valid
+	 *            {@code TemplateRoot} is replayed. Otherwise the implicitly
+	 *            created context entities are created through
+	 *            {@link #createContextComponent(String, ContextRoot)}.
+	 * @return The created {@code ContextRoot} is returned.
+	 */
+	ContextRoot createContextRoot(TemplateRoot templateRoot, boolean replay) {
+		ContextRoot contextRoot = createContextRoot(templateRoot.getName(), templateRoot.getContextType());
+
+		// relations
+		getCore(contextRoot).getMutableStore().set(templateRoot);
+
+		if (replay) {
+			createContextComponents(contextRoot, templateRoot.getInstantiationPlan());
+			return contextRoot;
+		}
+
+		// create default active and mandatory context components
+		templateRoot.getTemplateComponents().stream()
+				.filter(TemplateComponent.IS_IMPLICIT_CREATE)
+				.forEach(templateComponent -> createContextComponent(templateComponent.getName(), contextRoot));
+
+		return contextRoot;
+	}
+
+	/**
+	 * Hands over given batch of imported {@link ValueListValue}s. The next
+	 * sort index of given {@link ValueList} is advanced beyond the batch
+	 * first, so values created later on do not reuse the sort indices.
+	 *
+	 * @param valueList
+	 *            The parent {@code ValueList}.
+	 * @param batch
+	 *            The imported {@code ValueListValue}s.
+	 * @param batchConsumer
+	 *            Receives the batch.
+	 */
+	private static void handOver(ValueList valueList, List<ValueListValue> batch,
+			Consumer<List<ValueListValue>> batchConsumer) {
+		valueList.valueListValueSortIndexChanged(batch.get(batch.size() - 1));
+		batchConsumer.accept(batch);
+	}
+
+	/**
+	 * Creates a new {@link ValueListValue} with given sort index for given
+	 * {@link ValueList}.
+	 *
+	 * @param name
+	 *            Name of the created {@code ValueListValue}.
+	 * @param valueList
+	 *            The parent {@code ValueList}.
+	 * @param sortIndex
+	 *            The sort index of the created {@code ValueListValue}.
+	 * @return The created {@code ValueListValue} is returned.
+	 */
+	private ValueListValue createValueListValue(String name, ValueList valueList, Integer sortIndex) {
+		ValueListValue valueListValue = createDetachedValueListValue(name, valueList, sortIndex);
+		getCore(valueList).getChildrenStore().add(valueListValue);
+		valueList.valueListValueAdded(valueListValue);
+
+		return valueListValue;
+	}
+
+	/**
+	 * Creates a new {@link ValueListValue} with given sort index, which
+	 * references given {@link ValueList} as its parent without being added to
+	 * its children.
+	 *
+	 * @param name
+	 *            Name of the created {@code ValueListValue}.
+	 * @param valueList
+	 *            The parent {@code ValueList}.
+	 * @param sortIndex
+	 *            The sort index of the created {@code ValueListValue}.
+	 * @return The created {@code ValueListValue} is returned.
+	 */
+	private ValueListValue createDetachedValueListValue(String name, ValueList valueList, Integer sortIndex) {
+		ValueListValue valueListValue = new ValueListValue(createCore(ValueListValue.class));
+
+		// properties are set before the parent, so it is not notified
+		valueListValue.setName(name);
+		valueListValue.setSortIndex(sortIndex);
+
+		// this property is hidden by the public API and is not allowed to be
+		// modified!
+		valueListValue.getValue(ValueListValue.ATTR_SCALAR_TYPE).set(ScalarType.STRING);
+
+		// relations
+		getCore(valueListValue).getPermanentStore().set(valueList);
+
+		return valueListValue;
+	}
+
+	/**
+	 * Resolves the {@link Core} constructor of given entity class and binds it
+	 * to a {@code Function}, which is invoked without any further reflective
+	 * access checks.
+	 *
+	 * @param clazz
+	 *            The entity class.
+	 * @return {@code Optional} is empty if the constructor is not accessible
+	 *         from this package.
+	 * @throws IllegalStateException
+	 *             Thrown if given class does not declare a {@code Core}
+	 *             constructor or binding the constructor failed.
+	 */
+	private static Optional<Function<Core, ?>> resolveConstructor(Class<?> clazz) {
+		MethodHandle constructor;
+		try {
+			constructor = LOOKUP.findConstructor(clazz, MethodType.methodType(void.class, Core.class));
+		} catch (NoSuchMethodException exc) {
+			throw new IllegalStateException(exc.getMessage(), exc);
+		} catch (IllegalAccessException exc) {
+			return Optional.empty();
+		}
+
+		try {
+			CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, "apply", MethodType.methodType(Function.class),
+					MethodType.methodType(Object.class, Object.class), constructor, constructor.type());
+			@SuppressWarnings("unchecked")
+			Function<Core, ?> function = (Function<Core, ?>) callSite.getTarget().invoke();
+			return Optional.of(function);
+		} catch (Throwable exc) {
+			throw new IllegalStateException("Unable to bind constructor of entity class '" + clazz.getName() + "'.",
+					exc);
+		}
+	}
+
+	/**
+	 * Checks whether the public method with given signature is inherited by
+	 * given factory class from this class.
+	 *
+	 * @param type
+	 *            The factory class.
+	 * @param name
+	 *            The method name.
+	 * @param parameterTypes
+	 *            The parameter types of the method.
+	 * @return Returns {@code true} if the method is not overridden.
+	 * @throws IllegalStateException
+	 *             Thrown if the method does not exist.
+	 */
+	private static boolean isDeclaredByEntityFactory(Class<?> type, String name, Class<?>... parameterTypes) {
+		// protected methods are not returned by Class#getMethod()
+		for (Class<?> declaringClass = type; declaringClass != null; declaringClass = declaringClass
+				.getSuperclass()) {
+			try {
+				declaringClass.getDeclaredMethod(name, parameterTypes);
+				return declaringClass == EntityFactory.class;
+			} catch (NoSuchMethodException exc) {
+				// inherited
+			}
+		}
+
+		throw new IllegalStateException("Method '" + name + "' does not exist.");
+	}
+
 	/**
 	 * Checks whether given catalog name is allowed or not.
 	 *
@@ -1033,6 +1540,49 @@ public abstract class EntityFactory extends BaseEntityFactory {
 		return name != null && !name.isEmpty() && name.length() <= 30;
 	}
 
+	/**
+	 * Creates the implicit {@link ContextComponent}s and {@link ContextSensor}s
+	 * of given {@link ContextRoot} by replaying given {@link TemplateRootPlan}.
+	 *
+	 * @param contextRoot
+	 *            The {@code ContextRoot}.
+	 * @param plan
+	 *            The {@code TemplateRootPlan} of the {@link TemplateRoot} the
+	 *            {@code ContextRoot} is derived from.
+	 */
+	private void createContextComponents(ContextRoot contextRoot, TemplateRootPlan plan) {
+		List<TemplateRootPlan.Step> steps = plan.getSteps();
+		ContextComponent[] contextComponents = new ContextComponent[steps.size()];
+		for (int i = 0; i < contextComponents.length; i++) {
+			TemplateRootPlan.Step step = steps.get(i);
+			if (step.isSensorStep()) {
+				ContextSensor contextSensor = super.createContextSensor(step.getCatalogName(),
+						contextComponents[step.getParentIndex()]);
+
+				// relations
+				getCore(contextSensor).getMutableStore().set(step.getTemplateSensor());
+
+				// properties
+				contextSensor.setName(step.getName());
+				step.hideValues(getCore(contextSensor));
+				step.applyDefaultValues(contextSensor);
+			} else {
+				ContextComponent contextComponent = super.createContextComponent(step.getCatalogName(), contextRoot);
+
+				// relations
+				getCore(contextComponent).getMutableStore().set(step.getTemplateComponent());
+
+				// properties
+				contextComponent.setName(step.getName());
+				contextComponent.setMimeType(contextComponent.getMimeType().addSubType(step.getName()));
+				step.hideValues(getCore(contextComponent));
+				step.applyDefaultValues(contextComponent);
+
+				contextComponents[i] = contextComponent;
+			}
+		}
+	}
+
 	/**
 	 * Hides {@link Value} containers missing in the templates.
 	 *
@@ -0,0 +1,176 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+/**
+ * Scans the {@code String} representation of file link default values in a
+ * single pass. Each file link is stored as {@code description[mimetype,path]}
+ * and file links of a sequence are separated by commas.
+ *
+ * <p>
+ * This scanner yields exactly the same description, mime type and path parts
+ * as the regular expressions {@code ([^,].*?)\[(.*?),(.*?)\]}, which locates a
+ * file link, and {@code (.*?)\[(.*?),(.*?)\]}, which splits a located file
+ * link, including their handling of line terminators.
+ *
+ * <pre>
+ * {
+ * 	&#64;code
+ * 	FileLinkScanner scanner = new FileLinkScanner(value);
+ * 	while (scanner.next()) {
+ * 		create(scanner.getDescription(), scanner.getMimeType(), scanner.getPath());
+ * 	}
+ * }
+ * </pre>
+ *
+ * @since 5.1.0
+ * @see TemplateAttribute#getDefaultValue()
+ */
+final class FileLinkScanner {
+
+	// ======================================================================
+	// Instance variables
+	// ======================================================================
+
+	private final String value;
+	private int position;
+
+	private String description;
+	private String mimeType;
+	private String path;
+
+	// ======================================================================
+	// Constructors
+	// ======================================================================
+
+	/**
+	 * Constructor.
+	 *
+	 * @param value
+	 *            The scanned {@code String}.
+	 */
+	FileLinkScanner(String value) {
+		this.value = value;
+	}
+
+	// ======================================================================
+	// Package methods
+	// ======================================================================
+
+	/**
+	 * Advances to the next file link.
+	 *
+	 * @return Returns {@code true} if another file link was found.
+	 */
+	boolean next() {
+		int length = value.length();
+		int start = position;
+		while (start < length) {
+			if (value.charAt(start) == ',') {
+				start++;
+				continue;
+			}
+
+			// locate '[', ',' and ']' in this order before the next line terminator
+			int open = -1;
+			int comma = -1;
+			int close = -1;
+			int index = start + 1;
+			for (; index < length; index++) {
+				char c = value.charAt(index);
+				if (isLineTerminator(c)) {
+					break;
+				} else if (open < 0) {
+					open = c == '[' ? index : -1;
+				} else if (comma < 0) {
+					comma = c == ',' ? index : -1;
+				} else if (c == ']') {
+					close = index;
+					break;
+				}
+			}
+
+			if (close < 0) {
+				// no file link starts before the line terminator
+				start = index;
+				continue;
+			}
+
+			char first = value.charAt(start);
+			if (first == '[') {
+				// the located file link itself starts with '[' and therefore
+				// has no description
+				int innerComma = value.indexOf(',', start + 1);
+				description = "";
+				mimeType = value.substring(start + 1, innerComma);
+				path = value.substring(innerComma + 1, value.indexOf(']', innerComma + 1));
+			} else {
+				description = value.substring(isLineTerminator(first) ? start + 1 : start, open);
+				mimeType = value.substring(open + 1, comma);
+				path = value.substring(comma + 1, close);
+			}
+
+			position = close + 1;
+			return true;
+		}
+
+		position = length;
+		return false;
+	}
+
+	/**
+	 * Returns the description of the current file link.
+	 *
+	 * @return The description is returned.
+	 */
+	String getDescription() {
+		return description;
+	}
+
+	/**
+	 * Returns the mime type of the current file link.
+	 *
+	 * @return The mime type is returned.
+	 */
+	String getMimeType() {
+		return mimeType;
+	}
+
+	/**
+	 * Returns the path of the current file link.
+	 *
+	 * @return The path is returned.
+	 */
+	String getPath() {
+		return path;
+	}
+
+	// ======================================================================
+	// Private methods
+	// ======================================================================
+
+	/**
+	 * Checks whether given character is a line terminator, which is not
+	 * matched by '.' in a regular expression.
+	 *
+	 * @param c
+	 *            The checked character.
+	 * @return Returns {@code true} if given character is a line terminator.
+	 */
+	private static boolean isLineTerminator(char c) {
+		return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+	}
+
+}
@@ -0,0 +1,252 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.eclipse.mdm.api.base.model.Entity;
+
+/**
+ * Maps the children of an entity by their names. The index is built on first
+ * access and afterwards maintained in place, so the owner has to report each
+ * child that is {@link #added(Entity) added}, {@link #removed(Entity)
+ * removed} or {@link #renamed(Entity, String) renamed}. The index is
+ * completely built before it is published, so concurrent lookups never see a
+ * partial index.
+ *
+ * <p>
+ * Changes that are not reported are detected as well: a child renamed
+ * through its name {@link org.eclipse.mdm.api.base.model.Value} is detected
+ * once it is looked up with its former name. A lookup that misses falls back
+ * to scanning the current children, so a child renamed to the requested name
+ * or added directly to the children store is still found. The index is
+ * rebuilt once such a child is found. Hence a miss costs linear time in the
+ * number of children, just like a lookup without an index.
+ *
+ * <p>
+ * {@link #getIndexed(String)} skips this fallback for callers that expect
+ * mostly misses, e.g. when checking names for duplicates.
+ *
+ * @param <T>
+ *            The indexed entity type.
+ * @since 5.1.0
+ */
+final class NameIndex<T extends Entity> {
+
+	// ======================================================================
+	// Instance variables
+	// ======================================================================
+
+	private final Supplier<List<T>> entitiesSupplier;
+
+	private volatile Index<T> index;
+
+	// ======================================================================
+	// Constructors
+	// ======================================================================
+
+	/**
+	 * Constructor.
+	 *
+	 * @param entitiesSupplier
+	 *            Provides the current children.
+	 */
+	NameIndex(Supplier<List<T>> entitiesSupplier) {
+		this.entitiesSupplier = entitiesSupplier;
+	}
+
+	// ======================================================================
+	// Package methods
+	// ======================================================================
+
+	/**
+	 * Returns the child identified by given name.
+	 *
+	 * @param name
+	 *            The name of the child.
+	 * @return The {@code Optional} is empty if a child with given name does
+	 *         not exist.
+	 */
+	Optional<T> get(String name) {
+		if (name == null) {
+			return entitiesSupplier.get().stream().filter(e -> e.nameEquals(name)).findAny();
+		}
+
+		Index<T> current = index;
+		if (current == null) {
+			current = build();
+		}
+
+		T entity = current.entities.get(name);
+		if (entity != null && !entity.nameEquals(name)) {
+			// renamed without notice
+			entity = build().entities.get(name);
+		} else if (entity == null && entitiesSupplier.get().stream().anyMatch(e -> e.nameEquals(name))) {
+			// added or renamed to given name without notice
+			entity = build().entities.get(name);
+		}
+
+		return Optional.ofNullable(entity);
+	}
+
+	/**
+	 * Returns the child indexed with given name. Unlike {@link #get(String)},
+	 * a miss is not verified by scanning the children, so children added or
+	 * renamed without notice are not found.
+	 *
+	 * @param name
+	 *            The name of the child, must not be null.
+	 * @return The {@code Optional} is empty if no child is indexed with given
+	 *         name.
+	 */
+	Optional<T> getIndexed(String name) {
+		Index<T> current = index;
+		if (current == null) {
+			current = build();
+		}
+
+		T entity = current.entities.get(name);
+		if (entity != null && !entity.nameEquals(name)) {
+			// renamed without notice
+			entity = build().entities.get(name);
+		}
+
+		return Optional.ofNullable(entity);
+	}
+
+	/**
+	 * Indexes given child with its current name.
+	 *
+	 * @param entity
+	 *            The added child.
+	 */
+	void added(T entity) {
+		Index<T> current = index;
+		if (current != null) {
+			index(current, entity, entity.getName());
+		}
+	}
+
+	/**
+	 * Removes given child from the index.
+	 *
+	 * @param entity
+	 *            The removed child.
+	 */
+	void removed(T entity) {
+		Index<T> current = index;
+		if (current != null) {
+			unindex(current, entity, entity.getName());
+		}
+	}
+
+	/**
+	 * Moves given child from its former to its current name.
+	 *
+	 * @param entity
+	 *            The renamed child.
+	 * @param oldName
+	 *            The former name of the child, may be null.
+	 */
+	void renamed(T entity, String oldName) {
+		Index<T> current = index;
+		if (current != null) {
+			unindex(current, entity, oldName);
+			index(current, entity, entity.getName());
+		}
+	}
+
+	// ======================================================================
+	// Private methods
+	// ======================================================================
+
+	/**
+	 * Builds and publishes the index of the current children.
+	 *
+	 * @return The new {@link Index} is returned.
+	 */
+	private Index<T> build() {
+		List<T> children = entitiesSupplier.get();
+		Index<T> built = new Index<>(children.size());
+		for (T entity : children) {
+			index(built, entity, entity.getName());
+		}
+
+		index = built;
+		return built;
+	}
+
+	/**
+	 * Indexes given child unless its name is already taken by another child.
+	 *
+	 * @param current
+	 *            The {@link Index}.
+	 * @param entity
+	 *            The indexed child.
+	 * @param name
+	 *            The name of the child, may be null.
+	 */
+	private static <T> void index(Index<T> current, T entity, String name) {
+		if (name == null) {
+			return;
+		}
+
+		T indexed = current.entities.putIfAbsent(name, entity);
+		if (indexed != null && indexed != entity) {
+			current.ambiguous = true;
+		}
+	}
+
+	/**
+	 * Removes given child from the index, if it is indexed with given name.
+	 * The index is discarded if another child with the same name has to take
+	 * its place.
+	 *
+	 * @param current
+	 *            The {@link Index}.
+	 * @param entity
+	 *            The child.
+	 * @param name
+	 *            The name the child is indexed with, may be null.
+	 */
+	private void unindex(Index<T> current, T entity, String name) {
+		if (name != null && current.entities.remove(name, entity) && current.ambiguous) {
+			index = null;
+		}
+	}
+
+	// ======================================================================
+	// Inner classes
+	// ======================================================================
+
+	/**
+	 * The indexed children.
+	 */
+	private static final class Index<T> {
+
+		private final Map<String, T> entities;
+		private volatile boolean ambiguous;
+
+		private Index(int size) {
+			entities = new ConcurrentHashMap<>(size * 4 / 3 + 1);
+		}
+
+	}
+
+}
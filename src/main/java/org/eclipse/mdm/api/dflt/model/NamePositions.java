@@ -0,0 +1,120 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Assigns each distinct name of a collection its position, which is the
+ * number of distinct names preceding it. Positions are looked up in an open
+ * addressing table of primitive {@code int}s, so callers keep per name state
+ * in arrays indexed by position instead of boxing it in a {@code Map}.
+ *
+ * @since 5.1.0
+ * @see Versionable#latestValid(Collection, Collection)
+ */
+final class NamePositions {
+
+	// ======================================================================
+	// Instance variables
+	// ======================================================================
+
+	private final String[] names;
+	private final int[] slots;
+	private int size;
+
+	// ======================================================================
+	// Constructors
+	// ======================================================================
+
+	/**
+	 * Constructor.
+	 *
+	 * @param names
+	 *            The names, may contain duplicates.
+	 */
+	NamePositions(Collection<String> names) {
+		this.names = new String[names.size()];
+		// at most half of the slots are occupied
+		slots = new int[Integer.highestOneBit(names.size() * 2 + 1) << 1];
+		for (String name : names) {
+			int slot = slot(name);
+			if (slots[slot] == 0) {
+				this.names[size] = name;
+				slots[slot] = ++size;
+			}
+		}
+	}
+
+	// ======================================================================
+	// Package methods
+	// ======================================================================
+
+	/**
+	 * Returns the number of distinct names.
+	 *
+	 * @return The number of distinct names is returned.
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the name at given position.
+	 *
+	 * @param position
+	 *            The position.
+	 * @return The name is returned.
+	 */
+	String get(int position) {
+		return names[position];
+	}
+
+	/**
+	 * Returns the position of given name.
+	 *
+	 * @param name
+	 *            The name, may be {@code null}.
+	 * @return The position or {@code -1} is returned if given name is not
+	 *         contained.
+	 */
+	int indexOf(String name) {
+		return slots[slot(name)] - 1;
+	}
+
+	// ======================================================================
+	// Private methods
+	// ======================================================================
+
+	/**
+	 * Returns either the slot occupied by given name or the empty slot it
+	 * would be stored in.
+	 *
+	 * @param name
+	 *            The name, may be {@code null}.
+	 * @return The slot is returned.
+	 */
+	private int slot(String name) {
+		int mask = slots.length - 1;
+		int hash = Objects.hashCode(name);
+		int slot = (hash ^ (hash >>> 16)) & mask;
+		while (slots[slot] != 0 && !Objects.equals(names[slots[slot] - 1], name)) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+}
@@ -0,0 +1,331 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+/**
+ * Parses and formats the comma separated {@code String} representation of
+ * primitive sequence default values without boxing their elements.
+ *
+ * <p>
+ * Elements are separated exactly like {@code value.split(",")} does, so
+ * trailing empty elements are dropped. Integral elements are parsed in place
+ * and accept the same input as {@link Integer#parseInt(String)} and its
+ * siblings. Floating point elements are delegated to
+ * {@link Double#parseDouble(String)} and {@link Float#parseFloat(String)}
+ * since correctly rounded parsing is not worth being reimplemented here.
+ * Formatted elements equal their {@code toString()} representation.
+ *
+ * @since 5.1.0
+ * @see TemplateAttribute#getDefaultValue()
+ * @see TemplateAttribute#setDefaultValue(Object)
+ */
+final class PrimitiveSequences {
+
+	// ======================================================================
+	// Class variables
+	// ======================================================================
+
+	private static final char SEPARATOR = ',';
+
+	// ======================================================================
+	// Constructors
+	// ======================================================================
+
+	/**
+	 * Constructor.
+	 */
+	private PrimitiveSequences() {
+	}
+
+	// ======================================================================
+	// Package methods
+	// ======================================================================
+
+	/**
+	 * Parses given {@code String} to an array of given primitive component
+	 * type.
+	 *
+	 * @param value
+	 *            The comma separated {@code String} value.
+	 * @param componentType
+	 *            The primitive component type of the returned array.
+	 * @return The parsed array is returned.
+	 * @throws NumberFormatException
+	 *             Thrown if an element is not a valid number.
+	 * @throws IllegalArgumentException
+	 *             Thrown if given component type is not supported.
+	 */
+	static Object parse(String value, Class<?> componentType) {
+		int end = value.length();
+		int count = 1;
+		if (value.indexOf(SEPARATOR) > -1) {
+			// drop trailing empty elements
+			while (end > 0 && value.charAt(end - 1) == SEPARATOR) {
+				end--;
+			}
+			count = end == 0 ? 0 : countSeparators(value, end) + 1;
+		}
+
+		if (componentType == int.class) {
+			int[] array = new int[count];
+			for (int i = 0, begin = 0; i < count; i++) {
+				int next = next(value, begin, end);
+				array[i] = (int) parseLong(value, begin, next, Integer.MIN_VALUE, Integer.MAX_VALUE);
+				begin = next + 1;
+			}
+			return array;
+		} else if (componentType == long.class) {
+			long[] array = new long[count];
+			for (int i = 0, begin = 0; i < count; i++) {
+				int next = next(value, begin, end);
+				array[i] = parseLong(value, begin, next, Long.MIN_VALUE, Long.MAX_VALUE);
+				begin = next + 1;
+			}
+			return array;
+		} else if (componentType == short.class) {
+			short[] array = new short[count];
+			for (int i = 0, begin = 0; i < count; i++) {
+				int next = next(value, begin, end);
+				array[i] = (short) parseLong(value, begin, next, Short.MIN_VALUE, Short.MAX_VALUE);
+				begin = next + 1;
+			}
+			return array;
+		} else if (componentType == byte.class) {
+			byte[] array = new byte[count];
+			for (int i = 0, begin = 0; i < count; i++) {
+				int next = next(value, begin, end);
+				array[i] = (byte) parseLong(value, begin, next, Byte.MIN_VALUE, Byte.MAX_VALUE);
+				begin = next + 1;
+			}
+			return array;
+		} else if (componentType == double.class) {
+			double[] array = new double[count];
+			for (int i = 0, begin = 0; i < count; i++) {
+				int next = next(value, begin, end);
+				array[i] = Double.parseDouble(value.substring(begin, next));
+				begin = next + 1;
+			}
+			return array;
+		} else if (componentType == float.class) {
+			float[] array = new float[count];
+			for (int i = 0, begin = 0; i < count; i++) {
+				int next = next(value, begin, end);
+				array[i] = Float.parseFloat(value.substring(begin, next));
+				begin = next + 1;
+			}
+			return array;
+		} else if (componentType == boolean.class) {
+			boolean[] array = new boolean[count];
+			for (int i = 0, begin = 0; i < count; i++) {
+				int next = next(value, begin, end);
+				array[i] = next - begin == 4 && value.regionMatches(true, begin, "true", 0, 4);
+				begin = next + 1;
+			}
+			return array;
+		}
+
+		throw new IllegalArgumentException("Primitive sequence of type '" + componentType + "' is not supported.");
+	}
+
+	/**
+	 * Formats given primitive array to its comma separated {@code String}
+	 * representation.
+	 *
+	 * @param array
+	 *            The primitive array.
+	 * @return The comma separated {@code String} is returned.
+	 * @throws IllegalArgumentException
+	 *             Thrown if given array is not a supported primitive array.
+	 */
+	static String format(Object array) {
+		StringBuilder sb;
+		if (array instanceof int[]) {
+			int[] values = (int[]) array;
+			sb = new StringBuilder(values.length * 6);
+			for (int i = 0; i < values.length; i++) {
+				separate(sb, i).append(values[i]);
+			}
+		} else if (array instanceof long[]) {
+			long[] values = (long[]) array;
+			sb = new StringBuilder(values.length * 8);
+			for (int i = 0; i < values.length; i++) {
+				separate(sb, i).append(values[i]);
+			}
+		} else if (array instanceof short[]) {
+			short[] values = (short[]) array;
+			sb = new StringBuilder(values.length * 4);
+			for (int i = 0; i < values.length; i++) {
+				separate(sb, i).append(values[i]);
+			}
+		} else if (array instanceof byte[]) {
+			byte[] values = (byte[]) array;
+			sb = new StringBuilder(values.length * 4);
+			for (int i = 0; i < values.length; i++) {
+				separate(sb, i).append(values[i]);
+			}
+		} else if (array instanceof double[]) {
+			double[] values = (double[]) array;
+			sb = new StringBuilder(values.length * 12);
+			for (int i = 0; i < values.length; i++) {
+				separate(sb, i).append(values[i]);
+			}
+		} else if (array instanceof float[]) {
+			float[] values = (float[]) array;
+			sb = new StringBuilder(values.length * 10);
+			for (int i = 0; i < values.length; i++) {
+				separate(sb, i).append(values[i]);
+			}
+		} else if (array instanceof boolean[]) {
+			boolean[] values = (boolean[]) array;
+			sb = new StringBuilder(values.length * 6);
+			for (int i = 0; i < values.length; i++) {
+				separate(sb, i).append(values[i]);
+			}
+		} else {
+			throw new IllegalArgumentException("Given value '" + array + "' is not a supported primitive array.");
+		}
+
+		return sb.toString();
+	}
+
+	// ======================================================================
+	// Private methods
+	// ======================================================================
+
+	/**
+	 * Counts the separators in given {@code String} before given end index.
+	 *
+	 * @param value
+	 *            The {@code String} value.
+	 * @param end
+	 *            The exclusive end index.
+	 * @return The number of separators is returned.
+	 */
+	private static int countSeparators(String value, int end) {
+		int count = 0;
+		for (int i = 0; i < end; i++) {
+			if (value.charAt(i) == SEPARATOR) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the exclusive end index of the element starting at given index.
+	 *
+	 * @param value
+	 *            The {@code String} value.
+	 * @param begin
+	 *            The start index of the element.
+	 * @param end
+	 *            The exclusive end index of the last element.
+	 * @return The index of the next separator or given end is returned.
+	 */
+	private static int next(String value, int begin, int end) {
+		int next = value.indexOf(SEPARATOR, begin);
+		return next < 0 || next > end ? end : next;
+	}
+
+	/**
+	 * Appends a separator to given {@code StringBuilder} unless the first
+	 * element is appended.
+	 *
+	 * @param sb
+	 *            The {@code StringBuilder}.
+	 * @param index
+	 *            The index of the appended element.
+	 * @return The given {@code StringBuilder} is returned.
+	 */
+	private static StringBuilder separate(StringBuilder sb, int index) {
+		return index == 0 ? sb : sb.append(SEPARATOR);
+	}
+
+	/**
+	 * Parses the decimal integral number within given range of characters
+	 * the same way {@link Long#parseLong(String)} does, but rejects values
+	 * outside of given bounds.
+	 *
+	 * @param value
+	 *            The {@code String} value.
+	 * @param begin
+	 *            The start index of the number.
+	 * @param end
+	 *            The exclusive end index of the number.
+	 * @param min
+	 *            The smallest valid value.
+	 * @param max
+	 *            The largest valid value.
+	 * @return The parsed number is returned.
+	 * @throws NumberFormatException
+	 *             Thrown if the characters are not a valid number within
+	 *             given bounds.
+	 */
+	private static long parseLong(String value, int begin, int end, long min, long max) {
+		if (begin == end) {
+			throw invalidNumber(value, begin, end);
+		}
+
+		boolean negative = false;
+		long limit = -max;
+		int i = begin;
+		char first = value.charAt(i);
+		if (first < '0') {
+			if (first == '-') {
+				negative = true;
+				limit = min;
+			} else if (first != '+') {
+				throw invalidNumber(value, begin, end);
+			}
+			if (end - begin == 1) {
+				throw invalidNumber(value, begin, end);
+			}
+			i++;
+		}
+
+		// accumulate negatively to cover the smallest value
+		long multiplicationLimit = limit / 10;
+		long result = 0;
+		while (i < end) {
+			int digit = Character.digit(value.charAt(i++), 10);
+			if (digit < 0 || result < multiplicationLimit) {
+				throw invalidNumber(value, begin, end);
+			}
+			result *= 10;
+			if (result < limit + digit) {
+				throw invalidNumber(value, begin, end);
+			}
+			result -= digit;
+		}
+
+		return negative ? result : -result;
+	}
+
+	/**
+	 * Creates a {@link NumberFormatException} for given range of characters.
+	 *
+	 * @param value
+	 *            The {@code String} value.
+	 * @param begin
+	 *            The start index of the invalid number.
+	 * @param end
+	 *            The exclusive end index of the invalid number.
+	 * @return The created {@code NumberFormatException} is returned.
+	 */
+	private static NumberFormatException invalidNumber(String value, int begin, int end) {
+		return new NumberFormatException("For input string: \"" + value.substring(begin, end) + "\"");
+	}
+
+}
@@ -25,8 +25,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -63,9 +61,12 @@ public class TemplateAttribute extends BaseEntity implements Deletable {
 	/**
 	 * This {@code Comparator} compares {@link TemplateAttribute}s by the sort
 	 * index of their corresponding {@link CatalogAttribute} in ascending order.
+	 * Sorting larger {@code List}s with
+	 * {@link SortIndexSorter#sortTemplateAttributes(List)} resolves each sort
+	 * index only once.
 	 */
 	public static final Comparator<TemplateAttribute> COMPARATOR = Comparator
-			.comparing(ta -> ta.getCatalogAttribute().getSortIndex());
+			.comparingInt(ta -> ta.getCatalogAttribute().getSortIndex());
 
 	/**
 	 * The 'DefaultValue' attribute name.
@@ -98,6 +99,14 @@ public class TemplateAttribute extends BaseEntity implements Deletable {
 		VALUETYPE_FUNCTION_MAP.put(ValueType.DOUBLE_COMPLEX, DoubleComplex::valueOf);
 	}
 
+	// ======================================================================
+	// Instance variables
+	// ======================================================================
+
+	private ParsedDefaultValue parsedDefaultValue;
+
+	private int templateFlags = TemplateFlags.UNKNOWN;
+
 	// ======================================================================
 	// Constructors
 	// ======================================================================
@@ -117,7 +126,11 @@ public class TemplateAttribute extends BaseEntity implements Deletable {
 	// ======================================================================
 
 	/**
-	 * Returns the default {@link Value} of this template attribute.
+	 * Returns the default {@link Value} of this template attribute. The parsed
+	 * default value is memorized until the stored default value or the
+	 * {@link ValueType} of the {@link CatalogAttribute} changes. Since
+	 * {@link FileLink}s are mutable, new ones are created from the memorized
+	 * parts each time.
 	 *
 	 * @return The default {@code Value} is returned.
 	 */
@@ -129,10 +142,15 @@ public class TemplateAttribute extends BaseEntity implements Deletable {
 		String value = defaultValue.extract();
 		if (valueType.isEnumerationType()) {
 			Enumeration enumObject = getCatalogAttribute().getEnumerationObject();
-			return valueType.create(getName(), "", isValid, isValid ? enumObject.valueOf(value) : null,
-					enumObject.getName());
+			Object enumValue = isValid ? getParsedDefaultValue(value, valueType, enumObject).value : null;
+			return valueType.create(getName(), "", isValid, enumValue, enumObject.getName());
+		} else if (!isValid) {
+			return valueType.create(getName(), null);
+		} else if (valueType.isFileLinkType()) {
+			FileLinkDefault fileLinkDefault = (FileLinkDefault) getParsedDefaultValue(value, valueType, null).value;
+			return valueType.create(getName(), fileLinkDefault.create());
 		} else {
-			return valueType.create(getName(), isValid ? parse(value, valueType) : null);
+			return valueType.create(getName(), copy(getParsedDefaultValue(value, valueType, null).value));
 		}
 	}
 
@@ -144,6 +162,7 @@ public class TemplateAttribute extends BaseEntity implements Deletable {
 	 *            The new default value.
 	 */
 	public void setDefaultValue(Object input) {
+		parsedDefaultValue = null;
 		if (input == null) {
 			getValue(ATTR_DEFAULT_VALUE).set(null);
 			return;
@@ -163,7 +182,9 @@ public class TemplateAttribute extends BaseEntity implements Deletable {
 			stringValue = Stream.of(values).map(ldt -> ldt.format(Value.LOCAL_DATE_TIME_FORMATTER))
 					.collect(Collectors.joining(","));
 		} else {
-			if (input.getClass().isArray()) {
+			if (input.getClass().isArray() && input.getClass().getComponentType().isPrimitive()) {
+				stringValue = PrimitiveSequences.format(input);
+			} else if (input.getClass().isArray()) {
 				stringValue = IntStream.range(0, Array.getLength(input)).mapToObj(i -> Array.get(input, i).toString())
 						.collect(Collectors.joining(","));
 			} else {
@@ -192,6 +213,7 @@ public class TemplateAttribute extends BaseEntity implements Deletable {
 	 */
 	public void setValueReadOnly(Boolean valueReadOnly) {
 		getValue(ATTR_VALUE_READONLY).set(valueReadOnly);
+		templateFlags = TemplateFlags.set(templateFlags, TemplateFlags.READ_ONLY, valueReadOnly);
 	}
 
 	/**
@@ -213,6 +235,27 @@ public class TemplateAttribute extends BaseEntity implements Deletable {
 	 */
 	public void setOptional(Boolean optional) {
 		getValue(ATTR_OPTIONAL).set(optional ? Boolean.FALSE : Boolean.TRUE);
+		templateFlags = TemplateFlags.set(templateFlags, TemplateFlags.OPTIONAL, optional);
+	}
+
+	/**
+	 * Returns the flags of this template attribute as a bit set of the
+	 * {@link TemplateFlags} constants. They are loaded once and kept in sync
+	 * by the flag setters of this template attribute.
+	 *
+	 * @return The template flags are returned.
+	 * @since 5.1.0
+	 */
+	public int getTemplateFlags() {
+		int flags = templateFlags;
+		if (flags == TemplateFlags.UNKNOWN) {
+			boolean optional = Boolean.FALSE.equals(getValue(ATTR_OPTIONAL).extract());
+			flags = (optional ? TemplateFlags.OPTIONAL : 0)
+					| TemplateFlags.bit(isValueReadOnly(), TemplateFlags.READ_ONLY);
+			templateFlags = flags;
+		}
+
+		return flags;
 	}
 
 	/**
@@ -231,15 +274,17 @@ public class TemplateAttribute extends BaseEntity implements Deletable {
 	 * @return The {@code TemplateRoot} is returned.
 	 */
 	public TemplateRoot getTemplateRoot() {
-		Optional<TemplateComponent> templateComponent = getTemplateComponent();
-		Optional<TemplateSensor> templateSensor = getTemplateSensor();
-		if (templateComponent.isPresent()) {
-			return templateComponent.get().getTemplateRoot();
-		} else if (templateSensor.isPresent()) {
-			return templateSensor.get().getTemplateRoot();
-		} else {
-			throw new IllegalStateException("Parent entity is unknown.");
+		TemplateComponent templateComponent = getCore().getPermanentStore().get(TemplateComponent.class);
+		if (templateComponent != null) {
+			return templateComponent.getTemplateRoot();
+		}
+
+		TemplateSensor templateSensor = getCore().getPermanentStore().get(TemplateSensor.class);
+		if (templateSensor != null) {
+			return templateSensor.getTemplateRoot();
 		}
+
+		throw new IllegalStateException("Parent entity is unknown.");
 	}
 
 	/**
@@ -264,10 +309,83 @@ public class TemplateAttribute extends BaseEntity implements Deletable {
 		return Optional.ofNullable(getCore().getPermanentStore().get(TemplateSensor.class));
 	}
 
+	// ======================================================================
+	// Package methods
+	// ======================================================================
+
+	/**
+	 * Returns the memorized parts of the default {@link FileLink}s of this
+	 * template attribute, which has to be of a {@code FileLink}
+	 * {@link ValueType}.
+	 *
+	 * @return The {@link FileLinkDefault} is returned or {@code null} if no
+	 *         default value is defined.
+	 */
+	FileLinkDefault getFileLinkDefault() {
+		Value defaultValue = getValue(ATTR_DEFAULT_VALUE);
+		if (!defaultValue.isValid()) {
+			return null;
+		}
+
+		ValueType<?> valueType = getCatalogAttribute().getValueType();
+		return (FileLinkDefault) getParsedDefaultValue(defaultValue.extract(), valueType, null).value;
+	}
+
+	/**
+	 * Copies given value if it is an array, since memorized arrays must not
+	 * be modified by the receivers of the default {@link Value}.
+	 *
+	 * @param value
+	 *            The value.
+	 * @return Either the copied array or the given value is returned.
+	 */
+	static Object copy(Object value) {
+		if (value == null || !value.getClass().isArray()) {
+			return value;
+		}
+
+		int length = Array.getLength(value);
+		Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+		System.arraycopy(value, 0, copy, 0, length);
+		return copy;
+	}
+
 	// ======================================================================
 	// Private methods
 	// ======================================================================
 
+	/**
+	 * Returns the memorized default value parsed from given {@code String}.
+	 * It is parsed again if the {@code String}, the {@link ValueType} or the
+	 * {@link Enumeration} differs from the memorized ones.
+	 *
+	 * @param value
+	 *            The stored {@code String} value.
+	 * @param valueType
+	 *            The {@code ValueType} of the {@link CatalogAttribute}.
+	 * @param enumObject
+	 *            The {@code Enumeration}, null for non enumeration types.
+	 * @return The memorized {@link ParsedDefaultValue} is returned.
+	 */
+	private ParsedDefaultValue getParsedDefaultValue(String value, ValueType<?> valueType,
+			Enumeration<?> enumObject) {
+		ParsedDefaultValue parsed = parsedDefaultValue;
+		if (parsed == null || !parsed.matches(value, valueType, enumObject)) {
+			Object parsedValue;
+			if (enumObject != null) {
+				parsedValue = enumObject.valueOf(value);
+			} else if (valueType.isFileLinkType()) {
+				parsedValue = new FileLinkDefault(value, valueType.isSequence());
+			} else {
+				parsedValue = parse(value, valueType);
+			}
+			parsed = new ParsedDefaultValue(value, valueType, enumObject, parsedValue);
+			parsedDefaultValue = parsed;
+		}
+
+		return parsed;
+	}
+
 	/**
 	 * Parses given {@code String} to the corresponding type of given
 	 * {@link ValueType}.
@@ -279,28 +397,14 @@ public class TemplateAttribute extends BaseEntity implements Deletable {
 	 * @return The parsed object is returned.
 	 */
 	private static Object parse(String value, ValueType<?> valueType) {
-		if (valueType.isFileLinkType()) {
-			Pattern pattern = Pattern.compile("([^,].*?)\\[(.*?),(.*?)\\]");
-			Matcher matcher = pattern.matcher(value);
-			List<FileLink> fileLinks = new ArrayList<>();
-			while (matcher.find()) {
-				fileLinks.add(FileLinkParser.parse(matcher.group()));
-			}
-
-			return valueType.isSequence() ? fileLinks.toArray(new FileLink[fileLinks.size()]) : fileLinks.get(0);
+		if (valueType.isSequence() && valueType.getValueClass().getComponentType().isPrimitive()) {
+			return PrimitiveSequences.parse(value, valueType.getValueClass().getComponentType());
 		} else {
 			Function<String, Object> converter = getParser(valueType);
 			if (valueType.isSequence()) {
 				List<Object> values = Stream.of(value.split(",")).map(converter).collect(Collectors.toList());
 				Object array = Array.newInstance(valueType.getValueClass().getComponentType(), values.size());
-
-				if (valueType.getValueClass().getComponentType().isPrimitive()) {
-					IntStream.range(0, values.size()).forEach(i -> Array.set(array, i, values.get(i)));
-				} else {
-					values.toArray((Object[]) array);
-				}
-
-				return array;
+				return values.toArray((Object[]) array);
 			} else {
 				return converter.apply(value);
 			}
@@ -330,7 +434,98 @@ public class TemplateAttribute extends BaseEntity implements Deletable {
 	// ======================================================================
 
 	/**
-	 * Utility class restore a {@link FileLink} from given {@code String}.
+	 * The parts of default {@link FileLink}s scanned from their stored
+	 * {@code String} representation. {@code FileLink}s are mutable, so new
+	 * ones are created from these parts for each use.
+	 */
+	static final class FileLinkDefault {
+
+		private final boolean sequence;
+		private final String[] descriptions;
+		private final String[] mimeTypes;
+		private final String[] paths;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param value
+		 *            The stored {@code String} value.
+		 * @param sequence
+		 *            Whether all or only the first {@code FileLink} is used.
+		 * @throws IllegalStateException
+		 *             Thrown if a single {@code FileLink} is requested but
+		 *             given {@code String} does not contain one.
+		 */
+		private FileLinkDefault(String value, boolean sequence) {
+			this.sequence = sequence;
+			List<String[]> parts = new ArrayList<>();
+			FileLinkScanner scanner = new FileLinkScanner(value);
+			while ((sequence || parts.isEmpty()) && scanner.next()) {
+				parts.add(new String[] { scanner.getDescription(), scanner.getMimeType(), scanner.getPath() });
+			}
+			if (!sequence && parts.isEmpty()) {
+				throw new IllegalStateException("Unable to restore file link.");
+			}
+
+			descriptions = new String[parts.size()];
+			mimeTypes = new String[parts.size()];
+			paths = new String[parts.size()];
+			for (int i = 0; i < paths.length; i++) {
+				descriptions[i] = parts.get(i)[0];
+				mimeTypes[i] = parts.get(i)[1];
+				paths[i] = parts.get(i)[2];
+			}
+		}
+
+		/**
+		 * Creates new {@link FileLink}s from the memorized parts.
+		 *
+		 * @return Either a {@code FileLink} array or a single
+		 *         {@code FileLink} is returned.
+		 */
+		Object create() {
+			if (!sequence) {
+				return FileLinkParser.create(descriptions[0], mimeTypes[0], paths[0]);
+			}
+
+			FileLink[] fileLinks = new FileLink[paths.length];
+			for (int i = 0; i < fileLinks.length; i++) {
+				fileLinks[i] = FileLinkParser.create(descriptions[i], mimeTypes[i], paths[i]);
+			}
+			return fileLinks;
+		}
+
+	}
+
+	/**
+	 * A default value parsed from its stored {@code String} representation.
+	 * Elements of memorized arrays are immutable, so copying the array itself
+	 * suffices.
+	 */
+	private static final class ParsedDefaultValue {
+
+		private final String source;
+		private final ValueType<?> valueType;
+		private final Enumeration<?> enumObject;
+		private final Object value;
+
+		private ParsedDefaultValue(String source, ValueType<?> valueType, Enumeration<?> enumObject, Object value) {
+			this.source = source;
+			this.valueType = valueType;
+			this.enumObject = enumObject;
+			this.value = value;
+		}
+
+		private boolean matches(String source, ValueType<?> valueType, Enumeration<?> enumObject) {
+			return this.valueType == valueType && this.enumObject == enumObject && this.source.equals(source);
+		}
+
+	}
+
+	/**
+	 * Utility class restore {@link FileLink}s from given {@code String}.
+	 *
+	 * @see FileLinkScanner
 	 */
 	private static final class FileLinkParser {
 
@@ -342,34 +537,22 @@ public class TemplateAttribute extends BaseEntity implements Deletable {
 		private static final String NO_DESC_MARKER = "NO_DESC#";
 		private static final String LOCAL_MARKER = "LOCALPATH#";
 
-		// pattern group names
-		private static final String DESCRIPTION = "description";
-		private static final String MIMETYPE = "mimetype";
-		private static final String PATH = "path";
-
-		// pattern
-		private static final Pattern FILE_LINK_PATTERN = Pattern
-				.compile(new StringBuilder().append("(?<").append(DESCRIPTION).append(">.*?)\\[(?<").append(MIMETYPE).append(">.*?),(?<").append(PATH)
-						.append(">.*?)\\]").toString());
-
 		// ======================================================================
 		// Public methods
 		// ======================================================================
 
 		/**
-		 * Parses given {@code String} and returns it as {@link FileLink}.
+		 * Restores a {@link FileLink} from given parts.
 		 *
-		 * @param value
-		 *            The {@code String} value which will be parsed.
-		 * @return The corresponding {@code FileLink} is returned.
+		 * @param description
+		 *            The scanned description.
+		 * @param mimeType
+		 *            The scanned mime type.
+		 * @param path
+		 *            The scanned path.
+		 * @return The restored {@code FileLink} is returned.
 		 */
-		public static FileLink parse(String value) {
-			Matcher matcher = FILE_LINK_PATTERN.matcher(value);
-			if (!matcher.find()) {
-				throw new IllegalStateException("Unable to restore file link.");
-			}
-			String description = matcher.group(DESCRIPTION);
-			String path = matcher.group(PATH);
+		public static FileLink create(String description, String mimeType, String path) {
 			FileLink fileLink;
 			if (path.startsWith(LOCAL_MARKER)) {
 				try {
@@ -378,7 +561,7 @@ public class TemplateAttribute extends BaseEntity implements Deletable {
 					throw new IllegalStateException("Unable to restore local file link.", e);
 				}
 			} else {
-				fileLink = FileLink.newRemote(path, new MimeType(matcher.group(MIMETYPE)), description);
+				fileLink = FileLink.newRemote(path, new MimeType(mimeType), description);
 			}
 
 			fileLink.setDescription(NO_DESC_MARKER.equals(description) ? null : description);
@@ -56,35 +56,41 @@ public class TemplateComponent extends BaseEntity implements Deletable, Sortable
 	/**
 	 * The optional flag {@code Predicate}.
 	 */
-	public static final Predicate<TemplateComponent> IS_OPTIONAL = TemplateComponent::isOptional;
+	public static final Predicate<TemplateComponent> IS_OPTIONAL = templateComponent -> (templateComponent
+			.getTemplateFlags() & TemplateFlags.OPTIONAL) != 0;
 
 	/**
 	 * The mandatory flag {@code Predicate}. This is the inversion of
 	 * {@link #IS_OPTIONAL} {@code Predicate}.
 	 */
-	public static final Predicate<TemplateComponent> IS_MANDATORY = IS_OPTIONAL.negate();
+	public static final Predicate<TemplateComponent> IS_MANDATORY = templateComponent -> (templateComponent
+			.getTemplateFlags() & TemplateFlags.OPTIONAL) == 0;
 
 	/**
 	 * The default active flag {@code Predicate}.
 	 */
-	public static final Predicate<TemplateComponent> IS_DEFAULT_ACTIVE = TemplateComponent::isDefaultActive;
+	public static final Predicate<TemplateComponent> IS_DEFAULT_ACTIVE = templateComponent -> (templateComponent
+			.getTemplateFlags() & TemplateFlags.DEFAULT_ACTIVE) != 0;
 
 	/**
 	 * The series constant flag {@code Predicate}.
 	 */
-	public static final Predicate<TemplateComponent> IS_SERIES_CONSTANT = TemplateComponent::isSeriesConstant;
+	public static final Predicate<TemplateComponent> IS_SERIES_CONSTANT = templateComponent -> (templateComponent
+			.getTemplateFlags() & TemplateFlags.SERIES_CONSTANT) != 0;
 
 	/**
 	 * The series variable flag {@code Predicate}. This is the inversion of the
 	 * {@link #IS_SERIES_CONSTANT} {@code Predicate}.
 	 */
-	public static final Predicate<TemplateComponent> IS_SERIES_VARIABLE = IS_SERIES_CONSTANT.negate();
+	public static final Predicate<TemplateComponent> IS_SERIES_VARIABLE = templateComponent -> (templateComponent
+			.getTemplateFlags() & TemplateFlags.SERIES_CONSTANT) == 0;
 
 	/**
 	 * The implicit create flag {@code Predicate}. This is an OR combination of
 	 * {@link #IS_DEFAULT_ACTIVE} and {@link #IS_MANDATORY} {@code Predicate}s.
 	 */
-	public static final Predicate<TemplateComponent> IS_IMPLICIT_CREATE = IS_DEFAULT_ACTIVE.or(IS_MANDATORY);
+	public static final Predicate<TemplateComponent> IS_IMPLICIT_CREATE = templateComponent -> (templateComponent
+			.getTemplateFlags() & TemplateFlags.IMPLICIT_CREATE) != 0;
 
 	/**
 	 * The 'TestStepSeriesVariable' attribute name.
@@ -101,6 +107,14 @@ public class TemplateComponent extends BaseEntity implements Deletable, Sortable
 	 */
 	public static final String ATTR_OPTIONAL = "Optional";
 
+	// ======================================================================
+	// Instance variables
+	// ======================================================================
+
+	private volatile TemplateRoot validTemplateRoot;
+
+	private int templateFlags = TemplateFlags.UNKNOWN;
+
 	// ======================================================================
 	// Constructors
 	// ======================================================================
@@ -119,6 +133,15 @@ public class TemplateComponent extends BaseEntity implements Deletable, Sortable
 	// Public methods
 	// ======================================================================
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setName(String name) {
+		super.setName(name);
+		findTemplateRoot().ifPresent(TemplateRoot::invalidateTemplateComponentIndex);
+	}
+
 	/**
 	 * Returns the optional flag of this template component.
 	 *
@@ -137,6 +160,7 @@ public class TemplateComponent extends BaseEntity implements Deletable, Sortable
 	 */
 	public void setOptional(Boolean optional) {
 		getValue(ATTR_OPTIONAL).set(optional);
+		setTemplateFlag(TemplateFlags.OPTIONAL, optional);
 	}
 
 	/**
@@ -159,6 +183,7 @@ public class TemplateComponent extends BaseEntity implements Deletable, Sortable
 	 */
 	public void setDefaultActive(Boolean defaultActive) {
 		getValue(ATTR_DEFAULT_ACTIVE).set(defaultActive);
+		setTemplateFlag(TemplateFlags.DEFAULT_ACTIVE, defaultActive);
 	}
 
 	/**
@@ -180,6 +205,27 @@ public class TemplateComponent extends BaseEntity implements Deletable, Sortable
 	 */
 	public void setSeriesConstant(Boolean seriesConstant) {
 		getValue(ATTR_SERIES_CONSTANT).set(seriesConstant);
+		setTemplateFlag(TemplateFlags.SERIES_CONSTANT, seriesConstant);
+	}
+
+	/**
+	 * Returns the flags of this template component as a bit set of the
+	 * {@link TemplateFlags} constants. They are loaded once and kept in sync
+	 * by the flag setters of this template component.
+	 *
+	 * @return The template flags are returned.
+	 * @since 5.1.0
+	 */
+	public int getTemplateFlags() {
+		int flags = templateFlags;
+		if (flags == TemplateFlags.UNKNOWN) {
+			flags = TemplateFlags.withImplicitCreate(TemplateFlags.bit(isOptional(), TemplateFlags.OPTIONAL)
+					| TemplateFlags.bit(isDefaultActive(), TemplateFlags.DEFAULT_ACTIVE)
+					| TemplateFlags.bit(isSeriesConstant(), TemplateFlags.SERIES_CONSTANT));
+			templateFlags = flags;
+		}
+
+		return flags;
 	}
 
 	/**
@@ -194,14 +240,16 @@ public class TemplateComponent extends BaseEntity implements Deletable, Sortable
 
 	/**
 	 * Returns the {@link TemplateRoot} this template component belongs to.
+	 * The {@code TemplateRoot} of a valid template is memorized, since its
+	 * template components are no longer allowed to be moved. Otherwise the
+	 * parent chain is climbed without any intermediate allocations.
 	 *
 	 * @return The {@code TemplateRoot} is returned.
 	 */
 	public TemplateRoot getTemplateRoot() {
-		TemplateRoot templateRoot = getCore().getPermanentStore().get(TemplateRoot.class);
+		TemplateRoot templateRoot = resolveTemplateRoot();
 		if (templateRoot == null) {
-			return getParentTemplateComponent()
-					.orElseThrow(() -> new IllegalStateException("Parent entity is unknown.")).getTemplateRoot();
+			throw new IllegalStateException("Parent entity is unknown.");
 		}
 
 		return templateRoot;
@@ -266,23 +314,29 @@ public class TemplateComponent extends BaseEntity implements Deletable, Sortable
 	 * immediate children or not). Therefore, if this template component does
 	 * not have an immediate template component with the given name, this lookup
 	 * request is recursively delegated to all of its child template components.
+	 * The lookup is served by the name index of a valid {@code TemplateRoot},
+	 * unless the indexed {@code TemplateComponent} with given name is not
+	 * part of this template component's subtree.
 	 *
 	 * @param name
 	 *            The name of the {@code TemplateComponent}.
 	 * @return The {@code Optional} is empty if a {@code TemplateComponent} with
 	 *         given name does not exist (neither this template component nor
 	 *         one of its children has a template component with given name).
+	 * @see TemplateRoot#getTemplateComponent(String)
 	 */
 	public Optional<TemplateComponent> getTemplateComponent(String name) {
-		List<TemplateComponent> templateComponents = getTemplateComponents();
-		Optional<TemplateComponent> templateComponent = templateComponents.stream().filter(tc -> tc.nameEquals(name))
-				.findAny();
-		if (templateComponent.isPresent()) {
-			return templateComponent;
+		Optional<TemplateRoot> templateRoot = findTemplateRoot();
+		if (templateRoot.isPresent() && templateRoot.get().isValid()) {
+			Optional<TemplateComponent> templateComponent = templateRoot.get().getTemplateComponent(name);
+			if (!templateComponent.isPresent() || isAncestorOf(templateComponent.get())) {
+				return templateComponent;
+			}
 		}
 
-		return templateComponents.stream().map(ct -> ct.getTemplateComponent(name)).filter(Optional::isPresent)
-				.map(Optional::get).findAny();
+		// not indexed, detached from its template root or the name is used
+		// outside of this subtree as well
+		return Optional.ofNullable(findTemplateComponent(name));
 	}
 
 	/**
@@ -316,11 +370,12 @@ public class TemplateComponent extends BaseEntity implements Deletable, Sortable
 			return false;
 		}
 		Optional<TemplateComponent> parentTemplateComponent = templateComponent.get().getParentTemplateComponent();
-		if (parentTemplateComponent.isPresent()) {
+		if (parentTemplateComponent.isPresent() && parentTemplateComponent.get() != this) {
 			parentTemplateComponent.get().removeTemplateComponent(name);
 		} else {
 			getCore().getChildrenStore().remove(templateComponent.get());
 		}
+		findTemplateRoot().ifPresent(TemplateRoot::invalidateTemplateComponentIndex);
 		return true;
 	}
 
@@ -407,4 +462,110 @@ public class TemplateComponent extends BaseEntity implements Deletable, Sortable
 		return Optional.ofNullable(getCore(contextComponent).getMutableStore().get(TemplateComponent.class));
 	}
 
+	// ======================================================================
+	// Private methods
+	// ======================================================================
+
+	/**
+	 * Updates a single flag of the loaded template flags.
+	 *
+	 * @param flag
+	 *            The {@link TemplateFlags} bit.
+	 * @param value
+	 *            The new flag, may be {@code null}.
+	 */
+	private void setTemplateFlag(int flag, Boolean value) {
+		int flags = TemplateFlags.set(templateFlags, flag, value);
+		templateFlags = flags == TemplateFlags.UNKNOWN ? flags : TemplateFlags.withImplicitCreate(flags);
+	}
+
+	/**
+	 * Returns the {@link TemplateRoot} this template component belongs to.
+	 *
+	 * @return {@code Optional} is empty if the parent chain of this template
+	 *         component does not end at a {@code TemplateRoot}.
+	 */
+	private Optional<TemplateRoot> findTemplateRoot() {
+		return Optional.ofNullable(resolveTemplateRoot());
+	}
+
+	/**
+	 * Returns the {@link TemplateRoot} of this template component. A
+	 * memorized {@code TemplateRoot} is returned as long as it is valid.
+	 * Otherwise the parent chain is climbed and read from the permanent
+	 * stores, so a moved ancestor of an editable template is always taken
+	 * into account.
+	 *
+	 * @return The {@code TemplateRoot} is returned or {@code null} if the
+	 *         parent chain does not end at a {@code TemplateRoot}.
+	 */
+	private TemplateRoot resolveTemplateRoot() {
+		TemplateRoot templateRoot = validTemplateRoot;
+		if (templateRoot != null && templateRoot.isValid()) {
+			return templateRoot;
+		}
+
+		TemplateComponent templateComponent = this;
+		while (templateComponent != null) {
+			templateRoot = getCore(templateComponent).getPermanentStore().get(TemplateRoot.class);
+			if (templateRoot != null) {
+				validTemplateRoot = templateRoot.isValid() ? templateRoot : null;
+				return templateRoot;
+			}
+			templateComponent = getCore(templateComponent).getPermanentStore().get(TemplateComponent.class);
+		}
+
+		validTemplateRoot = null;
+		return null;
+	}
+
+	/**
+	 * Searches the subtree of this template component for a
+	 * {@link TemplateComponent} with given name. Immediate children are
+	 * checked first, then the search descends into each child in turn.
+	 *
+	 * @param name
+	 *            The name of the {@code TemplateComponent}.
+	 * @return The {@code TemplateComponent} is returned or {@code null} if
+	 *         it does not exist within this subtree.
+	 */
+	private TemplateComponent findTemplateComponent(String name) {
+		List<TemplateComponent> templateComponents = getTemplateComponents();
+		for (TemplateComponent templateComponent : templateComponents) {
+			if (templateComponent.nameEquals(name)) {
+				return templateComponent;
+			}
+		}
+
+		for (TemplateComponent templateComponent : templateComponents) {
+			TemplateComponent descendant = templateComponent.findTemplateComponent(name);
+			if (descendant != null) {
+				return descendant;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Checks whether given {@link TemplateComponent} is a descendant of this
+	 * template component.
+	 *
+	 * @param templateComponent
+	 *            The checked {@code TemplateComponent}.
+	 * @return Returns {@code true} if this template component is an ancestor
+	 *         of given {@code TemplateComponent}.
+	 */
+	private boolean isAncestorOf(TemplateComponent templateComponent) {
+		TemplateComponent parent = getCore(templateComponent).getPermanentStore().get(TemplateComponent.class);
+		while (parent != null) {
+			if (parent == this) {
+				return true;
+			}
+			parent = getCore(parent).getPermanentStore().get(TemplateComponent.class);
+		}
+
+		return false;
+	}
+
 }
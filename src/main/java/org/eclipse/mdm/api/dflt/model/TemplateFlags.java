@@ -0,0 +1,137 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+import org.eclipse.mdm.api.base.model.Value;
+
+/**
+ * Bits of the compact flag snapshot of a template node. Each flag is stored
+ * as a single bit, so predicates such as
+ * {@link TemplateComponent#IS_IMPLICIT_CREATE} are evaluated with plain bit
+ * tests instead of extracting boxed {@code Boolean}s from {@link Value}s. A
+ * {@code null} flag is treated as {@code false}. Flags that are not available
+ * for a template node type are never set.
+ *
+ * <p>
+ * A template node loads its snapshot once from its {@code Value}s and keeps
+ * it in sync in its flag setters. Modifications applied directly to the
+ * underlying {@code Value}s are not reflected.
+ *
+ * @since 5.1.0
+ * @see TemplateComponent#getTemplateFlags()
+ * @see TemplateSensor#getTemplateFlags()
+ * @see TemplateAttribute#getTemplateFlags()
+ * @see TemplateTestStepUsage#getTemplateFlags()
+ */
+public final class TemplateFlags {
+
+	// ======================================================================
+	// Class variables
+	// ======================================================================
+
+	/**
+	 * The optional flag bit.
+	 */
+	public static final int OPTIONAL = 1;
+
+	/**
+	 * The default active flag bit.
+	 */
+	public static final int DEFAULT_ACTIVE = 1 << 1;
+
+	/**
+	 * The series constant flag bit.
+	 */
+	public static final int SERIES_CONSTANT = 1 << 2;
+
+	/**
+	 * The (value) read only flag bit.
+	 */
+	public static final int READ_ONLY = 1 << 3;
+
+	/**
+	 * The implicit create flag bit. It is derived from the other flags and set
+	 * for template nodes with a default active flag if they are either default
+	 * active or mandatory.
+	 */
+	public static final int IMPLICIT_CREATE = 1 << 4;
+
+	/**
+	 * Marks a snapshot that is not loaded yet.
+	 */
+	static final int UNKNOWN = -1;
+
+	// ======================================================================
+	// Constructors
+	// ======================================================================
+
+	/**
+	 * Constructor.
+	 */
+	private TemplateFlags() {
+	}
+
+	// ======================================================================
+	// Package methods
+	// ======================================================================
+
+	/**
+	 * Returns the flag bit if given flag is {@code true}.
+	 *
+	 * @param value
+	 *            The flag, may be {@code null}.
+	 * @param flag
+	 *            The flag bit.
+	 * @return Either the flag bit or {@code 0} is returned.
+	 */
+	static int bit(Boolean value, int flag) {
+		return Boolean.TRUE.equals(value) ? flag : 0;
+	}
+
+	/**
+	 * Derives the {@link #IMPLICIT_CREATE} bit of a template node with a
+	 * default active flag.
+	 *
+	 * @param flags
+	 *            The flags of the template node.
+	 * @return The flags with the derived implicit create bit are returned.
+	 */
+	static int withImplicitCreate(int flags) {
+		boolean implicitCreate = (flags & (DEFAULT_ACTIVE | OPTIONAL)) != OPTIONAL;
+		return implicitCreate ? flags | IMPLICIT_CREATE : flags & ~IMPLICIT_CREATE;
+	}
+
+	/**
+	 * Updates a single flag of given snapshot. A snapshot that is not loaded
+	 * yet is left as is, since it will be loaded from the updated
+	 * {@link Value}s.
+	 *
+	 * @param flags
+	 *            The snapshot, may be {@link #UNKNOWN}.
+	 * @param flag
+	 *            The flag bit.
+	 * @param value
+	 *            The new flag, may be {@code null}.
+	 * @return The updated snapshot is returned.
+	 */
+	static int set(int flags, int flag, Boolean value) {
+		if (flags == UNKNOWN) {
+			return UNKNOWN;
+		}
+
+		return Boolean.TRUE.equals(value) ? flags | flag : flags & ~flag;
+	}
+
+}
@@ -14,8 +14,10 @@
 
 package org.eclipse.mdm.api.dflt.model;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -25,6 +27,7 @@ import org.eclipse.mdm.api.base.model.ContextRoot;
 import org.eclipse.mdm.api.base.model.ContextType;
 import org.eclipse.mdm.api.base.model.Deletable;
 import org.eclipse.mdm.api.base.model.Value;
+import org.eclipse.mdm.api.base.model.VersionState;
 
 /**
  * Implementation of the template attribute entity type. A template root defines
@@ -53,6 +56,12 @@ public class TemplateRoot extends BaseEntity implements Deletable, Versionable {
 
 	private final ContextType contextType;
 
+	private volatile TemplateRootPlan instantiationPlan;
+
+	private volatile Map<String, TemplateComponent> templateComponentIndex;
+
+	private final VersionNumber versionNumber = new VersionNumber();
+
 	// ======================================================================
 	// Constructors
 	// ======================================================================
@@ -66,15 +75,7 @@ public class TemplateRoot extends BaseEntity implements Deletable, Versionable {
 	TemplateRoot(Core core) {
 		super(core);
 
-		String typeName = core.getTypeName().toUpperCase(Locale.ROOT);
-		for (ContextType contextTypeCandidate : ContextType.values()) {
-			if (typeName.contains(contextTypeCandidate.name())) {
-				contextType = contextTypeCandidate;
-				return;
-			}
-		}
-
-		throw new IllegalStateException("Core is incompatible.");
+		contextType = ContextTypeResolver.resolve(core.getTypeName());
 	}
 
 	// ======================================================================
@@ -99,7 +100,9 @@ public class TemplateRoot extends BaseEntity implements Deletable, Versionable {
 	 * immediate children or not). Therefore, if this template root does not
 	 * have an immediate {@code TemplateComponent} with the given name, this
 	 * lookup request is recursively delegated to all of its child
-	 * {@code TemplateComponent}s.
+	 * {@code TemplateComponent}s. The whole tree of a valid template root is
+	 * indexed by name on first access, since it is no longer allowed to be
+	 * modified.
 	 *
 	 * @param name
 	 *            The name of the {@code TemplateComponent}.
@@ -107,6 +110,11 @@ public class TemplateRoot extends BaseEntity implements Deletable, Versionable {
 	 *         given name does not exist at all within this template root.
 	 */
 	public Optional<TemplateComponent> getTemplateComponent(String name) {
+		if (isValid()) {
+			return Optional.ofNullable(getTemplateComponentIndex().get(name));
+		}
+
+		// children may still be added or renamed without notice
 		List<TemplateComponent> templateComponents = getTemplateComponents();
 		Optional<TemplateComponent> templateComponent = templateComponents.stream().filter(tc -> tc.nameEquals(name))
 				.findAny();
@@ -155,9 +163,31 @@ public class TemplateRoot extends BaseEntity implements Deletable, Versionable {
 		} else {
 			getCore().getChildrenStore().remove(templateComponent.get());
 		}
+		invalidateTemplateComponentIndex();
 		return true;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getVersionNumber() {
+		return versionNumber.get(this);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * The instantiation plan is discarded, since a template root that is no
+	 * longer valid may be modified again.
+	 */
+	@Override
+	public void setVersionState(VersionState versionState) {
+		Versionable.super.setVersionState(versionState);
+		invalidateTemplateComponentIndex();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -189,4 +219,81 @@ public class TemplateRoot extends BaseEntity implements Deletable, Versionable {
 		return Optional.ofNullable(getCore(contextRoot).getMutableStore().get(TemplateRoot.class));
 	}
 
+	// ======================================================================
+	// Package methods
+	// ======================================================================
+
+	/**
+	 * Returns the {@link TemplateRootPlan} of this template root. The plan is
+	 * compiled on first access and reused until the template changes,
+	 * therefore this method may only be called for valid template roots.
+	 *
+	 * @return The {@code TemplateRootPlan} is returned.
+	 * @see #isValid()
+	 */
+	TemplateRootPlan getInstantiationPlan() {
+		TemplateRootPlan plan = instantiationPlan;
+		if (plan == null) {
+			plan = new TemplateRootPlan(this);
+			instantiationPlan = plan;
+		}
+
+		return plan;
+	}
+
+	/**
+	 * Discards the name index of all {@link TemplateComponent}s within this
+	 * template root and the instantiation plan. Has to be called each time a
+	 * {@code TemplateComponent} is added, removed or renamed.
+	 */
+	void invalidateTemplateComponentIndex() {
+		templateComponentIndex = null;
+		instantiationPlan = null;
+	}
+
+	// ======================================================================
+	// Private methods
+	// ======================================================================
+
+	/**
+	 * Returns all {@link TemplateComponent}s within this template root mapped
+	 * by their names. The index is built on first access and is only
+	 * reliable for valid template roots. Names are resolved in the order of
+	 * {@link #getTemplateComponent(String)} on a modifiable template root:
+	 * the immediate children of a {@code TemplateComponent} take precedence,
+	 * then its children are descended into one after the other.
+	 *
+	 * @return The unmodifiable name index is returned.
+	 */
+	private Map<String, TemplateComponent> getTemplateComponentIndex() {
+		Map<String, TemplateComponent> index = templateComponentIndex;
+		if (index == null) {
+			Map<String, TemplateComponent> names = new HashMap<>();
+			index(names, getTemplateComponents());
+			index = Collections.unmodifiableMap(names);
+			templateComponentIndex = index;
+		}
+
+		return index;
+	}
+
+	/**
+	 * Adds given {@link TemplateComponent}s and their descendants to given
+	 * name index, unless their names are already indexed.
+	 *
+	 * @param names
+	 *            The name index.
+	 * @param templateComponents
+	 *            The indexed {@code TemplateComponent}s.
+	 */
+	private static void index(Map<String, TemplateComponent> names, List<TemplateComponent> templateComponents) {
+		for (TemplateComponent templateComponent : templateComponents) {
+			names.putIfAbsent(templateComponent.getName(), templateComponent);
+		}
+
+		for (TemplateComponent templateComponent : templateComponents) {
+			index(names, templateComponent.getTemplateComponents());
+		}
+	}
+
 }
@@ -0,0 +1,290 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.mdm.api.base.adapter.Core;
+import org.eclipse.mdm.api.base.model.ContextComponent;
+import org.eclipse.mdm.api.base.model.ContextRoot;
+import org.eclipse.mdm.api.base.model.ContextSensor;
+import org.eclipse.mdm.api.base.model.Entity;
+
+/**
+ * Immutable instantiation plan of a valid {@link TemplateRoot}. The template
+ * tree is walked once and flattened into the ordered list of
+ * {@link ContextComponent}s and {@link ContextSensor}s that are implicitly
+ * created for each new {@link ContextRoot}. Default values of the
+ * {@link TemplateAttribute}s are resolved once as well and the hidden value
+ * names of each step are resolved by its first replay, so replaying this
+ * plan creates a context tree in a single linear pass.
+ *
+ * <p>
+ * <b>NOTE:</b> A plan may only be compiled for a valid template root, since
+ * those are no longer allowed to be modified.
+ *
+ * @since 5.1.0
+ * @see EntityFactory#createContextRoot(TemplateRoot)
+ */
+final class TemplateRootPlan {
+
+	// ======================================================================
+	// Instance variables
+	// ======================================================================
+
+	private final List<Step> steps;
+
+	// ======================================================================
+	// Constructors
+	// ======================================================================
+
+	/**
+	 * Constructor.
+	 *
+	 * @param templateRoot
+	 *            The compiled {@link TemplateRoot}.
+	 */
+	TemplateRootPlan(TemplateRoot templateRoot) {
+		List<Step> compiledSteps = new ArrayList<>();
+		templateRoot.getTemplateComponents().stream().filter(TemplateComponent.IS_IMPLICIT_CREATE)
+				.forEach(tc -> addComponentSteps(compiledSteps, tc));
+		steps = Collections.unmodifiableList(compiledSteps);
+	}
+
+	// ======================================================================
+	// Package methods
+	// ======================================================================
+
+	/**
+	 * Returns all steps of this plan in creation order. Parent context
+	 * components are always created before their children and context
+	 * sensors.
+	 *
+	 * @return The returned {@code List} is unmodifiable.
+	 */
+	List<Step> getSteps() {
+		return steps;
+	}
+
+	// ======================================================================
+	// Private methods
+	// ======================================================================
+
+	/**
+	 * Adds a step for given {@link TemplateComponent}, followed by the steps
+	 * of its implicitly created children and {@link TemplateSensor}s.
+	 *
+	 * @param steps
+	 *            The steps compiled so far.
+	 * @param templateComponent
+	 *            The {@code TemplateComponent}.
+	 */
+	private static void addComponentSteps(List<Step> steps, TemplateComponent templateComponent) {
+		int index = steps.size();
+		steps.add(new Step(templateComponent, null, -1, templateComponent.getCatalogComponent().getName(),
+				templateComponent.getTemplateAttributes()));
+
+		templateComponent.getTemplateComponents().stream().filter(TemplateComponent.IS_IMPLICIT_CREATE)
+				.forEach(tc -> addComponentSteps(steps, tc));
+
+		templateComponent.getTemplateSensors().stream().filter(TemplateSensor.IS_IMPLICIT_CREATE)
+				.forEach(ts -> steps.add(new Step(null, ts, index, ts.getCatalogSensor().getName(),
+						ts.getTemplateAttributes())));
+	}
+
+	// ======================================================================
+	// Inner classes
+	// ======================================================================
+
+	/**
+	 * A single step of a {@link TemplateRootPlan}, which either creates a
+	 * {@link ContextComponent} or a {@link ContextSensor}.
+	 */
+	static final class Step {
+
+		// ======================================================================
+		// Instance variables
+		// ======================================================================
+
+		private final TemplateComponent templateComponent;
+		private final TemplateSensor templateSensor;
+		private final int parentIndex;
+		private final String name;
+		private final String catalogName;
+
+		private final Set<String> retainedNames = new HashSet<>();
+		private final String[] attributeNames;
+		private final Object[] defaultValues;
+		private final TemplateAttribute.FileLinkDefault[] fileLinkDefaults;
+
+		private volatile Set<String> hiddenNames;
+
+		// ======================================================================
+		// Constructors
+		// ======================================================================
+
+		/**
+		 * Constructor.
+		 *
+		 * @param templateComponent
+		 *            The {@link TemplateComponent}, null for sensor steps.
+		 * @param templateSensor
+		 *            The {@link TemplateSensor}, null for component steps.
+		 * @param parentIndex
+		 *            Index of the component step a sensor step belongs to.
+		 * @param catalogName
+		 *            Name of the catalog component or sensor.
+		 * @param templateAttributes
+		 *            The {@link TemplateAttribute}s of the template.
+		 */
+		private Step(TemplateComponent templateComponent, TemplateSensor templateSensor, int parentIndex,
+				String catalogName, List<TemplateAttribute> templateAttributes) {
+			this.templateComponent = templateComponent;
+			this.templateSensor = templateSensor;
+			this.parentIndex = parentIndex;
+			this.catalogName = catalogName;
+			name = templateSensor == null ? templateComponent.getName() : templateSensor.getName();
+
+			retainedNames.add(Entity.ATTR_NAME);
+			retainedNames.add(Entity.ATTR_MIMETYPE);
+
+			int size = templateAttributes.size();
+			attributeNames = new String[size];
+			defaultValues = new Object[size];
+			fileLinkDefaults = new TemplateAttribute.FileLinkDefault[size];
+			for (int i = 0; i < size; i++) {
+				TemplateAttribute templateAttribute = templateAttributes.get(i);
+				attributeNames[i] = templateAttribute.getName();
+				retainedNames.add(attributeNames[i]);
+				if (templateAttribute.getCatalogAttribute().getValueType().isFileLinkType()) {
+					// file links are mutable and therefore created each time
+					fileLinkDefaults[i] = templateAttribute.getFileLinkDefault();
+				} else {
+					defaultValues[i] = templateAttribute.getDefaultValue().extract();
+				}
+			}
+		}
+
+		// ======================================================================
+		// Package methods
+		// ======================================================================
+
+		/**
+		 * Checks whether this step creates a {@link ContextSensor}.
+		 *
+		 * @return Returns {@code true} if this is a sensor step.
+		 */
+		boolean isSensorStep() {
+			return templateSensor != null;
+		}
+
+		/**
+		 * Returns the {@link TemplateComponent} of this component step.
+		 *
+		 * @return The {@code TemplateComponent} is returned.
+		 */
+		TemplateComponent getTemplateComponent() {
+			return templateComponent;
+		}
+
+		/**
+		 * Returns the {@link TemplateSensor} of this sensor step.
+		 *
+		 * @return The {@code TemplateSensor} is returned.
+		 */
+		TemplateSensor getTemplateSensor() {
+			return templateSensor;
+		}
+
+		/**
+		 * Returns the index of the component step whose
+		 * {@link ContextComponent} is the parent of the {@link ContextSensor}
+		 * created by this sensor step.
+		 *
+		 * @return The index of the parent step is returned.
+		 */
+		int getParentIndex() {
+			return parentIndex;
+		}
+
+		/**
+		 * Returns the name of the created context entity, which is the name
+		 * of its template.
+		 *
+		 * @return The name is returned.
+		 */
+		String getName() {
+			return name;
+		}
+
+		/**
+		 * Returns the name of the associated catalog component or sensor.
+		 *
+		 * @return The catalog name is returned.
+		 */
+		String getCatalogName() {
+			return catalogName;
+		}
+
+		/**
+		 * Hides all {@link org.eclipse.mdm.api.base.model.Value} containers
+		 * of given context {@link Core} which are missing in the template.
+		 * All context entities created by this step are of the same type, so
+		 * the hidden names are resolved from the first one and reused.
+		 *
+		 * @param contextCore
+		 *            The {@code Core} of the created context entity.
+		 */
+		void hideValues(Core contextCore) {
+			Set<String> names = hiddenNames;
+			if (names == null) {
+				names = new HashSet<>();
+				for (String name : contextCore.getValues().keySet()) {
+					if (!retainedNames.contains(name)) {
+						names.add(name);
+					}
+				}
+				names = Collections.unmodifiableSet(names);
+				hiddenNames = names;
+			}
+
+			contextCore.hideValues(names);
+		}
+
+		/**
+		 * Applies the default values of the template to given context entity.
+		 *
+		 * @param contextEntity
+		 *            The created context entity.
+		 */
+		void applyDefaultValues(Entity contextEntity) {
+			for (int i = 0; i < attributeNames.length; i++) {
+				Object defaultValue;
+				if (fileLinkDefaults[i] != null) {
+					defaultValue = fileLinkDefaults[i].create();
+				} else {
+					defaultValue = TemplateAttribute.copy(defaultValues[i]);
+				}
+				contextEntity.getValue(attributeNames[i]).set(defaultValue);
+			}
+		}
+
+	}
+
+}
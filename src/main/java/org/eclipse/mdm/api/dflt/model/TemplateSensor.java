@@ -54,24 +54,28 @@ public class TemplateSensor extends BaseEntity implements Deletable, Describable
 	/**
 	 * The optional flag {@code Predicate}.
 	 */
-	public static final Predicate<TemplateSensor> IS_OPTIONAL = TemplateSensor::isOptional;
+	public static final Predicate<TemplateSensor> IS_OPTIONAL = templateSensor -> (templateSensor
+			.getTemplateFlags() & TemplateFlags.OPTIONAL) != 0;
 
 	/**
 	 * The mandatory flag {@code Predicate}. This is the inversion of
 	 * {@link #IS_OPTIONAL} {@code Predicate}.
 	 */
-	public static final Predicate<TemplateSensor> IS_MANDATORY = IS_OPTIONAL.negate();
+	public static final Predicate<TemplateSensor> IS_MANDATORY = templateSensor -> (templateSensor
+			.getTemplateFlags() & TemplateFlags.OPTIONAL) == 0;
 
 	/**
 	 * The default active flag {@code Predicate}.
 	 */
-	public static final Predicate<TemplateSensor> IS_DEFAULT_ACTIVE = TemplateSensor::isDefaultActive;
+	public static final Predicate<TemplateSensor> IS_DEFAULT_ACTIVE = templateSensor -> (templateSensor
+			.getTemplateFlags() & TemplateFlags.DEFAULT_ACTIVE) != 0;
 
 	/**
 	 * The implicit create flag {@code Predicate}. This is an OR combination of
 	 * {@link #IS_DEFAULT_ACTIVE} and {@link #IS_MANDATORY} {@code Predicate}s.
 	 */
-	public static final Predicate<TemplateSensor> IS_IMPLICIT_CREATE = IS_DEFAULT_ACTIVE.or(IS_MANDATORY);
+	public static final Predicate<TemplateSensor> IS_IMPLICIT_CREATE = templateSensor -> (templateSensor
+			.getTemplateFlags() & TemplateFlags.IMPLICIT_CREATE) != 0;
 
 	/**
 	 * The 'Optional' attribute name.
@@ -103,6 +107,12 @@ public class TemplateSensor extends BaseEntity implements Deletable, Describable
 	 */
 	public static final String ATTR_MEASRED_VALUES_AXISTYPE = "MeaQuantityAxisType";
 
+	// ======================================================================
+	// Instance variables
+	// ======================================================================
+
+	private int templateFlags = TemplateFlags.UNKNOWN;
+
 	// ======================================================================
 	// Constructors
 	// ======================================================================
@@ -215,6 +225,7 @@ public class TemplateSensor extends BaseEntity implements Deletable, Describable
 	 */
 	public void setOptional(Boolean optional) {
 		getValue(ATTR_OPTIONAL).set(optional);
+		setTemplateFlag(TemplateFlags.OPTIONAL, optional);
 	}
 
 	/**
@@ -237,6 +248,26 @@ public class TemplateSensor extends BaseEntity implements Deletable, Describable
 	 */
 	public void setDefaultActive(Boolean defaultActive) {
 		getValue(ATTR_DEFAULT_ACTIVE).set(defaultActive);
+		setTemplateFlag(TemplateFlags.DEFAULT_ACTIVE, defaultActive);
+	}
+
+	/**
+	 * Returns the flags of this template sensor as a bit set of the
+	 * {@link TemplateFlags} constants. They are loaded once and kept in sync
+	 * by the flag setters of this template sensor.
+	 *
+	 * @return The template flags are returned.
+	 * @since 5.1.0
+	 */
+	public int getTemplateFlags() {
+		int flags = templateFlags;
+		if (flags == TemplateFlags.UNKNOWN) {
+			flags = TemplateFlags.withImplicitCreate(TemplateFlags.bit(isOptional(), TemplateFlags.OPTIONAL)
+					| TemplateFlags.bit(isDefaultActive(), TemplateFlags.DEFAULT_ACTIVE));
+			templateFlags = flags;
+		}
+
+		return flags;
 	}
 
 	/**
@@ -264,7 +295,11 @@ public class TemplateSensor extends BaseEntity implements Deletable, Describable
 	 * @return The {@code TemplateRoot} is returned.
 	 */
 	public TemplateRoot getTemplateRoot() {
-		return getTemplateComponent().getTemplateRoot();
+		TemplateComponent templateComponent = getTemplateComponent();
+		if (templateComponent == null) {
+			throw new IllegalStateException("Parent entity is unknown.");
+		}
+		return templateComponent.getTemplateRoot();
 	}
 
 	/**
@@ -345,4 +380,21 @@ public class TemplateSensor extends BaseEntity implements Deletable, Describable
 		return Optional.ofNullable(getCore(contextSensor).getMutableStore().get(TemplateSensor.class));
 	}
 
+	// ======================================================================
+	// Private methods
+	// ======================================================================
+
+	/**
+	 * Updates a single flag of the loaded template flags.
+	 *
+	 * @param flag
+	 *            The {@link TemplateFlags} bit.
+	 * @param value
+	 *            The new flag, may be {@code null}.
+	 */
+	private void setTemplateFlag(int flag, Boolean value) {
+		int flags = TemplateFlags.set(templateFlags, flag, value);
+		templateFlags = flags == TemplateFlags.UNKNOWN ? flags : TemplateFlags.withImplicitCreate(flags);
+	}
+
 }
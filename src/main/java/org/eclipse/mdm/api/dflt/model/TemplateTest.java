@@ -14,8 +14,12 @@
 
 package org.eclipse.mdm.api.dflt.model;
 
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.eclipse.mdm.api.base.adapter.Core;
@@ -65,6 +69,14 @@ public class TemplateTest extends BaseEntity implements Deletable, Describable,
 	 */
 	public static final String ATTR_TEST_ORDER_ACTION_CLASSNAMES = "TestOrderActionClassnames";
 
+	// ======================================================================
+	// Instance variables
+	// ======================================================================
+
+	private volatile Set<TemplateTestStepKey> templateTestStepIndex;
+
+	private final VersionNumber versionNumber = new VersionNumber();
+
 	// ======================================================================
 	// Constructors
 	// ======================================================================
@@ -177,9 +189,18 @@ public class TemplateTest extends BaseEntity implements Deletable, Describable,
 			return false;
 		}
 		getCore().getChildrenStore().remove(templateTestStepUsage.get());
+		invalidateTemplateTestStepIndex();
 		return true;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getVersionNumber() {
+		return versionNumber.get(this);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -216,7 +237,9 @@ public class TemplateTest extends BaseEntity implements Deletable, Describable,
 
 	/**
 	 * Checks whether given {@link TemplateTestStepUsage} is contained in this
-	 * template test.
+	 * template test. Once this template test is no longer editable, its
+	 * {@link TemplateTestStep}s are looked up by name and version in an index,
+	 * which is built on first access.
 	 *
 	 * @param templateTestStep
 	 *            The {@code TemplateTestStepUsage}.
@@ -224,9 +247,68 @@ public class TemplateTest extends BaseEntity implements Deletable, Describable,
 	 *         contained in this template test.
 	 */
 	boolean contains(TemplateTestStep templateTestStep) {
-		return getTemplateTestStepUsages().stream().map(TemplateTestStepUsage::getTemplateTestStep)
-				.filter(tts -> tts.getName().equals(templateTestStep.getName()))
-				.filter(tts -> tts.getVersion().equals(templateTestStep.getVersion())).findFirst().isPresent();
+		TemplateTestStepKey key = new TemplateTestStepKey(templateTestStep);
+		if (isEditable()) {
+			// names and versions of referenced template test steps may change
+			return getTemplateTestStepUsages().stream().map(TemplateTestStepUsage::getTemplateTestStep)
+					.map(TemplateTestStepKey::new).anyMatch(key::equals);
+		}
+
+		Set<TemplateTestStepKey> index = templateTestStepIndex;
+		if (index == null) {
+			Set<TemplateTestStepKey> keys = new HashSet<>();
+			for (TemplateTestStepUsage templateTestStepUsage : getTemplateTestStepUsages()) {
+				keys.add(new TemplateTestStepKey(templateTestStepUsage.getTemplateTestStep()));
+			}
+			index = Collections.unmodifiableSet(keys);
+			templateTestStepIndex = index;
+		}
+
+		return index.contains(key);
+	}
+
+	/**
+	 * Discards the {@link TemplateTestStep} index of this template test. Has to
+	 * be called whenever a {@link TemplateTestStepUsage} is added or removed.
+	 */
+	void invalidateTemplateTestStepIndex() {
+		templateTestStepIndex = null;
+	}
+
+	// ======================================================================
+	// Inner classes
+	// ======================================================================
+
+	/**
+	 * Identifies a {@link TemplateTestStep} by its name and version.
+	 */
+	private static final class TemplateTestStepKey {
+
+		private final String name;
+		private final int version;
+
+		private TemplateTestStepKey(TemplateTestStep templateTestStep) {
+			name = templateTestStep.getName();
+			version = templateTestStep.getVersionNumber();
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (this == object) {
+				return true;
+			} else if (!(object instanceof TemplateTestStepKey)) {
+				return false;
+			}
+
+			TemplateTestStepKey other = (TemplateTestStepKey) object;
+			return version == other.version && Objects.equals(name, other.name);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * Objects.hashCode(name) + version;
+		}
+
 	}
 
 }
@@ -15,8 +15,10 @@
 package org.eclipse.mdm.api.dflt.model;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import org.eclipse.mdm.api.base.adapter.Core;
 import org.eclipse.mdm.api.base.model.BaseEntity;
@@ -45,6 +47,21 @@ import org.eclipse.mdm.api.base.model.TestStep;
  */
 public class TemplateTestStep extends BaseEntity implements Deletable, Describable, Versionable {
 
+	// ======================================================================
+	// Class variables
+	// ======================================================================
+
+	private static final ContextType[] CONTEXT_TYPES = { ContextType.UNITUNDERTEST, ContextType.TESTSEQUENCE,
+			ContextType.TESTEQUIPMENT };
+
+	// ======================================================================
+	// Instance variables
+	// ======================================================================
+
+	private final VersionNumber versionNumber = new VersionNumber();
+
+	private volatile EnumMap<ContextType, TemplateRoot> validTemplateRoots;
+
 	// ======================================================================
 	// Constructors
 	// ======================================================================
@@ -84,11 +101,38 @@ public class TemplateTestStep extends BaseEntity implements Deletable, Describab
 	 *         distinct {@link ContextType}s.
 	 */
 	public List<TemplateRoot> getTemplateRoots() {
-		List<TemplateRoot> templateRoots = new ArrayList<>();
-		getTemplateRoot(ContextType.UNITUNDERTEST).ifPresent(templateRoots::add);
-		getTemplateRoot(ContextType.TESTSEQUENCE).ifPresent(templateRoots::add);
-		getTemplateRoot(ContextType.TESTEQUIPMENT).ifPresent(templateRoots::add);
-		return templateRoots;
+		EnumMap<ContextType, TemplateRoot> templateRoots = getValidTemplateRoots();
+		if (templateRoots != null) {
+			return new ArrayList<>(templateRoots.values());
+		}
+
+		List<TemplateRoot> list = new ArrayList<>();
+		forEachTemplateRoot(list::add);
+		return list;
+	}
+
+	/**
+	 * Passes each available {@link TemplateRoot} related to this template test
+	 * step to given {@code Consumer} in the order of
+	 * {@link #getTemplateRoots()} without collecting them.
+	 *
+	 * @param action
+	 *            Receives the {@code TemplateRoot}s.
+	 * @since 5.1.0
+	 */
+	public void forEachTemplateRoot(Consumer<? super TemplateRoot> action) {
+		EnumMap<ContextType, TemplateRoot> templateRoots = getValidTemplateRoots();
+		if (templateRoots != null) {
+			templateRoots.values().forEach(action);
+			return;
+		}
+
+		for (ContextType contextType : CONTEXT_TYPES) {
+			TemplateRoot templateRoot = getCore().getMutableStore().get(TemplateRoot.class, contextType);
+			if (templateRoot != null) {
+				action.accept(templateRoot);
+			}
+		}
 	}
 
 	/**
@@ -100,6 +144,7 @@ public class TemplateTestStep extends BaseEntity implements Deletable, Describab
 	 */
 	public void setTemplateRoot(TemplateRoot templateRoot) {
 		getCore().getMutableStore().set(templateRoot, templateRoot.getContextType());
+		validTemplateRoots = null;
 	}
 
 	/**
@@ -113,9 +158,18 @@ public class TemplateTestStep extends BaseEntity implements Deletable, Describab
 	public boolean removeTemplateRoot(ContextType contextType) {
 		boolean contained = getTemplateRoot(contextType).isPresent();
 		getCore().getMutableStore().remove(TemplateRoot.class, contextType);
+		validTemplateRoots = null;
 		return contained;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getVersionNumber() {
+		return versionNumber.get(this);
+	}
+
 	/**
 	 * Returns the {@link TemplateTestStep} the given {@link TestStep} is
 	 * derived from.
@@ -130,4 +184,39 @@ public class TemplateTestStep extends BaseEntity implements Deletable, Describab
 		return Optional.ofNullable(getCore(testStep).getMutableStore().get(TemplateTestStep.class));
 	}
 
+	// ======================================================================
+	// Private methods
+	// ======================================================================
+
+	/**
+	 * Returns the {@link TemplateRoot}s of this template test step mapped by
+	 * their {@link ContextType}s if it is valid. They are read once, since a
+	 * valid template test step is no longer allowed to be modified, and read
+	 * again once they are replaced or removed with
+	 * {@link #setTemplateRoot(TemplateRoot)} or
+	 * {@link #removeTemplateRoot(ContextType)}.
+	 *
+	 * @return The {@code TemplateRoot}s or null is returned, if this template
+	 *         test step is not valid.
+	 */
+	private EnumMap<ContextType, TemplateRoot> getValidTemplateRoots() {
+		if (!isValid()) {
+			return null;
+		}
+
+		EnumMap<ContextType, TemplateRoot> templateRoots = validTemplateRoots;
+		if (templateRoots == null) {
+			templateRoots = new EnumMap<>(ContextType.class);
+			for (ContextType contextType : CONTEXT_TYPES) {
+				TemplateRoot templateRoot = getCore().getMutableStore().get(TemplateRoot.class, contextType);
+				if (templateRoot != null) {
+					templateRoots.put(contextType, templateRoot);
+				}
+			}
+			validTemplateRoots = templateRoots;
+		}
+
+		return templateRoots;
+	}
+
 }
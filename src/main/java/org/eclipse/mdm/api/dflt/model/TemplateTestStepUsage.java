@@ -41,24 +41,28 @@ public class TemplateTestStepUsage extends BaseEntity implements Deletable, Sort
 	/**
 	 * The optional flag {@code Predicate}.
 	 */
-	public static final Predicate<TemplateTestStepUsage> IS_OPTIONAL = TemplateTestStepUsage::isOptional;
+	public static final Predicate<TemplateTestStepUsage> IS_OPTIONAL = usage -> (usage
+			.getTemplateFlags() & TemplateFlags.OPTIONAL) != 0;
 
 	/**
 	 * The mandatory flag {@code Predicate}. This is the inversion of
 	 * {@link #IS_OPTIONAL} {@code Predicate}.
 	 */
-	public static final Predicate<TemplateTestStepUsage> IS_MANDATORY = IS_OPTIONAL.negate();
+	public static final Predicate<TemplateTestStepUsage> IS_MANDATORY = usage -> (usage
+			.getTemplateFlags() & TemplateFlags.OPTIONAL) == 0;
 
 	/**
 	 * The default active flag {@code Predicate}.
 	 */
-	public static final Predicate<TemplateTestStepUsage> IS_DEFAULT_ACTIVE = TemplateTestStepUsage::isDefaultActive;
+	public static final Predicate<TemplateTestStepUsage> IS_DEFAULT_ACTIVE = usage -> (usage
+			.getTemplateFlags() & TemplateFlags.DEFAULT_ACTIVE) != 0;
 
 	/**
 	 * The implicit create flag {@code Predicate}. This is an OR combination of
 	 * {@link #IS_DEFAULT_ACTIVE} and {@link #IS_MANDATORY} {@code Predicate}s.
 	 */
-	public static final Predicate<TemplateTestStepUsage> IS_IMPLICIT_CREATE = IS_DEFAULT_ACTIVE.or(IS_MANDATORY);
+	public static final Predicate<TemplateTestStepUsage> IS_IMPLICIT_CREATE = usage -> (usage
+			.getTemplateFlags() & TemplateFlags.IMPLICIT_CREATE) != 0;
 
 	/**
 	 * The 'DefaultActive' attribute name.
@@ -70,6 +74,12 @@ public class TemplateTestStepUsage extends BaseEntity implements Deletable, Sort
 	 */
 	public static final String ATTR_OPTIONAL = "Optional";
 
+	// ======================================================================
+	// Instance variables
+	// ======================================================================
+
+	private int templateFlags = TemplateFlags.UNKNOWN;
+
 	// ======================================================================
 	// Constructors
 	// ======================================================================
@@ -107,6 +117,7 @@ public class TemplateTestStepUsage extends BaseEntity implements Deletable, Sort
 	 */
 	public void setDefaultActive(Boolean defaultActive) {
 		getValue(ATTR_DEFAULT_ACTIVE).set(defaultActive);
+		setTemplateFlag(TemplateFlags.DEFAULT_ACTIVE, defaultActive);
 	}
 
 	/**
@@ -127,6 +138,26 @@ public class TemplateTestStepUsage extends BaseEntity implements Deletable, Sort
 	 */
 	public void setOptional(Boolean optional) {
 		getValue(ATTR_OPTIONAL).set(optional);
+		setTemplateFlag(TemplateFlags.OPTIONAL, optional);
+	}
+
+	/**
+	 * Returns the flags of this template test step usage as a bit set of the
+	 * {@link TemplateFlags} constants. They are loaded once and kept in sync
+	 * by the flag setters of this template test step usage.
+	 *
+	 * @return The template flags are returned.
+	 * @since 5.1.0
+	 */
+	public int getTemplateFlags() {
+		int flags = templateFlags;
+		if (flags == TemplateFlags.UNKNOWN) {
+			flags = TemplateFlags.withImplicitCreate(TemplateFlags.bit(isOptional(), TemplateFlags.OPTIONAL)
+					| TemplateFlags.bit(isDefaultActive(), TemplateFlags.DEFAULT_ACTIVE));
+			templateFlags = flags;
+		}
+
+		return flags;
 	}
 
 	/**
@@ -148,4 +179,21 @@ public class TemplateTestStepUsage extends BaseEntity implements Deletable, Sort
 		return getCore().getMutableStore().get(TemplateTestStep.class);
 	}
 
+	// ======================================================================
+	// Private methods
+	// ======================================================================
+
+	/**
+	 * Updates a single flag of the loaded template flags.
+	 *
+	 * @param flag
+	 *            The {@link TemplateFlags} bit.
+	 * @param value
+	 *            The new flag, may be {@code null}.
+	 */
+	private void setTemplateFlag(int flag, Boolean value) {
+		int flags = TemplateFlags.set(templateFlags, flag, value);
+		templateFlags = flags == TemplateFlags.UNKNOWN ? flags : TemplateFlags.withImplicitCreate(flags);
+	}
+
 }
@@ -0,0 +1,412 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Immutable snapshot of the {@link TemplateComponent} tree of a
+ * {@link TemplateRoot}. The tree is walked once and flattened into arrays in
+ * preorder, where each node is identified by its index. Parent indices,
+ * depths and subtree ranges are precomputed, as well as the
+ * {@link TemplateAttribute}s and {@link TemplateSensor}s of each node, so
+ * traversals neither recurse nor access the underlying entities again.
+ *
+ * <p>
+ * The subtree of the node at index {@code i} occupies the index range
+ * {@code [i, getSubtreeEnd(i))}. Its first child, if any, is located at
+ * {@code i + 1} and each next sibling of a node {@code j} at
+ * {@code getSubtreeEnd(j)}.
+ *
+ * <pre>
+ * {
+ * 	&#64;code
+ * 	TemplateTree templateTree = TemplateTree.of(templateRoot);
+ * 	templateTree.parallelStream().filter(TemplateComponent.IS_MANDATORY).forEach(...);
+ * }
+ * </pre>
+ *
+ * <p>
+ * <b>NOTE:</b> Modifications of the template root are not reflected by an
+ * existing snapshot. Snapshots are therefore best taken from valid template
+ * roots, which are no longer allowed to be modified.
+ *
+ * @since 5.1.0
+ * @see TemplateRoot
+ */
+public final class TemplateTree implements Iterable<TemplateComponent> {
+
+	// ======================================================================
+	// Instance variables
+	// ======================================================================
+
+	private final TemplateRoot templateRoot;
+
+	private final TemplateComponent[] templateComponents;
+	private final int[] parentIndices;
+	private final int[] depths;
+	private final int[] subtreeEnds;
+
+	private final List<List<TemplateAttribute>> templateAttributes;
+	private final List<List<TemplateSensor>> templateSensors;
+
+	// ======================================================================
+	// Constructors
+	// ======================================================================
+
+	/**
+	 * Constructor.
+	 *
+	 * @param templateRoot
+	 *            The flattened {@link TemplateRoot}.
+	 */
+	private TemplateTree(TemplateRoot templateRoot) {
+		this.templateRoot = templateRoot;
+
+		List<TemplateComponent> nodes = new ArrayList<>();
+		List<Integer> parents = new ArrayList<>();
+		List<List<TemplateAttribute>> attributes = new ArrayList<>();
+		List<List<TemplateSensor>> sensors = new ArrayList<>();
+
+		// preorder traversal with an explicit stack of (component, parent)
+		Deque<Object[]> stack = new ArrayDeque<>();
+		pushReversed(stack, templateRoot.getTemplateComponents(), -1);
+		while (!stack.isEmpty()) {
+			Object[] entry = stack.pop();
+			TemplateComponent templateComponent = (TemplateComponent) entry[0];
+			int index = nodes.size();
+
+			nodes.add(templateComponent);
+			parents.add((Integer) entry[1]);
+			attributes.add(Collections.unmodifiableList(new ArrayList<>(templateComponent.getTemplateAttributes())));
+			sensors.add(Collections.unmodifiableList(new ArrayList<>(templateComponent.getTemplateSensors())));
+
+			pushReversed(stack, templateComponent.getTemplateComponents(), index);
+		}
+
+		int size = nodes.size();
+		templateComponents = nodes.toArray(new TemplateComponent[size]);
+		parentIndices = new int[size];
+		depths = new int[size];
+		subtreeEnds = new int[size];
+		for (int i = 0; i < size; i++) {
+			int parentIndex = parents.get(i);
+			parentIndices[i] = parentIndex;
+			depths[i] = parentIndex < 0 ? 0 : depths[parentIndex] + 1;
+			subtreeEnds[i] = i + 1;
+		}
+
+		// descendants follow their ancestors, so visiting in reverse order
+		// completes each subtree before its parent is visited
+		for (int i = size - 1; i >= 0; i--) {
+			int parentIndex = parentIndices[i];
+			if (parentIndex >= 0 && subtreeEnds[parentIndex] < subtreeEnds[i]) {
+				subtreeEnds[parentIndex] = subtreeEnds[i];
+			}
+		}
+
+		templateAttributes = Collections.unmodifiableList(attributes);
+		templateSensors = Collections.unmodifiableList(sensors);
+	}
+
+	// ======================================================================
+	// Public methods
+	// ======================================================================
+
+	/**
+	 * Flattens the current {@link TemplateComponent} tree of given
+	 * {@link TemplateRoot}.
+	 *
+	 * @param templateRoot
+	 *            The {@code TemplateRoot}.
+	 * @return The created snapshot is returned.
+	 */
+	public static TemplateTree of(TemplateRoot templateRoot) {
+		return new TemplateTree(templateRoot);
+	}
+
+	/**
+	 * Returns the flattened {@link TemplateRoot}.
+	 *
+	 * @return The {@code TemplateRoot} is returned.
+	 */
+	public TemplateRoot getTemplateRoot() {
+		return templateRoot;
+	}
+
+	/**
+	 * Returns the number of {@link TemplateComponent}s in this tree.
+	 *
+	 * @return The number of nodes is returned.
+	 */
+	public int size() {
+		return templateComponents.length;
+	}
+
+	/**
+	 * Returns the {@link TemplateComponent} at given index.
+	 *
+	 * @param index
+	 *            The preorder index of the node.
+	 * @return The {@code TemplateComponent} is returned.
+	 */
+	public TemplateComponent getTemplateComponent(int index) {
+		return templateComponents[index];
+	}
+
+	/**
+	 * Returns the index of the parent of given node.
+	 *
+	 * @param index
+	 *            The preorder index of the node.
+	 * @return The index of the parent is returned or {@code -1} if the node
+	 *         is an immediate child of the {@link TemplateRoot}.
+	 */
+	public int getParentIndex(int index) {
+		return parentIndices[index];
+	}
+
+	/**
+	 * Returns the depth of given node.
+	 *
+	 * @param index
+	 *            The preorder index of the node.
+	 * @return The depth is returned, which is {@code 0} for immediate children
+	 *         of the {@link TemplateRoot}.
+	 */
+	public int getDepth(int index) {
+		return depths[index];
+	}
+
+	/**
+	 * Returns the exclusive end index of the subtree of given node.
+	 *
+	 * @param index
+	 *            The preorder index of the node.
+	 * @return The end index of the subtree is returned, it is
+	 *         {@code index + 1} for leaves.
+	 */
+	public int getSubtreeEnd(int index) {
+		return subtreeEnds[index];
+	}
+
+	/**
+	 * Returns the indices of the children of given node.
+	 *
+	 * @param index
+	 *            The preorder index of the node or {@code -1} for the
+	 *            immediate children of the {@link TemplateRoot}.
+	 * @return The indices of the children are returned in ascending order.
+	 */
+	public int[] getChildIndices(int index) {
+		int end = index < 0 ? templateComponents.length : subtreeEnds[index];
+		int[] childIndices = new int[end - index - 1];
+		int count = 0;
+		for (int child = index + 1; child < end; child = subtreeEnds[child]) {
+			childIndices[count++] = child;
+		}
+		return Arrays.copyOf(childIndices, count);
+	}
+
+	/**
+	 * Returns the {@link TemplateAttribute}s of given node.
+	 *
+	 * @param index
+	 *            The preorder index of the node.
+	 * @return The returned {@code List} is unmodifiable.
+	 */
+	public List<TemplateAttribute> getTemplateAttributes(int index) {
+		return templateAttributes.get(index);
+	}
+
+	/**
+	 * Returns the {@link TemplateSensor}s of given node.
+	 *
+	 * @param index
+	 *            The preorder index of the node.
+	 * @return The returned {@code List} is unmodifiable.
+	 */
+	public List<TemplateSensor> getTemplateSensors(int index) {
+		return templateSensors.get(index);
+	}
+
+	/**
+	 * Returns an {@code Iterator} over all {@link TemplateComponent}s in
+	 * preorder.
+	 *
+	 * @return The {@code Iterator} is returned.
+	 */
+	@Override
+	public Iterator<TemplateComponent> iterator() {
+		return new Iterator<TemplateComponent>() {
+
+			private int index;
+
+			@Override
+			public boolean hasNext() {
+				return index < templateComponents.length;
+			}
+
+			@Override
+			public TemplateComponent next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return templateComponents[index++];
+			}
+
+		};
+	}
+
+	/**
+	 * Returns a {@code Spliterator} over all {@link TemplateComponent}s in
+	 * preorder. It splits at sibling boundaries, so split off parts consist
+	 * of complete subtrees, except for the common ancestors of the remaining
+	 * part.
+	 *
+	 * @return The {@code Spliterator} is returned.
+	 */
+	@Override
+	public Spliterator<TemplateComponent> spliterator() {
+		return new SubtreeSpliterator(0, templateComponents.length);
+	}
+
+	/**
+	 * Returns a sequential {@code Stream} over all {@link TemplateComponent}s
+	 * in preorder.
+	 *
+	 * @return The {@code Stream} is returned.
+	 */
+	public Stream<TemplateComponent> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+
+	/**
+	 * Returns a possibly parallel {@code Stream} over all
+	 * {@link TemplateComponent}s.
+	 *
+	 * @return The {@code Stream} is returned.
+	 */
+	public Stream<TemplateComponent> parallelStream() {
+		return StreamSupport.stream(spliterator(), true);
+	}
+
+	// ======================================================================
+	// Private methods
+	// ======================================================================
+
+	/**
+	 * Pushes given {@link TemplateComponent}s in reverse order, so they are
+	 * popped in their original order.
+	 *
+	 * @param stack
+	 *            The traversal stack.
+	 * @param templateComponents
+	 *            The pushed {@code TemplateComponent}s.
+	 * @param parentIndex
+	 *            The index of their parent.
+	 */
+	private static void pushReversed(Deque<Object[]> stack, List<TemplateComponent> templateComponents,
+			int parentIndex) {
+		for (int i = templateComponents.size() - 1; i >= 0; i--) {
+			stack.push(new Object[] { templateComponents.get(i), parentIndex });
+		}
+	}
+
+	// ======================================================================
+	// Inner classes
+	// ======================================================================
+
+	/**
+	 * Traverses the index range {@code [index, fence)} and splits it at
+	 * sibling boundaries.
+	 */
+	private final class SubtreeSpliterator implements Spliterator<TemplateComponent> {
+
+		private int index;
+		private final int fence;
+
+		private SubtreeSpliterator(int index, int fence) {
+			this.index = index;
+			this.fence = fence;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super TemplateComponent> action) {
+			if (index < fence) {
+				action.accept(templateComponents[index++]);
+				return true;
+			}
+			return false;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super TemplateComponent> action) {
+			for (int i = index; i < fence; i++) {
+				action.accept(templateComponents[i]);
+			}
+			index = fence;
+		}
+
+		@Override
+		public Spliterator<TemplateComponent> trySplit() {
+			// descend while a single subtree spans the remaining range
+			int first = index;
+			while (first < fence && subtreeEnds[first] >= fence) {
+				first++;
+			}
+
+			// the sibling boundary closest to the middle
+			int middle = (index + fence) >>> 1;
+			int split = -1;
+			for (int sibling = first; sibling < fence; sibling = subtreeEnds[sibling]) {
+				if (sibling > index && (split < 0 || Math.abs(sibling - middle) < Math.abs(split - middle))) {
+					split = sibling;
+				}
+			}
+
+			if (split < 0) {
+				return null;
+			}
+
+			Spliterator<TemplateComponent> prefix = new SubtreeSpliterator(index, split);
+			index = split;
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize() {
+			return fence - index;
+		}
+
+		@Override
+		public int characteristics() {
+			return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+		}
+
+	}
+
+}
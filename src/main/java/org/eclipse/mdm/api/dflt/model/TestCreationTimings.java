@@ -0,0 +1,161 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+import java.time.Duration;
+
+import org.eclipse.mdm.api.base.model.ContextRoot;
+import org.eclipse.mdm.api.base.model.Test;
+import org.eclipse.mdm.api.base.model.TestStep;
+
+/**
+ * Timings of a bulk {@link Test} creation, split into the resolution of the
+ * template, the creation of the {@code Test}s and their {@link TestStep}s and
+ * the creation of the {@link ContextRoot}s.
+ *
+ * @since 5.1.0
+ * @see EntityFactory#createTests(java.util.List, Pool, Status, Status,
+ *      TemplateTest, java.util.function.Consumer)
+ */
+public final class TestCreationTimings {
+
+	// ======================================================================
+	// Instance variables
+	// ======================================================================
+
+	private final Duration templateResolution;
+	private final Duration testCreation;
+	private final Duration contextRootCreation;
+
+	private final int testCount;
+	private final int testStepCount;
+	private final int contextRootCount;
+
+	// ======================================================================
+	// Constructors
+	// ======================================================================
+
+	/**
+	 * Constructor.
+	 *
+	 * @param templateResolution
+	 *            Time spent to resolve the {@link TemplateTest} in
+	 *            nanoseconds.
+	 * @param testCreation
+	 *            Time spent to create the {@link Test}s and
+	 *            {@link TestStep}s in nanoseconds.
+	 * @param contextRootCreation
+	 *            Time spent to create the {@link ContextRoot}s in
+	 *            nanoseconds.
+	 * @param testCount
+	 *            Number of created {@code Test}s.
+	 * @param testStepCount
+	 *            Number of created {@code TestStep}s.
+	 * @param contextRootCount
+	 *            Number of created {@code ContextRoot}s.
+	 */
+	TestCreationTimings(long templateResolution, long testCreation, long contextRootCreation, int testCount,
+			int testStepCount, int contextRootCount) {
+		this.templateResolution = Duration.ofNanos(templateResolution);
+		this.testCreation = Duration.ofNanos(testCreation);
+		this.contextRootCreation = Duration.ofNanos(contextRootCreation);
+		this.testCount = testCount;
+		this.testStepCount = testStepCount;
+		this.contextRootCount = contextRootCount;
+	}
+
+	// ======================================================================
+	// Public methods
+	// ======================================================================
+
+	/**
+	 * Returns the time spent to resolve the implicitly created
+	 * {@link TemplateTestStep}s, their {@link TemplateRoot}s and the
+	 * instantiation plans of the valid {@code TemplateRoot}s.
+	 *
+	 * @return The template resolution time is returned.
+	 */
+	public Duration getTemplateResolution() {
+		return templateResolution;
+	}
+
+	/**
+	 * Returns the time spent to create the {@link Test}s and their
+	 * {@link TestStep}s.
+	 *
+	 * @return The test creation time is returned.
+	 */
+	public Duration getTestCreation() {
+		return testCreation;
+	}
+
+	/**
+	 * Returns the time spent to create the {@link ContextRoot}s of all
+	 * {@link TestStep}s.
+	 *
+	 * @return The context root creation time is returned.
+	 */
+	public Duration getContextRootCreation() {
+		return contextRootCreation;
+	}
+
+	/**
+	 * Returns the total time spent to create all {@link Test}s.
+	 *
+	 * @return The total time is returned.
+	 */
+	public Duration getTotal() {
+		return templateResolution.plus(testCreation).plus(contextRootCreation);
+	}
+
+	/**
+	 * Returns the number of created {@link Test}s.
+	 *
+	 * @return The number of created {@code Test}s is returned.
+	 */
+	public int getTestCount() {
+		return testCount;
+	}
+
+	/**
+	 * Returns the number of created {@link TestStep}s.
+	 *
+	 * @return The number of created {@code TestStep}s is returned.
+	 */
+	public int getTestStepCount() {
+		return testStepCount;
+	}
+
+	/**
+	 * Returns the number of created {@link ContextRoot}s.
+	 *
+	 * @return The number of created {@code ContextRoot}s is returned.
+	 */
+	public int getContextRootCount() {
+		return contextRootCount;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return new StringBuilder(getClass().getSimpleName()).append('(').append("TemplateResolution = ")
+				.append(templateResolution).append(", Tests = ").append(testCount).append(", TestSteps = ")
+				.append(testStepCount).append(" in ").append(testCreation).append(", ContextRoots = ")
+				.append(contextRootCount).append(" in ").append(contextRootCreation).append(')').toString();
+	}
+
+}
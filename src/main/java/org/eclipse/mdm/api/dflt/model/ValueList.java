@@ -14,8 +14,14 @@
 
 package org.eclipse.mdm.api.dflt.model;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.stream.Collectors;
 
 import org.eclipse.mdm.api.base.adapter.Core;
@@ -37,6 +43,16 @@ import org.eclipse.mdm.api.base.model.Value;
  */
 public class ValueList extends BaseEntity implements Datable, Describable, Deletable {
 
+	// ======================================================================
+	// Instance variables
+	// ======================================================================
+
+	private final NameIndex<ValueListValue> valueListValueIndex = new NameIndex<>(this::getValueListValues);
+
+	private volatile ConcurrentNavigableMap<String, ValueListValue[]> sortedValueListValues;
+
+	private Integer nextSortIndex;
+
 	// ======================================================================
 	// Constructors
 	// ======================================================================
@@ -64,7 +80,45 @@ public class ValueList extends BaseEntity implements Datable, Describable, Delet
 	 *         given name does not exist.
 	 */
 	public Optional<ValueListValue> getValueListValue(String name) {
-		return getValueListValues().stream().filter(vlv -> vlv.nameEquals(name)).findAny();
+		return valueListValueIndex.get(name);
+	}
+
+	/**
+	 * Returns the {@link ValueListValue}s whose names start with given prefix
+	 * in ascending order of their names. The {@code ValueListValue}s are
+	 * sorted by their names on first access and kept sorted while they are
+	 * added, removed or renamed, so a search takes logarithmic time in the
+	 * number of {@code ValueListValue}s. {@code ValueListValue}s without a
+	 * name, which is either null or empty, are never returned.
+	 *
+	 * @param prefix
+	 *            The case sensitive name prefix, an empty prefix matches all
+	 *            names.
+	 * @param limit
+	 *            The maximum number of returned {@code ValueListValue}s.
+	 * @return The returned {@code List} is unmodifiable and contains at most
+	 *         {@code limit} {@code ValueListValue}s.
+	 * @throws IllegalArgumentException
+	 *             Thrown if given limit is negative.
+	 * @since 5.1.0
+	 */
+	public List<ValueListValue> findByPrefix(String prefix, int limit) {
+		if (limit < 0) {
+			throw new IllegalArgumentException("Limit must not be negative.");
+		}
+
+		ConcurrentNavigableMap<String, ValueListValue[]> sorted = sortedValueListValues;
+		if (sorted == null) {
+			sorted = sortValueListValues(false);
+		}
+
+		List<ValueListValue> matches = find(sorted, prefix, limit);
+		if (matches.stream().anyMatch(vlv -> !startsWith(vlv, prefix))) {
+			// renamed without notice since the names were sorted
+			matches = find(sortValueListValues(true), prefix, limit);
+		}
+
+		return matches;
 	}
 
 	/**
@@ -90,6 +144,9 @@ public class ValueList extends BaseEntity implements Datable, Describable, Delet
 			return false;
 		}
 		getCore().getChildrenStore().remove(valueListValue.get());
+		valueListValueIndex.removed(valueListValue.get());
+		unsort(valueListValue.get(), name);
+		valueListValueRemoved(valueListValue.get());
 		return true;
 	}
 
@@ -108,6 +165,254 @@ public class ValueList extends BaseEntity implements Datable, Describable, Delet
 
 		return sb.append(')').toString();
 	}
-	
+
+	// ======================================================================
+	// Package methods
+	// ======================================================================
+
+	/**
+	 * Returns the sort index for the next {@link ValueListValue} of this
+	 * value list, which is the highest sort index of the existing
+	 * {@code ValueListValue}s plus one or {@code 1} if there are none. It is
+	 * determined once and then kept up to date while {@code ValueListValue}s
+	 * are added, re-sorted or removed.
+	 *
+	 * @return The next sort index is returned.
+	 */
+	synchronized int nextSortIndex() {
+		if (nextSortIndex == null) {
+			boolean found = false;
+			int max = 0;
+			for (ValueListValue valueListValue : getValueListValues()) {
+				Integer sortIndex = valueListValue.getSortIndex();
+				if (sortIndex != null && (!found || sortIndex.intValue() > max)) {
+					max = sortIndex.intValue();
+					found = true;
+				}
+			}
+			nextSortIndex = Integer.valueOf(found ? max + 1 : 1);
+		}
+
+		return nextSortIndex.intValue();
+	}
+
+	/**
+	 * Checks whether a {@link ValueListValue} with given name is indexed. A
+	 * miss is not verified by scanning the {@code ValueListValue}s, so
+	 * {@code ValueListValue}s renamed through their name {@link Value}
+	 * without notice may be missed.
+	 *
+	 * @param name
+	 *            The name of the {@code ValueListValue}, may be null.
+	 * @return Returns {@code true} if the name is in use.
+	 */
+	boolean isValueListValueIndexed(String name) {
+		return name != null && valueListValueIndex.getIndexed(name).isPresent();
+	}
+
+	/**
+	 * Adds given new {@link ValueListValue} to the name index and the sorted
+	 * names.
+	 *
+	 * @param valueListValue
+	 *            The added {@code ValueListValue}.
+	 */
+	void valueListValueAdded(ValueListValue valueListValue) {
+		valueListValueIndex.added(valueListValue);
+		sort(valueListValue);
+		valueListValueSortIndexChanged(valueListValue);
+	}
+
+	/**
+	 * Advances the next sort index beyond the sort index of given
+	 * {@link ValueListValue}. If the sort index was lowered, the next sort
+	 * index is determined again, since it might have been the highest one.
+	 *
+	 * @param valueListValue
+	 *            The {@code ValueListValue} whose sort index has changed.
+	 */
+	synchronized void valueListValueSortIndexChanged(ValueListValue valueListValue) {
+		if (nextSortIndex == null) {
+			return;
+		}
+
+		Integer sortIndex = valueListValue.getSortIndex();
+		if (sortIndex != null && sortIndex.intValue() >= nextSortIndex.intValue()) {
+			nextSortIndex = Integer.valueOf(sortIndex.intValue() + 1);
+		} else if (sortIndex == null || sortIndex.intValue() < nextSortIndex.intValue() - 1) {
+			nextSortIndex = null;
+		}
+	}
+
+	/**
+	 * Updates the name index for given renamed {@link ValueListValue}.
+	 *
+	 * @param valueListValue
+	 *            The renamed {@code ValueListValue}.
+	 * @param oldName
+	 *            The former name of the {@code ValueListValue}.
+	 */
+	void valueListValueRenamed(ValueListValue valueListValue, String oldName) {
+		valueListValueIndex.renamed(valueListValue, oldName);
+		unsort(valueListValue, oldName);
+		sort(valueListValue);
+	}
+
+	// ======================================================================
+	// Private methods
+	// ======================================================================
+
+	/**
+	 * Determines the next sort index again, if given removed
+	 * {@link ValueListValue} had the highest sort index.
+	 *
+	 * @param valueListValue
+	 *            The removed {@code ValueListValue}.
+	 */
+	private synchronized void valueListValueRemoved(ValueListValue valueListValue) {
+		Integer sortIndex = valueListValue.getSortIndex();
+		if (nextSortIndex != null && sortIndex != null && sortIndex.intValue() + 1 == nextSortIndex.intValue()) {
+			nextSortIndex = null;
+		}
+	}
+
+	/**
+	 * Sorts the {@link ValueListValue}s of this value list by their names
+	 * unless they are already sorted.
+	 *
+	 * @param force
+	 *            Sort them again, even if they are already sorted.
+	 * @return The {@code ValueListValue}s grouped by their names are returned.
+	 */
+	private synchronized ConcurrentNavigableMap<String, ValueListValue[]> sortValueListValues(boolean force) {
+		ConcurrentNavigableMap<String, ValueListValue[]> sorted = sortedValueListValues;
+		if (sorted == null || force) {
+			sorted = new ConcurrentSkipListMap<>();
+			for (ValueListValue valueListValue : getValueListValues()) {
+				add(sorted, valueListValue, valueListValue.getName());
+			}
+			sortedValueListValues = sorted;
+		}
+
+		return sorted;
+	}
+
+	/**
+	 * Inserts given {@link ValueListValue} with its current name into the
+	 * sorted names, if they are already sorted.
+	 *
+	 * @param valueListValue
+	 *            The inserted {@code ValueListValue}.
+	 */
+	private synchronized void sort(ValueListValue valueListValue) {
+		ConcurrentNavigableMap<String, ValueListValue[]> sorted = sortedValueListValues;
+		if (sorted != null) {
+			add(sorted, valueListValue, valueListValue.getName());
+		}
+	}
+
+	/**
+	 * Removes given {@link ValueListValue} with given name from the sorted
+	 * names, if they are already sorted.
+	 *
+	 * @param valueListValue
+	 *            The removed {@code ValueListValue}.
+	 * @param name
+	 *            The name the {@code ValueListValue} was sorted with, may be
+	 *            null.
+	 */
+	private synchronized void unsort(ValueListValue valueListValue, String name) {
+		ConcurrentNavigableMap<String, ValueListValue[]> sorted = sortedValueListValues;
+		if (sorted != null && name != null) {
+			sorted.computeIfPresent(name, (key, valueListValues) -> {
+				for (int i = 0; i < valueListValues.length; i++) {
+					if (valueListValues[i] == valueListValue) {
+						if (valueListValues.length == 1) {
+							return null;
+						}
+						ValueListValue[] remaining = new ValueListValue[valueListValues.length - 1];
+						System.arraycopy(valueListValues, 0, remaining, 0, i);
+						System.arraycopy(valueListValues, i + 1, remaining, i, remaining.length - i);
+						return remaining;
+					}
+				}
+				// not sorted with this name
+				return valueListValues;
+			});
+		}
+	}
+
+	/**
+	 * Adds given {@link ValueListValue} to given sorted names. Adding it
+	 * twice with the same name has no effect.
+	 *
+	 * @param sorted
+	 *            The {@code ValueListValue}s grouped by their names.
+	 * @param valueListValue
+	 *            The added {@code ValueListValue}.
+	 * @param name
+	 *            The name of the {@code ValueListValue}, null or empty names
+	 *            are not sorted.
+	 */
+	private static void add(Map<String, ValueListValue[]> sorted, ValueListValue valueListValue, String name) {
+		if (name == null || name.isEmpty()) {
+			return;
+		}
+
+		sorted.merge(name, new ValueListValue[] { valueListValue }, (valueListValues, added) -> {
+			for (ValueListValue current : valueListValues) {
+				if (current == valueListValue) {
+					return valueListValues;
+				}
+			}
+			ValueListValue[] merged = Arrays.copyOf(valueListValues, valueListValues.length + 1);
+			merged[valueListValues.length] = valueListValue;
+			return merged;
+		});
+	}
+
+	/**
+	 * Collects the {@link ValueListValue}s whose names start with given
+	 * prefix from given sorted names.
+	 *
+	 * @param sorted
+	 *            The {@code ValueListValue}s grouped by their names.
+	 * @param prefix
+	 *            The name prefix.
+	 * @param limit
+	 *            The maximum number of collected {@code ValueListValue}s.
+	 * @return The returned {@code List} is unmodifiable.
+	 */
+	private static List<ValueListValue> find(ConcurrentNavigableMap<String, ValueListValue[]> sorted, String prefix,
+			int limit) {
+		List<ValueListValue> matches = new ArrayList<>(Math.min(limit, 16));
+		for (Map.Entry<String, ValueListValue[]> entry : sorted.tailMap(prefix).entrySet()) {
+			if (!entry.getKey().startsWith(prefix)) {
+				break;
+			}
+			for (ValueListValue valueListValue : entry.getValue()) {
+				if (matches.size() == limit) {
+					return Collections.unmodifiableList(matches);
+				}
+				matches.add(valueListValue);
+			}
+		}
+		return Collections.unmodifiableList(matches);
+	}
+
+	/**
+	 * Checks whether the current name of given {@link ValueListValue} starts
+	 * with given prefix.
+	 *
+	 * @param valueListValue
+	 *            The checked {@code ValueListValue}.
+	 * @param prefix
+	 *            The name prefix.
+	 * @return Returns {@code true} if the name starts with given prefix.
+	 */
+	private static boolean startsWith(ValueListValue valueListValue, String prefix) {
+		String name = valueListValue.getName();
+		return name != null && !name.isEmpty() && name.startsWith(prefix);
+	}
 
 }
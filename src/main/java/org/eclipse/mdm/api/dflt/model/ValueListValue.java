@@ -68,8 +68,27 @@ public class ValueListValue extends BaseEntity implements Deletable, Describable
 	 */
 	@Override
 	public void setName(String name) {
+		String oldName = getName();
 		getValue(ATTR_VALUE).set(name);
 		super.setName(name);
+
+		ValueList valueList = getValueList();
+		if (valueList != null) {
+			valueList.valueListValueRenamed(this, oldName);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setSortIndex(Integer sortIndex) {
+		Sortable.super.setSortIndex(sortIndex);
+
+		ValueList valueList = getValueList();
+		if (valueList != null) {
+			valueList.valueListValueSortIndexChanged(this);
+		}
 	}
 
 	/**
@@ -0,0 +1,76 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+/**
+ * Memorizes the version of a single {@link Versionable} as primitive number.
+ * The number is bound to the identity of the stored version {@code String},
+ * so it is parsed again once a new version is stored, no matter whether it is
+ * set with {@link Versionable#setVersion(Integer)} or directly through the
+ * version {@link org.eclipse.mdm.api.base.model.Value}.
+ *
+ * @since 5.1.0
+ * @see Versionable#getVersionNumber()
+ */
+final class VersionNumber {
+
+	// ======================================================================
+	// Instance variables
+	// ======================================================================
+
+	private volatile Parsed parsed;
+
+	// ======================================================================
+	// Package methods
+	// ======================================================================
+
+	/**
+	 * Returns the version of given {@link Versionable} as primitive number.
+	 *
+	 * @param versionable
+	 *            The {@code Versionable} owning this instance.
+	 * @return The version is returned.
+	 */
+	int get(Versionable versionable) {
+		String source = versionable.getValue(Versionable.ATTR_VERSION).extract();
+		Parsed current = parsed;
+		if (current == null || current.source != source) {
+			current = new Parsed(source, Integer.parseInt(source));
+			parsed = current;
+		}
+
+		return current.number;
+	}
+
+	// ======================================================================
+	// Inner classes
+	// ======================================================================
+
+	/**
+	 * A version number and the {@code String} it was parsed from.
+	 */
+	private static final class Parsed {
+
+		private final String source;
+		private final int number;
+
+		private Parsed(String source, int number) {
+			this.source = source;
+			this.number = number;
+		}
+
+	}
+
+}
@@ -14,7 +14,11 @@
 
 package org.eclipse.mdm.api.dflt.model;
 
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
 
 import org.eclipse.mdm.api.base.model.Datable;
 import org.eclipse.mdm.api.base.model.VersionState;
@@ -39,6 +43,17 @@ public interface Versionable extends Datable {
 	Comparator<Versionable> COMPARATOR = Comparator.comparing(Versionable::getName)
 			.thenComparing(Comparator.comparing(Versionable::getVersion).reversed());
 
+	/**
+	 * This {@code Comparator} compares {@link Versionable}s by their name (in
+	 * ascending order) and version (in descending order) like
+	 * {@link #COMPARATOR}, but compares their primitive
+	 * {@link #getVersionNumber()}s instead of boxed {@link #getVersion()}s.
+	 *
+	 * @since 5.1.0
+	 */
+	Comparator<Versionable> VERSION_NUMBER_COMPARATOR = Comparator.comparing(Versionable::getName)
+			.thenComparing(Comparator.comparingInt(Versionable::getVersionNumber).reversed());
+
 	/**
 	 * The 'Version' attribute name.
 	 */
@@ -53,13 +68,101 @@ public interface Versionable extends Datable {
 	// Public methods
 	// ======================================================================
 
+	/**
+	 * Selects the valid {@link Versionable} with given name and the highest
+	 * version from given candidates in a single pass. Each version is read
+	 * only once, instead of once per comparison.
+	 *
+	 * @param <T>
+	 *            The versionable type.
+	 * @param candidates
+	 *            The candidates, may contain entities with other names.
+	 * @param name
+	 *            The exact name of the requested entity.
+	 * @return Optional is empty if no valid candidate with given name exists.
+	 */
+	static <T extends Versionable> Optional<T> latestValid(Collection<T> candidates, String name) {
+		T latest = null;
+		int latestVersion = Integer.MIN_VALUE;
+		for (T candidate : candidates) {
+			if (!candidate.nameEquals(name) || !candidate.isValid()) {
+				continue;
+			}
+
+			int version = candidate.getVersionNumber();
+			if (latest == null || version > latestVersion) {
+				latest = candidate;
+				latestVersion = version;
+			}
+		}
+
+		return Optional.ofNullable(latest);
+	}
+
+	/**
+	 * Selects the valid {@link Versionable} with the highest version for each
+	 * of given names from given candidates in a single pass. The candidates
+	 * are grouped by the position of their name while they are visited, so
+	 * neither the candidates nor their versions are collected or boxed per
+	 * name.
+	 *
+	 * @param <T>
+	 *            The versionable type.
+	 * @param candidates
+	 *            The candidates, may contain entities with other names.
+	 * @param names
+	 *            The exact names of the requested entities.
+	 * @return The selected entities mapped by their names are returned in
+	 *         the order of given names, names without a valid candidate are
+	 *         omitted.
+	 */
+	static <T extends Versionable> Map<String, T> latestValid(Collection<T> candidates, Collection<String> names) {
+		NamePositions positions = new NamePositions(names);
+		Object[] latest = new Object[positions.size()];
+		int[] latestVersions = new int[positions.size()];
+		for (T candidate : candidates) {
+			int index = positions.indexOf(candidate.getName());
+			if (index < 0 || !candidate.isValid()) {
+				continue;
+			}
+
+			int version = candidate.getVersionNumber();
+			if (latest[index] == null || version > latestVersions[index]) {
+				latest[index] = candidate;
+				latestVersions[index] = version;
+			}
+		}
+
+		Map<String, T> latestValid = new LinkedHashMap<>();
+		for (int i = 0; i < positions.size(); i++) {
+			@SuppressWarnings("unchecked")
+			T versionable = (T) latest[i];
+			if (versionable != null) {
+				latestValid.put(positions.get(i), versionable);
+			}
+		}
+		return latestValid;
+	}
+
 	/**
 	 * Returns the version of this entity.
 	 *
 	 * @return The version is returned.
 	 */
 	default Integer getVersion() {
-		return Integer.valueOf(getValue(ATTR_VERSION).extract());
+		return Integer.valueOf(getVersionNumber());
+	}
+
+	/**
+	 * Returns the version of this entity as a primitive number. Implementing
+	 * entities may memorize the parsed version as long as the stored version
+	 * is not replaced.
+	 *
+	 * @return The version is returned.
+	 * @since 5.1.0
+	 */
+	default int getVersionNumber() {
+		return Integer.parseInt(getValue(ATTR_VERSION).extract());
 	}
 
 	/**
@@ -0,0 +1,63 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.eclipse.mdm.api.base.model.ContextType;
+import org.eclipse.mdm.api.base.query.DataAccessException;
+import org.eclipse.mdm.api.dflt.model.CatalogComponent;
+import org.junit.Test;
+
+public class AsyncEntityManagerTest {
+
+	@Test
+	public void loadAllAsyncCompletesWithResult() throws Exception {
+		EntityManager entityManager = mock(EntityManager.class);
+		CatalogComponent catalogComponent = mock(CatalogComponent.class);
+		when(entityManager.loadAll(CatalogComponent.class, ContextType.UNITUNDERTEST))
+				.thenReturn(Collections.singletonList(catalogComponent));
+
+		try (AsyncEntityManager asyncEntityManager = new AsyncEntityManager(entityManager)) {
+			CompletableFuture<List<CatalogComponent>> future = asyncEntityManager
+					.loadAllAsync(CatalogComponent.class, ContextType.UNITUNDERTEST);
+			assertThat(future.get()).containsExactly(catalogComponent);
+		}
+	}
+
+	@Test
+	public void failuresCompleteExceptionally() {
+		EntityManager entityManager = mock(EntityManager.class);
+		when(entityManager.loadAll(CatalogComponent.class, ContextType.UNITUNDERTEST, "*"))
+				.thenThrow(new DataAccessException("failed"));
+
+		AsyncEntityManager asyncEntityManager = new AsyncEntityManager(entityManager, Runnable::run);
+		CompletableFuture<List<CatalogComponent>> future = asyncEntityManager.loadAllAsync(CatalogComponent.class,
+				ContextType.UNITUNDERTEST, "*");
+
+		assertThat(future).isCompletedExceptionally();
+		assertThatThrownBy(future::get).isInstanceOf(ExecutionException.class)
+				.hasCauseInstanceOf(DataAccessException.class);
+	}
+
+}
@@ -0,0 +1,338 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.mdm.api.base.model.ContextType;
+import org.eclipse.mdm.api.base.model.Entity;
+import org.eclipse.mdm.api.dflt.model.CatalogComponent;
+import org.eclipse.mdm.api.dflt.model.TemplateAttribute;
+import org.eclipse.mdm.api.dflt.model.TemplateRoot;
+import org.eclipse.mdm.api.dflt.model.ValueList;
+import org.junit.Test;
+
+public class CachingEntityManagerTest {
+
+	@Test
+	public void loadAllIsServedFromCache() {
+		EntityManager delegate = mock(EntityManager.class);
+		TemplateRoot templateRoot = mock(TemplateRoot.class);
+		when(delegate.loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST, "*"))
+				.thenReturn(Collections.singletonList(templateRoot));
+
+		CachingEntityManager cache = new CachingEntityManager(delegate);
+
+		List<TemplateRoot> first = cache.loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST);
+		List<TemplateRoot> second = cache.loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST, "*");
+
+		assertThat(first).containsExactly(templateRoot);
+		assertThat(second).isEqualTo(first).isNotSameAs(first);
+		verify(delegate, times(1)).loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST, "*");
+
+		CacheStatistics statistics = cache.getStatistics(TemplateRoot.class);
+		assertThat(statistics.getHitCount()).isEqualTo(1);
+		assertThat(statistics.getMissCount()).isEqualTo(1);
+		assertThat(statistics.getSize()).isEqualTo(1);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void cachedListsAreUnmodifiable() {
+		EntityManager delegate = mock(EntityManager.class);
+		when(delegate.loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST, "*"))
+				.thenReturn(Collections.singletonList(mock(TemplateRoot.class)));
+
+		CachingEntityManager cache = new CachingEntityManager(delegate);
+		cache.loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST);
+		cache.loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST).clear();
+	}
+
+	@Test
+	public void valueListsAreNotCachedByDefault() {
+		assertThat(CachingEntityManager.defaultPolicies()).doesNotContainKey(ValueList.class);
+	}
+
+	@Test
+	public void contextTypeIsPartOfTheKey() {
+		EntityManager delegate = mock(EntityManager.class);
+		CachingEntityManager cache = new CachingEntityManager(delegate);
+
+		cache.loadAll(CatalogComponent.class, ContextType.UNITUNDERTEST);
+		cache.loadAll(CatalogComponent.class, ContextType.TESTSEQUENCE);
+		cache.loadAll(CatalogComponent.class, ContextType.UNITUNDERTEST);
+
+		verify(delegate, times(1)).loadAll(CatalogComponent.class, ContextType.UNITUNDERTEST, "*");
+		verify(delegate, times(1)).loadAll(CatalogComponent.class, ContextType.TESTSEQUENCE, "*");
+	}
+
+	@Test
+	public void uncachedEntityClassesArePassedThrough() {
+		EntityManager delegate = mock(EntityManager.class);
+		CachingEntityManager cache = new CachingEntityManager(delegate);
+
+		cache.loadAll(TemplateAttribute.class, "*");
+		cache.loadAll(TemplateAttribute.class, "*");
+
+		verify(delegate, times(2)).loadAll(TemplateAttribute.class, "*");
+		assertThat(cache.getStatistics(TemplateAttribute.class)).isSameAs(CacheStatistics.EMPTY);
+	}
+
+	@Test
+	public void uncachedMethodsArePassedThrough() {
+		EntityManager delegate = mock(EntityManager.class);
+		TemplateRoot templateRoot = mock(TemplateRoot.class);
+		when(delegate.load(TemplateRoot.class, ContextType.UNITUNDERTEST, "1")).thenReturn(templateRoot);
+
+		CachingEntityManager cache = new CachingEntityManager(delegate);
+
+		assertThat(cache.load(TemplateRoot.class, ContextType.UNITUNDERTEST, "1")).isSameAs(templateRoot);
+		assertThat(cache.load(TemplateRoot.class, ContextType.UNITUNDERTEST, "1")).isSameAs(templateRoot);
+		verify(delegate, times(2)).load(TemplateRoot.class, ContextType.UNITUNDERTEST, "1");
+		assertThat(cache.getStatistics(TemplateRoot.class).getMissCount()).isZero();
+	}
+
+	@Test
+	public void leastRecentlyUsedResultIsEvicted() {
+		EntityManager delegate = mock(EntityManager.class);
+		CachingEntityManager cache = new CachingEntityManager(delegate, policy(CachePolicy.lru(2)));
+
+		cache.loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST, "A");
+		cache.loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST, "B");
+		cache.loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST, "A");
+		cache.loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST, "C");
+		cache.loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST, "A");
+		cache.loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST, "B");
+
+		verify(delegate, times(1)).loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST, "A");
+		verify(delegate, times(2)).loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST, "B");
+		assertThat(cache.getStatistics().getEvictionCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void leastFrequentlyUsedResultIsEvicted() {
+		EntityManager delegate = mock(EntityManager.class);
+		CachingEntityManager cache = new CachingEntityManager(delegate, policy(CachePolicy.lfu(2)));
+
+		cache.loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST, "A");
+		cache.loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST, "A");
+		cache.loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST, "B");
+		cache.loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST, "C");
+		cache.loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST, "A");
+
+		verify(delegate, times(1)).loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST, "A");
+		assertThat(cache.getStatistics(TemplateRoot.class).getSize()).isEqualTo(2);
+	}
+
+	@Test
+	public void leastFrequentlyUsedResultIsEvictedByAge() {
+		EntityManager delegate = mock(EntityManager.class);
+		CachingEntityManager cache = new CachingEntityManager(delegate, policy(CachePolicy.lfu(3)));
+
+		// A and C are used equally often when D is stored, A is used first
+		for (String name : Arrays.asList("A", "B", "C", "A", "B", "C", "B", "D", "C", "E", "B", "C", "E")) {
+			cache.loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST, name);
+		}
+
+		for (String name : Arrays.asList("A", "B", "C", "D", "E")) {
+			verify(delegate, times(1)).loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST, name);
+		}
+		assertThat(cache.getStatistics().getEvictionCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void expiredResultIsEvictedFirst() {
+		EntityManager delegate = mock(EntityManager.class);
+		AtomicLong clock = new AtomicLong();
+		CachingEntityManager cache = new CachingEntityManager(delegate,
+				policy(CachePolicy.lru(2, Duration.ofNanos(100))), clock::get);
+
+		cache.loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST, "A");
+		clock.set(50);
+		cache.loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST, "B");
+		cache.loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST, "A");
+		clock.set(100);
+		cache.loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST, "C");
+		cache.loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST, "B");
+
+		verify(delegate, times(1)).loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST, "B");
+		assertThat(cache.getStatistics().getEvictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void expiredResultIsReloaded() {
+		EntityManager delegate = mock(EntityManager.class);
+		AtomicLong clock = new AtomicLong();
+		CachingEntityManager cache = new CachingEntityManager(delegate,
+				policy(CachePolicy.lru(10, Duration.ofNanos(100))), clock::get);
+
+		cache.loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST);
+		clock.set(99);
+		cache.loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST);
+		clock.set(100);
+		cache.loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST);
+
+		verify(delegate, times(2)).loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST, "*");
+		assertThat(cache.getStatistics().getEvictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void invalidateDiscardsCachedResults() {
+		EntityManager delegate = mock(EntityManager.class);
+		CachingEntityManager cache = new CachingEntityManager(delegate);
+
+		cache.loadLatestValid(TemplateRoot.class, ContextType.UNITUNDERTEST, "Root");
+		cache.invalidate(TemplateRoot.class);
+		cache.loadLatestValid(TemplateRoot.class, ContextType.UNITUNDERTEST, "Root");
+
+		verify(delegate, times(2)).loadLatestValid(TemplateRoot.class, ContextType.UNITUNDERTEST, "Root");
+		assertThat(cache.getStatistics(TemplateRoot.class).getHitCount()).isZero();
+	}
+
+	@Test
+	public void newerValidVersionIsLoadedAfterTimeToLive() {
+		EntityManager delegate = mock(EntityManager.class);
+		TemplateRoot templateRoot = templateRoot("Root", 1);
+		TemplateRoot newer = templateRoot("Root", 2);
+		when(delegate.loadLatestValid(TemplateRoot.class, ContextType.UNITUNDERTEST, "Root"))
+				.thenReturn(Optional.of(templateRoot));
+
+		AtomicLong clock = new AtomicLong();
+		CachingEntityManager cache = new CachingEntityManager(delegate,
+				policy(CachePolicy.lru(4, Duration.ofNanos(100))), clock::get);
+
+		assertThat(cache.loadLatestValid(TemplateRoot.class, ContextType.UNITUNDERTEST, "Root"))
+				.containsSame(templateRoot);
+
+		// a newer version is published by someone else
+		when(delegate.loadLatestValid(TemplateRoot.class, ContextType.UNITUNDERTEST, "Root"))
+				.thenReturn(Optional.of(newer));
+		clock.set(99);
+		assertThat(cache.loadLatestValid(TemplateRoot.class, ContextType.UNITUNDERTEST, "Root"))
+				.containsSame(templateRoot);
+
+		clock.set(100);
+		assertThat(cache.loadLatestValid(TemplateRoot.class, ContextType.UNITUNDERTEST, "Root"))
+				.containsSame(newer);
+		verify(delegate, times(2)).loadLatestValid(TemplateRoot.class, ContextType.UNITUNDERTEST, "Root");
+		assertThat(cache.getStatistics().getPinnedCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void reloadedValidVersionIsResolvedThroughPinnedInstance() {
+		EntityManager delegate = mock(EntityManager.class);
+		TemplateRoot templateRoot = templateRoot("Root", 1);
+		TemplateRoot reloaded = templateRoot("Root", 1);
+		when(delegate.loadLatestValid(TemplateRoot.class, ContextType.UNITUNDERTEST, "Root"))
+				.thenReturn(Optional.of(templateRoot), Optional.of(reloaded));
+
+		AtomicLong clock = new AtomicLong();
+		CachingEntityManager cache = new CachingEntityManager(delegate,
+				policy(CachePolicy.lru(4, Duration.ofNanos(100))), clock::get);
+
+		cache.loadLatestValid(TemplateRoot.class, ContextType.UNITUNDERTEST, "Root");
+		clock.set(100);
+		assertThat(cache.loadLatestValid(TemplateRoot.class, ContextType.UNITUNDERTEST, "Root"))
+				.containsSame(templateRoot);
+		assertThat(cache.loadLatestValid(TemplateRoot.class, ContextType.UNITUNDERTEST, Arrays.asList("Root")))
+				.containsEntry("Root", templateRoot);
+
+		verify(delegate, times(2)).loadLatestValid(TemplateRoot.class, ContextType.UNITUNDERTEST, "Root");
+		assertThat(cache.getStatistics().getPinnedCount()).isEqualTo(1);
+		assertThat(cache.getStatistics().getSize()).isEqualTo(1);
+	}
+
+	@Test
+	public void missingLatestValidVersionExpires() {
+		EntityManager delegate = mock(EntityManager.class);
+		when(delegate.loadLatestValid(TemplateRoot.class, ContextType.UNITUNDERTEST, "Root"))
+				.thenReturn(Optional.empty());
+
+		AtomicLong clock = new AtomicLong();
+		CachingEntityManager cache = new CachingEntityManager(delegate,
+				policy(CachePolicy.lru(4, Duration.ofNanos(100))), clock::get);
+
+		cache.loadLatestValid(TemplateRoot.class, ContextType.UNITUNDERTEST, "Root");
+		clock.set(100);
+		cache.loadLatestValid(TemplateRoot.class, ContextType.UNITUNDERTEST, "Root");
+
+		verify(delegate, times(2)).loadLatestValid(TemplateRoot.class, ContextType.UNITUNDERTEST, "Root");
+		assertThat(cache.getStatistics().getPinnedCount()).isZero();
+	}
+
+	@Test
+	public void archivedLatestValidVersionIsReloaded() {
+		EntityManager delegate = mock(EntityManager.class);
+		TemplateRoot templateRoot = templateRoot("Root", 1);
+		when(delegate.loadLatestValid(TemplateRoot.class, ContextType.UNITUNDERTEST, "Root"))
+				.thenReturn(Optional.of(templateRoot));
+
+		CachingEntityManager cache = new CachingEntityManager(delegate, policy(CachePolicy.lru(4)));
+
+		cache.loadLatestValid(TemplateRoot.class, ContextType.UNITUNDERTEST, "Root");
+		cache.loadLatestValid(TemplateRoot.class, ContextType.UNITUNDERTEST, "Root");
+		verify(delegate, times(1)).loadLatestValid(TemplateRoot.class, ContextType.UNITUNDERTEST, "Root");
+
+		when(templateRoot.isValid()).thenReturn(false);
+		cache.loadLatestValid(TemplateRoot.class, ContextType.UNITUNDERTEST, "Root");
+		verify(delegate, times(2)).loadLatestValid(TemplateRoot.class, ContextType.UNITUNDERTEST, "Root");
+		assertThat(cache.getStatistics().getPinnedCount()).isZero();
+	}
+
+	@Test
+	public void pinnedVersionsAreLimited() {
+		EntityManager delegate = mock(EntityManager.class);
+		for (String name : Arrays.asList("First", "Second", "Third")) {
+			TemplateRoot templateRoot = templateRoot(name, 1);
+			when(delegate.loadLatestValid(TemplateRoot.class, ContextType.UNITUNDERTEST, name))
+					.thenReturn(Optional.of(templateRoot));
+		}
+
+		CachingEntityManager cache = new CachingEntityManager(delegate, policy(CachePolicy.lru(2)));
+
+		cache.loadLatestValid(TemplateRoot.class, ContextType.UNITUNDERTEST, "First");
+		cache.loadLatestValid(TemplateRoot.class, ContextType.UNITUNDERTEST, "Second");
+		cache.loadLatestValid(TemplateRoot.class, ContextType.UNITUNDERTEST, "Third");
+
+		assertThat(cache.getStatistics().getPinnedCount()).isEqualTo(2);
+	}
+
+	private static TemplateRoot templateRoot(String name, int version) {
+		TemplateRoot templateRoot = mock(TemplateRoot.class);
+		when(templateRoot.getName()).thenReturn(name);
+		when(templateRoot.getVersion()).thenReturn(version);
+		when(templateRoot.isValid()).thenReturn(true);
+		return templateRoot;
+	}
+
+	private static Map<Class<? extends Entity>, CachePolicy> policy(CachePolicy policy) {
+		Map<Class<? extends Entity>, CachePolicy> policies = new HashMap<>();
+		policies.put(TemplateRoot.class, policy);
+		return policies;
+	}
+
+}
@@ -0,0 +1,105 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.mdm.api.base.model.ContextType;
+import org.eclipse.mdm.api.dflt.model.TemplateRoot;
+import org.junit.Test;
+
+public class NamePatternsTest {
+
+	@Test
+	public void namesWithCommonPrefixShareOnePattern() {
+		List<String> ungrouped = new ArrayList<>();
+		assertThat(NamePatterns.of(Arrays.asList("Step10", "Step11", "Step2"), ungrouped)).containsExactly("Step*");
+		assertThat(ungrouped).isEmpty();
+	}
+
+	@Test
+	public void namesWithoutCommonPrefixAreNotMatchedByWildcard() {
+		List<String> ungrouped = new ArrayList<>();
+		assertThat(NamePatterns.of(Arrays.asList("Alpha", "Beta", "Gamma1", "Gamma2"), ungrouped))
+				.containsExactly("Gamma*");
+		assertThat(ungrouped).containsExactly("Alpha", "Beta");
+	}
+
+	@Test
+	public void shortNamesAreMatchedExactly() {
+		List<String> ungrouped = new ArrayList<>();
+		assertThat(NamePatterns.of(Arrays.asList("A", "A", "AB", "ABCD", "ABCE"), ungrouped)).containsExactly("ABC*");
+		assertThat(ungrouped).containsExactly("A", "AB");
+	}
+
+	@Test
+	public void singleNameIsMatchedExactly() {
+		List<String> ungrouped = new ArrayList<>();
+		assertThat(NamePatterns.of(Collections.singletonList("Root"), ungrouped)).isEmpty();
+		assertThat(ungrouped).containsExactly("Root");
+	}
+
+	@Test
+	public void defaultLoadLatestValidLoadsUngroupedNamesTogether() {
+		EntityManager entityManager = mock(EntityManager.class, CALLS_REAL_METHODS);
+		TemplateRoot alpha = templateRoot("Alpha");
+		TemplateRoot beta = templateRoot("Beta");
+		TemplateRoot gamma = templateRoot("Gamma1");
+		doReturn(Arrays.asList(alpha, beta)).when(entityManager).loadAllByNames(TemplateRoot.class,
+				ContextType.UNITUNDERTEST, Arrays.asList("Alpha", "Beta"));
+		doReturn(Collections.singletonList(gamma)).when(entityManager).loadAll(TemplateRoot.class,
+				ContextType.UNITUNDERTEST, "Gamma*");
+
+		assertThat(entityManager.loadLatestValid(TemplateRoot.class, ContextType.UNITUNDERTEST,
+				Arrays.asList("Alpha", "Beta", "Gamma1", "Gamma2"))).containsKeys("Alpha", "Beta", "Gamma1")
+						.hasSize(3);
+
+		verify(entityManager, never()).loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST, "Alpha");
+		verify(entityManager, never()).loadAll(TemplateRoot.class, ContextType.UNITUNDERTEST, "Beta");
+	}
+
+	@Test
+	public void defaultLoadAllByNamesLoadsEachName() {
+		EntityManager entityManager = mock(EntityManager.class, CALLS_REAL_METHODS);
+		TemplateRoot alpha = templateRoot("Alpha");
+		doReturn(Collections.emptyList()).when(entityManager).loadAll(eq(TemplateRoot.class), anyString());
+		doReturn(Collections.singletonList(alpha)).when(entityManager).loadAll(TemplateRoot.class, "Alpha");
+
+		assertThat(entityManager.loadAllByNames(TemplateRoot.class, null, Arrays.asList("Alpha", "Beta")))
+				.containsExactly(alpha);
+		verify(entityManager).loadAll(TemplateRoot.class, "Beta");
+	}
+
+	private static TemplateRoot templateRoot(String name) {
+		TemplateRoot templateRoot = mock(TemplateRoot.class);
+		when(templateRoot.getName()).thenReturn(name);
+		when(templateRoot.isValid()).thenReturn(true);
+		return templateRoot;
+	}
+
+}
@@ -0,0 +1,124 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.eclipse.mdm.api.base.model.ContextType;
+import org.eclipse.mdm.api.base.model.Entity;
+import org.junit.Test;
+
+public class PagedStreamTest {
+
+	@Test
+	public void pagesAreFetchedWhileConsumed() {
+		List<Integer> offsets = new ArrayList<>();
+		try (Stream<Integer> stream = PagedStream.of((offset, limit) -> {
+			offsets.add(offset);
+			return range(offset, Math.min(offset + limit, 5));
+		}, 2)) {
+			assertThat(stream.collect(Collectors.toList())).containsExactly(0, 1, 2, 3, 4);
+		}
+
+		assertThat(offsets).containsExactly(0, 2, 4);
+	}
+
+	@Test
+	public void pagesAreFetchedLazily() {
+		List<Integer> offsets = new ArrayList<>();
+		try (Stream<Integer> stream = PagedStream.of((offset, limit) -> {
+			offsets.add(offset);
+			return range(offset, offset + limit);
+		}, 2)) {
+			Stream<Integer> mapped = stream.map(i -> i * 2);
+			assertThat(offsets).isEmpty();
+
+			assertThat(mapped.findFirst()).contains(0);
+			assertThat(offsets).containsExactly(0);
+		}
+	}
+
+	@Test
+	public void closedStreamStopsFetching() {
+		List<Integer> offsets = new ArrayList<>();
+		AtomicBoolean released = new AtomicBoolean();
+		Stream<Integer> stream = PagedStream.of((offset, limit) -> {
+			offsets.add(offset);
+			return range(offset, offset + limit);
+		}, 3, () -> released.set(true));
+
+		Iterator<Integer> iterator = stream.iterator();
+		assertThat(iterator.next()).isEqualTo(0);
+		stream.close();
+
+		assertThat(released.get()).isTrue();
+		assertThat(offsets).containsExactly(0);
+
+		// neither the remaining elements of the page nor further pages
+		assertThat(iterator.hasNext()).isFalse();
+		assertThat(offsets).containsExactly(0);
+	}
+
+	@Test
+	public void defaultStreamAllPagesThroughLoadedEntities() {
+		EntityManager entityManager = mock(EntityManager.class, CALLS_REAL_METHODS);
+		List<Entity> entities = Arrays.asList(mock(Entity.class), mock(Entity.class), mock(Entity.class));
+		doReturn(entities).when(entityManager).loadAll(Entity.class, ContextType.UNITUNDERTEST, "*");
+
+		try (Stream<Entity> stream = entityManager.streamAll(Entity.class, ContextType.UNITUNDERTEST, "*")) {
+			verify(entityManager, never()).loadAll(Entity.class, ContextType.UNITUNDERTEST, "*");
+			assertThat(stream.collect(Collectors.toList())).containsExactlyElementsOf(entities);
+		}
+
+		verify(entityManager, times(1)).loadAll(Entity.class, ContextType.UNITUNDERTEST, "*");
+	}
+
+	@Test
+	public void defaultStreamAllLoadsPagesOfPageableTypes() {
+		EntityManager entityManager = mock(EntityManager.class, CALLS_REAL_METHODS);
+		List<Entity> entities = Arrays.asList(mock(Entity.class), mock(Entity.class), mock(Entity.class));
+		doReturn(true).when(entityManager).isPageable(Entity.class);
+		doReturn(entities.subList(0, 2)).when(entityManager).loadPage(Entity.class, ContextType.UNITUNDERTEST, "*",
+				0, 2);
+		doReturn(entities.subList(2, 3)).when(entityManager).loadPage(Entity.class, ContextType.UNITUNDERTEST, "*",
+				2, 2);
+
+		try (Stream<Entity> stream = entityManager.streamAll(Entity.class, ContextType.UNITUNDERTEST, "*", 2)) {
+			assertThat(stream.collect(Collectors.toList())).containsExactlyElementsOf(entities);
+		}
+
+		verify(entityManager, never()).loadAll(Entity.class, ContextType.UNITUNDERTEST, "*");
+	}
+
+	private static List<Integer> range(int from, int to) {
+		return IntStream.range(from, to).boxed().collect(Collectors.toList());
+	}
+
+}
@@ -0,0 +1,93 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.eclipse.mdm.api.base.model.ContextType;
+import org.eclipse.mdm.api.base.model.EnumRegistry;
+import org.eclipse.mdm.api.base.model.Enumeration;
+import org.eclipse.mdm.api.base.model.ScalarType;
+import org.eclipse.mdm.api.base.model.ValueType;
+import org.junit.Test;
+
+public class CatalogAttributeTest {
+
+	@Test
+	public void valueTypeFollowsChanges() {
+		EntityFactory entityFactory = TestCores.entityFactory();
+		CatalogComponent catalogComponent = entityFactory.createCatalogComponent(ContextType.UNITUNDERTEST, "cc");
+		CatalogAttribute catalogAttribute = entityFactory.createCatalogAttribute("a", ValueType.STRING,
+				catalogComponent);
+		assertThat(catalogAttribute.getValueType()).isEqualTo(ValueType.STRING);
+
+		catalogAttribute.setValueType(ValueType.INTEGER_SEQUENCE);
+		assertThat(catalogAttribute.getValueType()).isEqualTo(ValueType.INTEGER_SEQUENCE);
+
+		Enumeration<?> enumeration = mock(Enumeration.class);
+		catalogAttribute.setEnumerationObj(enumeration);
+		assertThat(catalogAttribute.getValueType()).isEqualTo(ValueType.ENUMERATION);
+		assertThat(catalogAttribute.getEnumerationObject()).isSameAs(enumeration);
+	}
+
+	@Test
+	public void enumerationIsResolvedFromCurrentRegistration() {
+		String name = getClass().getSimpleName();
+		EnumRegistry enumRegistry = EnumRegistry.getInstance();
+		Enumeration<?> registered = mock(Enumeration.class);
+		Enumeration<?> reregistered = mock(Enumeration.class);
+		try {
+			enumRegistry.add(name, registered);
+			CatalogAttribute catalogAttribute = enumerationAttribute(name);
+			assertThat(catalogAttribute.getEnumerationObject()).isSameAs(registered);
+
+			enumRegistry.add(name, reregistered);
+			assertThat(enumerationAttribute(name).getEnumerationObject()).isSameAs(registered);
+
+			CatalogAttribute.enumerationsChanged();
+			assertThat(catalogAttribute.getEnumerationObject()).isSameAs(reregistered);
+			assertThat(enumerationAttribute(name).getEnumerationObject()).isSameAs(reregistered);
+		} finally {
+			enumRegistry.remove(name);
+			CatalogAttribute.enumerationsChanged();
+		}
+	}
+
+	@Test
+	public void unknownEnumerationsAreNotMemorized() {
+		String name = getClass().getSimpleName() + "Unknown";
+		EnumRegistry enumRegistry = EnumRegistry.getInstance();
+		Enumeration<?> registered = mock(Enumeration.class);
+		try {
+			assertThat(enumerationAttribute(name).getEnumerationObject()).isNull();
+
+			enumRegistry.add(name, registered);
+			assertThat(enumerationAttribute(name).getEnumerationObject()).isSameAs(registered);
+		} finally {
+			enumRegistry.remove(name);
+			CatalogAttribute.enumerationsChanged();
+		}
+	}
+
+	private static CatalogAttribute enumerationAttribute(String enumerationName) {
+		return new CatalogAttribute(TestCores.core("CatalogAttribute",
+				ValueType.STRING.create(CatalogAttribute.VATTR_ENUMERATION_NAME, enumerationName),
+				ValueType.ENUMERATION.create(CatalogAttribute.VATTR_SCALAR_TYPE, "", true, ScalarType.ENUMERATION,
+						EnumRegistry.SCALAR_TYPE),
+				ValueType.BOOLEAN.create(CatalogAttribute.VATTR_SEQUENCE, Boolean.FALSE)));
+	}
+
+}
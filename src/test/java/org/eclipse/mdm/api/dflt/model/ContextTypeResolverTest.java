@@ -0,0 +1,38 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.eclipse.mdm.api.base.model.ContextType;
+import org.junit.Test;
+
+public class ContextTypeResolverTest {
+
+	@Test
+	public void contextTypesAreResolvedFromTypeNames() {
+		assertThat(ContextTypeResolver.resolve("CatUnitUnderTestComp")).isEqualTo(ContextType.UNITUNDERTEST);
+		assertThat(ContextTypeResolver.resolve("TplTestSequenceRoot")).isEqualTo(ContextType.TESTSEQUENCE);
+		assertThat(ContextTypeResolver.resolve("CatTestEquipmentComp")).isEqualTo(ContextType.TESTEQUIPMENT);
+	}
+
+	@Test
+	public void unknownTypeNamesAreRejected() {
+		assertThatThrownBy(() -> ContextTypeResolver.resolve("CatSensor")).isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> ContextTypeResolver.resolve("CatSensor")).isInstanceOf(IllegalStateException.class);
+	}
+
+}
@@ -0,0 +1,43 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.StringReader;
+
+import org.junit.Test;
+
+public class CsvFirstFieldIteratorTest {
+
+	@Test
+	public void firstFieldsAreRead() {
+		CsvFirstFieldIterator iterator = new CsvFirstFieldIterator(
+				new StringReader("A-100,first\n\n  \n\"B,\"\"200\"\"\",second\r\nC-300"));
+
+		assertThat(iterator).containsExactly("A-100", "B,\"200\"", "C-300");
+	}
+
+	@Test
+	public void unterminatedQuotesAreRejected() {
+		CsvFirstFieldIterator iterator = new CsvFirstFieldIterator(new StringReader("A\n\"B,second"));
+
+		assertThat(iterator.next()).isEqualTo("A");
+		assertThatThrownBy(iterator::hasNext).isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("line 2");
+	}
+
+}
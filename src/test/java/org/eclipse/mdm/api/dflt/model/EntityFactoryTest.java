@@ -15,11 +15,31 @@
 package org.eclipse.mdm.api.dflt.model;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.mdm.api.base.adapter.Core;
+import org.eclipse.mdm.api.base.model.BaseEntity;
 import org.eclipse.mdm.api.base.model.Channel;
+import org.eclipse.mdm.api.base.model.ContextComponent;
+import org.eclipse.mdm.api.base.model.ContextRoot;
+import org.eclipse.mdm.api.base.model.ContextType;
+import org.eclipse.mdm.api.base.model.TestStep;
+import org.eclipse.mdm.api.base.model.ValueType;
+import org.eclipse.mdm.api.base.model.VersionState;
 import org.junit.Test;
 
 public class EntityFactoryTest {
@@ -40,4 +60,189 @@ public class EntityFactoryTest {
 		// (EntityFactory's package):
 		assertThat(entityFactory.createBaseEntity(CatalogSensor.class, null)).isInstanceOf(CatalogSensor.class);
 	}
+
+	@Test
+	public void createBaseEntityReturnsNewInstances() {
+		EntityFactory entityFactory = mock(EntityFactory.class);
+		when(entityFactory.createBaseEntity(any(), any())).thenCallRealMethod();
+
+		// the constructor is resolved once, each call must still create a new
+		// instance
+		CatalogSensor first = entityFactory.createBaseEntity(CatalogSensor.class, null);
+		CatalogSensor second = entityFactory.createBaseEntity(CatalogSensor.class, null);
+		assertThat(first).isNotSameAs(second);
+	}
+
+	@Test
+	public void createBaseEntityWrapsConstructorExceptions() {
+		EntityFactory entityFactory = mock(EntityFactory.class);
+		when(entityFactory.createBaseEntity(any(), any())).thenCallRealMethod();
+
+		assertThatThrownBy(() -> entityFactory.createBaseEntity(FailingEntity.class, null))
+				.isInstanceOf(IllegalStateException.class).hasCauseInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void catalogAttributesAreFoundAfterRemoveAndRename() {
+		EntityFactory entityFactory = TestCores.entityFactory();
+		CatalogComponent catalogComponent = entityFactory.createCatalogComponent(ContextType.UNITUNDERTEST, "cc");
+		CatalogAttribute a = entityFactory.createCatalogAttribute("a", ValueType.STRING, catalogComponent);
+		CatalogAttribute b = entityFactory.createCatalogAttribute("b", ValueType.STRING, catalogComponent);
+		assertThat(catalogComponent.getCatalogAttribute("a")).contains(a);
+
+		// the number of attributes stays the same
+		assertThat(catalogComponent.removeCatalogAttribute("a")).isTrue();
+		CatalogAttribute c = entityFactory.createCatalogAttribute("c", ValueType.STRING, catalogComponent);
+		assertThat(catalogComponent.getCatalogAttribute("a")).isEmpty();
+		assertThat(catalogComponent.getCatalogAttribute("c")).contains(c);
+
+		b.setName("d");
+		assertThat(catalogComponent.getCatalogAttribute("b")).isEmpty();
+		assertThat(catalogComponent.getCatalogAttribute("d")).contains(b);
+		assertThatThrownBy(() -> entityFactory.createCatalogAttribute("d", ValueType.STRING, catalogComponent))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void catalogSensorsAreFoundAfterRemoveAndRename() {
+		EntityFactory entityFactory = TestCores.entityFactory();
+		CatalogComponent catalogComponent = entityFactory.createCatalogComponent(ContextType.TESTEQUIPMENT, "cc");
+		CatalogSensor a = entityFactory.createCatalogSensor("a", catalogComponent);
+		entityFactory.createCatalogSensorAttribute("x", ValueType.STRING, a);
+		assertThat(catalogComponent.getCatalogSensor("a")).contains(a);
+
+		a.setName("b");
+		CatalogSensor c = entityFactory.createCatalogSensor("a", catalogComponent);
+		assertThat(catalogComponent.getCatalogSensor("a")).contains(c);
+		assertThat(catalogComponent.getCatalogSensor("b")).contains(a);
+
+		assertThat(a.removeCatalogAttribute("x")).isTrue();
+		CatalogAttribute y = entityFactory.createCatalogSensorAttribute("y", ValueType.STRING, a);
+		assertThat(a.getCatalogAttribute("x")).isEmpty();
+		assertThat(a.getCatalogAttribute("y")).contains(y);
+	}
+
+	@Test
+	public void importValueListValuesSkipsUsedNames() {
+		EntityFactory entityFactory = TestCores.entityFactory();
+		ValueList valueList = entityFactory.createValueList("vl");
+		entityFactory.createValueListValue("b", valueList).setSortIndex(7);
+
+		List<ValueListValue> imported = new ArrayList<>();
+		List<List<String>> batches = new ArrayList<>();
+		int count = entityFactory.importValueListValues(valueList,
+				Arrays.asList("a", "b", "c", "a", "d", "e", "f").iterator(), 2, batch -> {
+					imported.addAll(batch);
+					batches.add(batch.stream().map(ValueListValue::getName).collect(Collectors.toList()));
+				});
+
+		assertThat(count).isEqualTo(5);
+		assertThat(batches).containsExactly(Arrays.asList("a", "c"), Arrays.asList("d", "e"),
+				Arrays.asList("f"));
+		assertThat(imported).extracting(ValueListValue::getSortIndex).containsExactly(8, 9, 10, 11, 12);
+		assertThat(imported).extracting(ValueListValue::getValueList).containsOnly(valueList);
+
+		// imported values are released, later ones continue the sort indices
+		assertThat(valueList.getValueListValues()).extracting(ValueListValue::getName).containsExactly("b");
+		assertThat(valueList.getValueListValue("f")).isEmpty();
+		assertThat(entityFactory.createValueListValue("g", valueList).getSortIndex()).isEqualTo(13);
+		assertThatThrownBy(() -> entityFactory.importValueListValues(valueList,
+				Arrays.asList("g").iterator(), 0, batch -> {
+				})).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void createTestsMatchesCreateTest() {
+		EntityFactory entityFactory = TestCores.entityFactory();
+		Pool pool = entityFactory.createPool("Pool", entityFactory.createProject("Project"));
+
+		CatalogComponent catalogComponent = entityFactory.createCatalogComponent(ContextType.UNITUNDERTEST, "Engine");
+		TemplateRoot templateRoot = entityFactory.createTemplateRoot(ContextType.UNITUNDERTEST, "Car");
+		entityFactory.createTemplateComponent("engine", templateRoot, catalogComponent);
+		templateRoot.setVersionState(VersionState.VALID);
+
+		TemplateTest templateTest = entityFactory.createTemplateTest("Template");
+		TemplateTestStep measure = entityFactory.createTemplateTestStep("measure");
+		measure.setTemplateRoot(templateRoot);
+		entityFactory.createTemplateTestStepUsage("measure", templateTest, measure);
+		entityFactory.createTemplateTestStepUsage("check", templateTest, entityFactory.createTemplateTestStep("check"));
+		entityFactory.createTemplateTestStepUsage("skipped", templateTest, entityFactory.createTemplateTestStep("skipped"))
+				.setDefaultActive(false);
+
+		List<String> created = new ArrayList<>();
+		List<TestCreationTimings> timings = new ArrayList<>();
+		entityFactory.createTests(Arrays.asList("first", "second"), pool, null, null, templateTest, timings::add, true)
+				.forEach(test -> created.add(describe(test)));
+
+		// the template is resolved once, the entities are created one by one
+		verify(entityFactory, times(2)).createTest(anyString(), eq(pool), (Status) isNull());
+		verify(entityFactory, times(4)).createTestStep(anyString(), any(), isNull());
+		verify(entityFactory, never()).createTest(anyString(), eq(pool), isNull(), isNull(), eq(templateTest));
+		assertThat(timings).hasSize(1);
+		assertThat(timings.get(0).getTestCount()).isEqualTo(2);
+		assertThat(timings.get(0).getTestStepCount()).isEqualTo(4);
+		assertThat(timings.get(0).getContextRootCount()).isEqualTo(2);
+
+		List<String> expected = new ArrayList<>();
+		expected.add(describe(entityFactory.createTest("first", pool, templateTest)));
+		expected.add(describe(entityFactory.createTest("second", pool, templateTest)));
+
+		assertThat(created).isEqualTo(expected).containsExactly(
+				"first[Template]: measure[measure]{UNITUNDERTEST=[engine]}, check[check]{}",
+				"second[Template]: measure[measure]{UNITUNDERTEST=[engine]}, check[check]{}");
+	}
+
+	@Test
+	public void createTestsCallsOverriddenVariants() {
+		// all methods of a mocked factory are overridden
+		EntityFactory entityFactory = TestCores.entityFactory();
+		Pool pool = entityFactory.createPool("Pool", entityFactory.createProject("Project"));
+		TemplateTest templateTest = entityFactory.createTemplateTest("Template");
+		entityFactory.createTemplateTestStepUsage("measure", templateTest,
+				entityFactory.createTemplateTestStep("measure"));
+		Status statusTest = mock(Status.class);
+		Status statusTestStep = mock(Status.class);
+
+		List<TestCreationTimings> timings = new ArrayList<>();
+		List<org.eclipse.mdm.api.base.model.Test> tests = entityFactory.createTests(
+				Arrays.asList("first", "second"), pool, statusTest, statusTestStep, templateTest, timings::add);
+
+		assertThat(tests).extracting(org.eclipse.mdm.api.base.model.Test::getName).containsExactly("first",
+				"second");
+		verify(entityFactory, times(2)).createTest(anyString(), eq(pool), eq(statusTest), eq(statusTestStep),
+				eq(templateTest));
+		verify(entityFactory, times(2)).createTestStep(any(), eq(statusTestStep), any(TemplateTestStep.class));
+		assertThat(timings.get(0).getTestStepCount()).isEqualTo(2);
+	}
+
+	private static String describe(org.eclipse.mdm.api.base.model.Test test) {
+		StringBuilder sb = new StringBuilder(test.getName()).append('[')
+				.append(TemplateTest.of(test).get().getName()).append("]: ");
+		List<TestStep> testSteps = TestCores.of(test).getChildrenStore().get(TestStep.class);
+		for (int i = 0; i < testSteps.size(); i++) {
+			TestStep testStep = testSteps.get(i);
+			sb.append(i == 0 ? "" : ", ").append(testStep.getName()).append('[')
+					.append(TemplateTestStep.of(testStep).get().getName()).append("]{");
+			for (ContextType contextType : ContextType.values()) {
+				ContextRoot contextRoot = TestCores.of(testStep).getMutableStore().get(ContextRoot.class,
+						contextType);
+				if (contextRoot != null) {
+					List<String> names = new ArrayList<>();
+					contextRoot.getContextComponents().stream().map(ContextComponent::getName).forEach(names::add);
+					sb.append(contextType).append('=').append(names);
+				}
+			}
+			sb.append('}');
+		}
+		return sb.toString();
+	}
+
+	static class FailingEntity extends BaseEntity {
+
+		FailingEntity(Core core) {
+			super(core);
+			throw new IllegalArgumentException("Core is rejected.");
+		}
+
+	}
 }
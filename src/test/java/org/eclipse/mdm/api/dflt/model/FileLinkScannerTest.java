@@ -0,0 +1,84 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+public class FileLinkScannerTest {
+
+	// the regular expressions formerly used to restore file links
+	private static final Pattern FILE_LINKS_PATTERN = Pattern.compile("([^,].*?)\\[(.*?),(.*?)\\]");
+	private static final Pattern FILE_LINK_PATTERN = Pattern.compile("(.*?)\\[(.*?),(.*?)\\]");
+
+	private static final char[] ALPHABET = { 'a', 'b', '[', ']', ',', '#', ' ', '/', '\n', '\r', '\u0085', '\u2028',
+			'\u2029' };
+
+	@Test
+	public void scanSequence() {
+		assertThat(scan("NO_DESC#[text/plain,/a/b.txt],Desc[image/png,LOCALPATH#/c.png]"))
+				.containsExactly("NO_DESC#|text/plain|/a/b.txt", "Desc|image/png|LOCALPATH#/c.png");
+	}
+
+	@Test
+	public void scanWithoutFileLink() {
+		assertThat(scan("")).isEmpty();
+		assertThat(scan(",,,")).isEmpty();
+		assertThat(scan("Desc[text/plain\n,/a.txt]")).isEmpty();
+	}
+
+	@Test
+	public void scanIsEquivalentToRegularExpressions() {
+		Random random = new Random(4711);
+		for (int i = 0; i < 100_000; i++) {
+			StringBuilder sb = new StringBuilder();
+			int length = random.nextInt(30);
+			for (int j = 0; j < length; j++) {
+				sb.append(ALPHABET[random.nextInt(ALPHABET.length)]);
+			}
+
+			String value = sb.toString();
+			assertThat(scan(value)).as("Scanned '%s'", value).isEqualTo(matchRegularExpressions(value));
+		}
+	}
+
+	private static List<String> scan(String value) {
+		List<String> fileLinks = new ArrayList<>();
+		FileLinkScanner scanner = new FileLinkScanner(value);
+		while (scanner.next()) {
+			fileLinks.add(scanner.getDescription() + '|' + scanner.getMimeType() + '|' + scanner.getPath());
+		}
+		return fileLinks;
+	}
+
+	private static List<String> matchRegularExpressions(String value) {
+		List<String> fileLinks = new ArrayList<>();
+		Matcher matcher = FILE_LINKS_PATTERN.matcher(value);
+		while (matcher.find()) {
+			Matcher fileLinkMatcher = FILE_LINK_PATTERN.matcher(matcher.group());
+			assertThat(fileLinkMatcher.find()).isTrue();
+			fileLinks.add(fileLinkMatcher.group(1) + '|' + fileLinkMatcher.group(2) + '|' + fileLinkMatcher.group(3));
+		}
+		return fileLinks;
+	}
+
+}
@@ -0,0 +1,188 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class NameIndexTest {
+
+	@Test
+	public void addedChildrenAreIndexedInPlace() {
+		List<CatalogAttribute> catalogAttributes = new ArrayList<>();
+		catalogAttributes.add(catalogAttribute("a"));
+		AtomicInteger supplierCalls = new AtomicInteger();
+		NameIndex<CatalogAttribute> index = new NameIndex<>(() -> {
+			supplierCalls.incrementAndGet();
+			return catalogAttributes;
+		});
+
+		assertThat(index.get("b")).isEmpty();
+		int calls = supplierCalls.get();
+
+		for (String name : new String[] { "b", "c", "d" }) {
+			CatalogAttribute catalogAttribute = catalogAttribute(name);
+			catalogAttributes.add(catalogAttribute);
+			index.added(catalogAttribute);
+			assertThat(index.get(name)).contains(catalogAttribute);
+		}
+		assertThat(supplierCalls.get()).isEqualTo(calls);
+	}
+
+	@Test
+	public void removedAndAddedChildrenAreTracked() {
+		List<CatalogAttribute> catalogAttributes = new ArrayList<>();
+		CatalogAttribute a = catalogAttribute("a");
+		catalogAttributes.add(a);
+		NameIndex<CatalogAttribute> index = new NameIndex<>(() -> catalogAttributes);
+		assertThat(index.get("a")).contains(a);
+
+		// same number of children as before
+		catalogAttributes.remove(a);
+		index.removed(a);
+		CatalogAttribute b = catalogAttribute("b");
+		catalogAttributes.add(b);
+		index.added(b);
+
+		assertThat(index.get("a")).isEmpty();
+		assertThat(index.get("b")).contains(b);
+	}
+
+	@Test
+	public void renamedChildrenAreMoved() {
+		List<CatalogAttribute> catalogAttributes = new ArrayList<>();
+		CatalogAttribute a = catalogAttribute("a");
+		catalogAttributes.add(a);
+		NameIndex<CatalogAttribute> index = new NameIndex<>(() -> catalogAttributes);
+		assertThat(index.get("a")).contains(a);
+
+		rename(a, "a", "c");
+		index.renamed(a, "a");
+
+		assertThat(index.get("a")).isEmpty();
+		assertThat(index.get("c")).contains(a);
+	}
+
+	@Test
+	public void childrenRenamedWithoutNoticeAreNotFoundByFormerName() {
+		List<CatalogAttribute> catalogAttributes = new ArrayList<>();
+		CatalogAttribute a = catalogAttribute("a");
+		catalogAttributes.add(a);
+		NameIndex<CatalogAttribute> index = new NameIndex<>(() -> catalogAttributes);
+		assertThat(index.get("a")).contains(a);
+
+		rename(a, "a", "c");
+
+		assertThat(index.get("a")).isEmpty();
+		assertThat(index.get("c")).contains(a);
+	}
+
+	@Test
+	public void childrenAddedWithoutNoticeAreFound() {
+		List<CatalogAttribute> catalogAttributes = new ArrayList<>();
+		catalogAttributes.add(catalogAttribute("a"));
+		NameIndex<CatalogAttribute> index = new NameIndex<>(() -> catalogAttributes);
+		assertThat(index.get("b")).isEmpty();
+
+		CatalogAttribute b = catalogAttribute("b");
+		catalogAttributes.add(b);
+		assertThat(index.get("b")).contains(b);
+	}
+
+	@Test
+	public void childrenRenamedWithoutNoticeAreFoundByNewName() {
+		List<CatalogAttribute> catalogAttributes = new ArrayList<>();
+		CatalogAttribute a = catalogAttribute("a");
+		catalogAttributes.add(a);
+		NameIndex<CatalogAttribute> index = new NameIndex<>(() -> catalogAttributes);
+		assertThat(index.get("a")).contains(a);
+
+		rename(a, "a", "c");
+
+		assertThat(index.get("c")).contains(a);
+		assertThat(index.get("a")).isEmpty();
+	}
+
+	@Test
+	public void childrenReplacedWithoutNoticeAreFound() {
+		List<CatalogAttribute> catalogAttributes = new ArrayList<>();
+		CatalogAttribute a = catalogAttribute("a");
+		catalogAttributes.add(a);
+		NameIndex<CatalogAttribute> index = new NameIndex<>(() -> catalogAttributes);
+		assertThat(index.get("a")).contains(a);
+
+		// same number of children as before
+		catalogAttributes.remove(a);
+		CatalogAttribute b = catalogAttribute("b");
+		catalogAttributes.add(b);
+
+		assertThat(index.get("b")).contains(b);
+		assertThat(index.get("a")).isEmpty();
+	}
+
+	@Test
+	public void indexedLookupDoesNotScanOnMiss() {
+		List<CatalogAttribute> catalogAttributes = new ArrayList<>();
+		catalogAttributes.add(catalogAttribute("a"));
+		AtomicInteger supplierCalls = new AtomicInteger();
+		NameIndex<CatalogAttribute> index = new NameIndex<>(() -> {
+			supplierCalls.incrementAndGet();
+			return catalogAttributes;
+		});
+
+		assertThat(index.getIndexed("a")).isPresent();
+		assertThat(index.getIndexed("b")).isEmpty();
+		assertThat(supplierCalls.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void duplicateNameIsResolvedOnceFirstChildIsRemoved() {
+		List<CatalogAttribute> catalogAttributes = new ArrayList<>();
+		CatalogAttribute first = catalogAttribute("a");
+		CatalogAttribute second = catalogAttribute("a");
+		catalogAttributes.add(first);
+		NameIndex<CatalogAttribute> index = new NameIndex<>(() -> catalogAttributes);
+		assertThat(index.get("a")).contains(first);
+
+		catalogAttributes.add(second);
+		index.added(second);
+		assertThat(index.get("a")).contains(first);
+
+		catalogAttributes.remove(first);
+		index.removed(first);
+		assertThat(index.get("a")).contains(second);
+	}
+
+	private static void rename(CatalogAttribute catalogAttribute, String oldName, String newName) {
+		when(catalogAttribute.getName()).thenReturn(newName);
+		when(catalogAttribute.nameEquals(oldName)).thenReturn(false);
+		when(catalogAttribute.nameEquals(newName)).thenReturn(true);
+	}
+
+	private static CatalogAttribute catalogAttribute(String name) {
+		CatalogAttribute catalogAttribute = mock(CatalogAttribute.class);
+		when(catalogAttribute.getName()).thenReturn(name);
+		when(catalogAttribute.nameEquals(name)).thenReturn(true);
+		return catalogAttribute;
+	}
+
+}
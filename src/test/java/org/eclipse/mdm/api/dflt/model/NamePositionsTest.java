@@ -0,0 +1,65 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+public class NamePositionsTest {
+
+	@Test
+	public void distinctNamesArePositionedInOrder() {
+		NamePositions positions = new NamePositions(Arrays.asList("b", "a", "b", null, "c"));
+
+		assertThat(positions.size()).isEqualTo(4);
+		assertThat(positions.indexOf("b")).isEqualTo(0);
+		assertThat(positions.indexOf("a")).isEqualTo(1);
+		assertThat(positions.indexOf(null)).isEqualTo(2);
+		assertThat(positions.indexOf("c")).isEqualTo(3);
+		assertThat(positions.get(3)).isEqualTo("c");
+		assertThat(positions.indexOf("d")).isEqualTo(-1);
+	}
+
+	@Test
+	public void collidingNamesArePositioned() {
+		// "Aa" and "BB" share their hash code
+		List<String> names = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			names.add("Aa" + i);
+			names.add("BB" + i);
+		}
+		NamePositions positions = new NamePositions(names);
+
+		assertThat(positions.size()).isEqualTo(names.size());
+		for (int i = 0; i < names.size(); i++) {
+			assertThat(positions.indexOf(names.get(i))).isEqualTo(i);
+		}
+	}
+
+	@Test
+	public void emptyNamesContainNothing() {
+		NamePositions positions = new NamePositions(Collections.emptyList());
+
+		assertThat(positions.size()).isZero();
+		assertThat(positions.indexOf("a")).isEqualTo(-1);
+	}
+
+}
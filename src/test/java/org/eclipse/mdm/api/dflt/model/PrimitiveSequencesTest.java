@@ -0,0 +1,50 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Test;
+
+public class PrimitiveSequencesTest {
+
+	@Test
+	public void parseDropsTrailingEmptyElements() {
+		assertThat((int[]) PrimitiveSequences.parse("1,-2,+3,,", int.class)).containsExactly(1, -2, 3);
+		assertThat((long[]) PrimitiveSequences.parse(",,", long.class)).isEmpty();
+		assertThat((boolean[]) PrimitiveSequences.parse("TRUE,,false", boolean.class)).containsExactly(true, false,
+				false);
+	}
+
+	@Test
+	public void parseRejectsInvalidNumbers() {
+		assertThatThrownBy(() -> PrimitiveSequences.parse("1,,2", int.class)).isInstanceOf(NumberFormatException.class);
+		assertThatThrownBy(() -> PrimitiveSequences.parse("128", byte.class)).isInstanceOf(NumberFormatException.class);
+		assertThatThrownBy(() -> PrimitiveSequences.parse("-", short.class))
+				.isInstanceOf(NumberFormatException.class);
+	}
+
+	@Test
+	public void formatIsReversedByParse() {
+		double[] values = { 0.1, -2.5E-10, Double.MAX_VALUE };
+		String value = PrimitiveSequences.format(values);
+
+		assertThat(value).isEqualTo("0.1,-2.5E-10,1.7976931348623157E308");
+		assertThat((double[]) PrimitiveSequences.parse(value, double.class)).containsExactly(values);
+		assertThat(PrimitiveSequences.format(new long[] { Long.MIN_VALUE, 0 })).isEqualTo("-9223372036854775808,0");
+	}
+
+}
@@ -0,0 +1,51 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class SortIndexSorterTest {
+
+	@Test
+	public void sortKeysAreExtractedOnce() {
+		List<String> values = new ArrayList<>(Arrays.asList("c3", "a1", "d-4", "b2"));
+		AtomicInteger calls = new AtomicInteger();
+
+		SortIndexSorter.sort(values, v -> {
+			calls.incrementAndGet();
+			return Integer.parseInt(v.substring(1));
+		});
+
+		assertThat(values).containsExactly("d-4", "a1", "b2", "c3");
+		assertThat(calls.get()).isEqualTo(4);
+	}
+
+	@Test
+	public void sortIsStable() {
+		List<String> values = new ArrayList<>(Arrays.asList("b1", "a0", "c1", "d0", "e1"));
+
+		SortIndexSorter.sort(values, v -> v.charAt(1) - '0');
+
+		assertThat(values).containsExactly("a0", "d0", "b1", "c1", "e1");
+	}
+
+}
@@ -0,0 +1,158 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.eclipse.mdm.api.base.model.ContextType;
+import org.eclipse.mdm.api.base.model.Quantity;
+import org.eclipse.mdm.api.base.model.ValueType;
+import org.eclipse.mdm.api.base.model.VersionState;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TemplateComponentTest {
+
+	private TemplateRoot first;
+	private TemplateRoot second;
+	private TemplateComponent parent;
+	private TemplateComponent child;
+	private TemplateComponent other;
+	private TemplateSensor templateSensor;
+	private TemplateAttribute templateAttribute;
+	private TemplateAttribute sensorAttribute;
+
+	@Before
+	public void setUp() {
+		EntityFactory entityFactory = TestCores.entityFactory();
+		CatalogComponent catalogComponent = entityFactory.createCatalogComponent(ContextType.TESTEQUIPMENT, "cc");
+		entityFactory.createCatalogAttribute("a", ValueType.STRING, catalogComponent);
+		CatalogSensor catalogSensor = entityFactory.createCatalogSensor("cs", catalogComponent);
+		entityFactory.createCatalogSensorAttribute("sa", ValueType.STRING, catalogSensor);
+
+		first = entityFactory.createTemplateRoot(ContextType.TESTEQUIPMENT, "first");
+		second = entityFactory.createTemplateRoot(ContextType.TESTEQUIPMENT, "second");
+		parent = entityFactory.createTemplateComponent("parent", first, catalogComponent);
+		child = entityFactory.createTemplateComponent("child", parent, catalogComponent);
+		other = entityFactory.createTemplateComponent("other", second, catalogComponent);
+		templateSensor = entityFactory.createTemplateSensor("s", child, catalogSensor, mock(Quantity.class));
+		templateAttribute = child.getTemplateAttribute("a").get();
+		sensorAttribute = templateSensor.getTemplateAttribute("sa").get();
+	}
+
+	@Test
+	public void nestedNodesResolveTheirRoot() {
+		assertRoot(first);
+	}
+
+	@Test
+	public void rootOfValidTemplateIsMemorized() {
+		first.setVersionState(VersionState.VALID);
+		assertRoot(first);
+
+		clearInvocations(TestCores.of(child), TestCores.of(parent));
+		assertRoot(first);
+		verify(TestCores.of(child), never()).getPermanentStore();
+		verify(TestCores.of(parent), never()).getPermanentStore();
+	}
+
+	@Test
+	public void rootOfEditableTemplateIsResolvedAgain() {
+		first.setVersionState(VersionState.VALID);
+		assertRoot(first);
+
+		first.setVersionState(VersionState.EDITABLE);
+		TestCores.of(child).getPermanentStore().set(other);
+		assertRoot(second);
+	}
+
+	@Test
+	public void reparentedNodeResolvesNewRoot() {
+		assertRoot(first);
+
+		TestCores.of(child).getPermanentStore().set(other);
+		assertRoot(second);
+	}
+
+	@Test
+	public void nodeWithReparentedAncestorResolvesNewRoot() {
+		assertRoot(first);
+
+		TestCores.of(parent).getPermanentStore().set(second);
+		assertThat(parent.getTemplateRoot()).isSameAs(second);
+		assertRoot(second);
+	}
+
+	@Test
+	public void flagsAreLoadedOnce() {
+		child.setOptional(Boolean.FALSE);
+		child.setDefaultActive(Boolean.FALSE);
+		child.setSeriesConstant(Boolean.TRUE);
+		assertThat(child.getTemplateFlags()).isEqualTo(TemplateFlags.SERIES_CONSTANT | TemplateFlags.IMPLICIT_CREATE);
+
+		child.getValue(TemplateComponent.ATTR_OPTIONAL).set(Boolean.TRUE);
+		child.getValue(TemplateComponent.ATTR_SERIES_CONSTANT).set(Boolean.FALSE);
+		assertThat(TemplateComponent.IS_MANDATORY.test(child)).isTrue();
+		assertThat(TemplateComponent.IS_SERIES_CONSTANT.test(child)).isTrue();
+		assertThat(TemplateComponent.IS_IMPLICIT_CREATE.test(child)).isTrue();
+	}
+
+	@Test
+	public void flagSettersKeepFlagsInSync() {
+		child.setOptional(Boolean.FALSE);
+		child.setDefaultActive(Boolean.FALSE);
+		assertThat(TemplateComponent.IS_MANDATORY.test(child)).isTrue();
+		assertThat(TemplateComponent.IS_IMPLICIT_CREATE.test(child)).isTrue();
+
+		child.setOptional(Boolean.TRUE);
+		child.setSeriesConstant(Boolean.FALSE);
+		assertThat(TemplateComponent.IS_IMPLICIT_CREATE.test(child)).isFalse();
+		assertThat(TemplateComponent.IS_SERIES_VARIABLE.test(child)).isTrue();
+
+		child.setDefaultActive(Boolean.TRUE);
+		assertThat(TemplateComponent.IS_DEFAULT_ACTIVE.test(child)).isTrue();
+		assertThat(TemplateComponent.IS_IMPLICIT_CREATE.test(child)).isTrue();
+
+		templateSensor.setOptional(Boolean.TRUE);
+		templateSensor.setDefaultActive(Boolean.FALSE);
+		assertThat(TemplateSensor.IS_IMPLICIT_CREATE.test(templateSensor)).isFalse();
+		templateSensor.setOptional(Boolean.FALSE);
+		assertThat(TemplateSensor.IS_MANDATORY.test(templateSensor)).isTrue();
+		assertThat(TemplateSensor.IS_IMPLICIT_CREATE.test(templateSensor)).isTrue();
+	}
+
+	@Test
+	public void templateAttributeFlagsFollowSetters() {
+		templateAttribute.setOptional(Boolean.TRUE);
+		templateAttribute.setValueReadOnly(Boolean.FALSE);
+		assertThat(templateAttribute.getTemplateFlags()).isEqualTo(TemplateFlags.OPTIONAL);
+
+		templateAttribute.setOptional(Boolean.FALSE);
+		templateAttribute.setValueReadOnly(Boolean.TRUE);
+		assertThat(templateAttribute.getTemplateFlags()).isEqualTo(TemplateFlags.READ_ONLY);
+	}
+
+	private void assertRoot(TemplateRoot templateRoot) {
+		assertThat(child.getTemplateRoot()).isSameAs(templateRoot);
+		assertThat(templateSensor.getTemplateRoot()).isSameAs(templateRoot);
+		assertThat(templateAttribute.getTemplateRoot()).isSameAs(templateRoot);
+		assertThat(sensorAttribute.getTemplateRoot()).isSameAs(templateRoot);
+	}
+
+}
@@ -0,0 +1,123 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.mdm.api.base.model.BaseEntity;
+import org.eclipse.mdm.api.base.model.ContextComponent;
+import org.eclipse.mdm.api.base.model.ContextRoot;
+import org.eclipse.mdm.api.base.model.ContextSensor;
+import org.eclipse.mdm.api.base.model.ContextType;
+import org.eclipse.mdm.api.base.model.Quantity;
+import org.eclipse.mdm.api.base.model.Value;
+import org.eclipse.mdm.api.base.model.ValueType;
+import org.eclipse.mdm.api.base.model.VersionState;
+import org.junit.Test;
+
+public class TemplateRootPlanTest {
+
+	@Test
+	public void replayCreatesSameContextTreeAsRecursiveCreation() {
+		Map<String, ValueType<?>> contextValueTypes = new HashMap<>();
+		contextValueTypes.put("serial", ValueType.STRING);
+		contextValueTypes.put("channels", ValueType.INTEGER_SEQUENCE);
+		contextValueTypes.put("range", ValueType.DOUBLE);
+		contextValueTypes.put("obsolete", ValueType.STRING);
+		EntityFactory entityFactory = TestCores.entityFactory(contextValueTypes);
+
+		CatalogComponent catalogComponent = entityFactory.createCatalogComponent(ContextType.TESTEQUIPMENT, "Device");
+		entityFactory.createCatalogAttribute("serial", ValueType.STRING, catalogComponent);
+		entityFactory.createCatalogAttribute("channels", ValueType.INTEGER_SEQUENCE, catalogComponent);
+		CatalogSensor catalogSensor = entityFactory.createCatalogSensor("Probe", catalogComponent);
+		entityFactory.createCatalogSensorAttribute("range", ValueType.DOUBLE, catalogSensor);
+
+		TemplateRoot templateRoot = entityFactory.createTemplateRoot(ContextType.TESTEQUIPMENT, "Rig");
+		TemplateComponent device = entityFactory.createTemplateComponent("device", templateRoot, catalogComponent);
+		device.getTemplateAttribute("serial").get().setDefaultValue("S-1");
+		device.getTemplateAttribute("channels").get().setDefaultValue(new int[] { 1, 2 });
+		entityFactory.createTemplateComponent("nested", device, catalogComponent);
+		entityFactory.createTemplateComponent("inactive", templateRoot, catalogComponent).setDefaultActive(false);
+		entityFactory.createTemplateSensor("probe", device, catalogSensor, mock(Quantity.class)).getTemplateAttribute("range")
+				.get().setDefaultValue(2.5d);
+
+		List<String> replayed = describe(entityFactory.createContextRoot(templateRoot, true));
+		List<String> recursive = describe(entityFactory.createContextRoot(templateRoot, false));
+
+		assertThat(replayed).isEqualTo(recursive);
+		assertThat(replayed.stream().map(d -> d.replaceAll("MimeType=[^,]*, ", ""))).containsExactly(
+				"device(Device): {Name=device, channels=[1, 2], serial=S-1}",
+				"device/probe(Probe): {Name=probe, range=2.5}",
+				"nested(Device): {Name=nested, channels=null, serial=null}");
+	}
+
+	@Test
+	public void instantiationPlanIsDiscardedWhenTemplateChanges() {
+		EntityFactory entityFactory = TestCores.entityFactory();
+		CatalogComponent catalogComponent = entityFactory.createCatalogComponent(ContextType.UNITUNDERTEST, "Engine");
+		TemplateRoot templateRoot = entityFactory.createTemplateRoot(ContextType.UNITUNDERTEST, "Car");
+		entityFactory.createTemplateComponent("engine", templateRoot, catalogComponent);
+		templateRoot.setVersionState(VersionState.VALID);
+
+		TemplateRootPlan plan = templateRoot.getInstantiationPlan();
+		assertThat(templateRoot.getInstantiationPlan()).isSameAs(plan);
+		assertThat(describe(entityFactory.createContextRoot(templateRoot, true)))
+				.isEqualTo(describe(entityFactory.createContextRoot(templateRoot, true)));
+
+		templateRoot.setVersionState(VersionState.EDITABLE);
+		entityFactory.createTemplateComponent("gearbox", templateRoot, catalogComponent);
+		templateRoot.setVersionState(VersionState.VALID);
+
+		TemplateRootPlan changed = templateRoot.getInstantiationPlan();
+		assertThat(changed).isNotSameAs(plan);
+		assertThat(changed.getSteps()).extracting(TemplateRootPlan.Step::getName).containsExactly("engine",
+				"gearbox");
+	}
+
+	private static List<String> describe(ContextRoot contextRoot) {
+		List<String> descriptions = new ArrayList<>();
+		for (ContextComponent contextComponent : contextRoot.getContextComponents()) {
+			TemplateComponent templateComponent = TemplateComponent.of(contextComponent).get();
+			descriptions.add(describe(contextComponent, templateComponent.getName(),
+					templateComponent.getCatalogComponent().getName()));
+			for (ContextSensor contextSensor : contextComponent.getContextSensors()) {
+				TemplateSensor templateSensor = TemplateSensor.of(contextSensor).get();
+				descriptions.add(contextComponent.getName() + "/" + describe(contextSensor, templateSensor.getName(),
+						templateSensor.getCatalogSensor().getName()));
+			}
+		}
+		return descriptions;
+	}
+
+	private static String describe(BaseEntity contextEntity, String templateName, String catalogName) {
+		Map<String, String> values = new TreeMap<>();
+		for (Value value : contextEntity.getValues().values()) {
+			// the content of unset values depends on their type
+			Object extracted = value.isValid() ? value.extract() : null;
+			values.put(value.getName(), extracted instanceof int[] ? Arrays.toString((int[]) extracted)
+					: String.valueOf(extracted));
+		}
+		return templateName + "(" + catalogName + "): " + values;
+	}
+
+}
@@ -0,0 +1,92 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.eclipse.mdm.api.base.model.ContextType;
+import org.eclipse.mdm.api.base.model.Entity;
+import org.eclipse.mdm.api.base.model.VersionState;
+import org.junit.Test;
+
+public class TemplateRootTest {
+
+	private final EntityFactory entityFactory = TestCores.entityFactory();
+	private final CatalogComponent catalogComponent = entityFactory.createCatalogComponent(ContextType.UNITUNDERTEST,
+			"Engine");
+
+	@Test
+	public void validTemplateRootFindsNestedTemplateComponents() {
+		TemplateRoot templateRoot = entityFactory.createTemplateRoot(ContextType.UNITUNDERTEST, "Car");
+		TemplateComponent engine = entityFactory.createTemplateComponent("engine", templateRoot, catalogComponent);
+		TemplateComponent piston = entityFactory.createTemplateComponent("piston", engine, catalogComponent);
+		templateRoot.setVersionState(VersionState.VALID);
+
+		assertThat(templateRoot.getTemplateComponent("piston")).containsSame(piston);
+		assertThat(engine.getTemplateComponent("piston")).containsSame(piston);
+		assertThat(piston.getTemplateComponent("engine")).isEmpty();
+		assertThat(templateRoot.getTemplateComponent("unknown")).isEmpty();
+	}
+
+	@Test
+	public void validTemplateRootResolvesDuplicateNamesLikeEditableOne() {
+		TemplateRoot templateRoot = entityFactory.createTemplateRoot(ContextType.UNITUNDERTEST, "Car");
+		TemplateComponent engine = entityFactory.createTemplateComponent("engine", templateRoot, catalogComponent);
+		TemplateComponent gearbox = entityFactory.createTemplateComponent("gearbox", templateRoot, catalogComponent);
+		TemplateComponent piston = entityFactory.createTemplateComponent("piston", engine, catalogComponent);
+		TemplateComponent deep = entityFactory.createTemplateComponent("deep", piston, catalogComponent);
+		TemplateComponent shallow = entityFactory.createTemplateComponent("shallow", gearbox, catalogComponent);
+		deep.setName("part");
+		shallow.setName("part");
+
+		assertThat(templateRoot.getTemplateComponent("part")).containsSame(deep);
+		assertThat(gearbox.getTemplateComponent("part")).containsSame(shallow);
+
+		templateRoot.setVersionState(VersionState.VALID);
+
+		assertThat(templateRoot.getTemplateComponent("part")).containsSame(deep);
+		assertThat(engine.getTemplateComponent("part")).containsSame(deep);
+		assertThat(gearbox.getTemplateComponent("part")).containsSame(shallow);
+		assertThat(shallow.getTemplateComponent("part")).isEmpty();
+	}
+
+	@Test
+	public void editableTemplateRootSeesRenamedTemplateComponents() {
+		TemplateRoot templateRoot = entityFactory.createTemplateRoot(ContextType.UNITUNDERTEST, "Car");
+		TemplateComponent engine = entityFactory.createTemplateComponent("engine", templateRoot, catalogComponent);
+		TemplateComponent piston = entityFactory.createTemplateComponent("piston", engine, catalogComponent);
+		assertThat(templateRoot.getTemplateComponent("piston")).containsSame(piston);
+
+		piston.getValue(Entity.ATTR_NAME).set("cylinder");
+
+		assertThat(templateRoot.getTemplateComponent("piston")).isEmpty();
+		assertThat(templateRoot.getTemplateComponent("cylinder")).containsSame(piston);
+		assertThat(engine.getTemplateComponent("cylinder")).containsSame(piston);
+	}
+
+	@Test
+	public void editableTemplateRootSeesTemplateComponentsAddedThroughCore() {
+		TemplateRoot templateRoot = entityFactory.createTemplateRoot(ContextType.UNITUNDERTEST, "Car");
+		entityFactory.createTemplateComponent("engine", templateRoot, catalogComponent);
+		assertThat(templateRoot.getTemplateComponent("gearbox")).isEmpty();
+
+		TemplateRoot other = entityFactory.createTemplateRoot(ContextType.UNITUNDERTEST, "Truck");
+		TemplateComponent gearbox = entityFactory.createTemplateComponent("gearbox", other, catalogComponent);
+		TestCores.of(templateRoot).getChildrenStore().add(gearbox);
+
+		assertThat(templateRoot.getTemplateComponent("gearbox")).containsSame(gearbox);
+	}
+
+}
@@ -0,0 +1,96 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.mdm.api.base.model.ContextType;
+import org.eclipse.mdm.api.base.model.VersionState;
+import org.junit.Test;
+
+public class TemplateTestStepTest {
+
+	@Test
+	public void templateRootsAreOrdered() {
+		EntityFactory entityFactory = TestCores.entityFactory();
+		TemplateTestStep templateTestStep = entityFactory.createTemplateTestStep("tts");
+		TemplateRoot testEquipment = entityFactory.createTemplateRoot(ContextType.TESTEQUIPMENT, "te");
+		TemplateRoot unitUnderTest = entityFactory.createTemplateRoot(ContextType.UNITUNDERTEST, "uut");
+		templateTestStep.setTemplateRoot(testEquipment);
+		templateTestStep.setTemplateRoot(unitUnderTest);
+
+		List<TemplateRoot> templateRoots = templateTestStep.getTemplateRoots();
+		assertThat(templateRoots).containsExactly(unitUnderTest, testEquipment);
+		templateRoots.clear();
+		assertThat(templateTestStep.getTemplateRoots()).containsExactly(unitUnderTest, testEquipment);
+
+		List<TemplateRoot> visited = new ArrayList<>();
+		templateTestStep.forEachTemplateRoot(visited::add);
+		assertThat(visited).containsExactly(unitUnderTest, testEquipment);
+
+		assertThat(templateTestStep.removeTemplateRoot(ContextType.UNITUNDERTEST)).isTrue();
+		assertThat(templateTestStep.removeTemplateRoot(ContextType.UNITUNDERTEST)).isFalse();
+		assertThat(templateTestStep.getTemplateRoot(ContextType.UNITUNDERTEST)).isEmpty();
+		assertThat(templateTestStep.getTemplateRoots()).containsExactly(testEquipment);
+	}
+
+	@Test
+	public void templateRootsOfValidTemplateTestStepAreMemorized() {
+		EntityFactory entityFactory = TestCores.entityFactory();
+		TemplateTestStep templateTestStep = entityFactory.createTemplateTestStep("tts");
+		TemplateRoot unitUnderTest = entityFactory.createTemplateRoot(ContextType.UNITUNDERTEST, "uut");
+		TemplateRoot testEquipment = entityFactory.createTemplateRoot(ContextType.TESTEQUIPMENT, "te");
+		templateTestStep.setTemplateRoot(testEquipment);
+		templateTestStep.setVersionState(VersionState.VALID);
+		assertThat(templateTestStep.getTemplateRoots()).containsExactly(testEquipment);
+
+		clearInvocations(TestCores.of(templateTestStep));
+		List<TemplateRoot> visited = new ArrayList<>();
+		templateTestStep.forEachTemplateRoot(visited::add);
+		assertThat(visited).containsExactly(testEquipment);
+		assertThat(templateTestStep.getTemplateRoots()).containsExactly(testEquipment);
+		verify(TestCores.of(templateTestStep), never()).getMutableStore();
+
+		templateTestStep.setTemplateRoot(unitUnderTest);
+		assertThat(templateTestStep.getTemplateRoots()).containsExactly(unitUnderTest, testEquipment);
+		templateTestStep.removeTemplateRoot(ContextType.TESTEQUIPMENT);
+		assertThat(templateTestStep.getTemplateRoots()).containsExactly(unitUnderTest);
+	}
+
+	@Test
+	public void templateRootsSetThroughCoreAreVisible() {
+		EntityFactory entityFactory = TestCores.entityFactory();
+		TemplateTestStep templateTestStep = entityFactory.createTemplateTestStep("tts");
+		TemplateRoot first = entityFactory.createTemplateRoot(ContextType.TESTSEQUENCE, "first");
+		TemplateRoot second = entityFactory.createTemplateRoot(ContextType.TESTSEQUENCE, "second");
+		templateTestStep.setTemplateRoot(first);
+		assertThat(templateTestStep.getTemplateRoots()).containsExactly(first);
+
+		TestCores.of(templateTestStep).getMutableStore().set(second, ContextType.TESTSEQUENCE);
+		assertThat(templateTestStep.getTemplateRoot(ContextType.TESTSEQUENCE)).containsSame(second);
+		assertThat(templateTestStep.getTemplateRoots()).containsExactly(second);
+
+		TestCores.of(templateTestStep).getMutableStore().remove(TemplateRoot.class, ContextType.TESTSEQUENCE);
+		assertThat(templateTestStep.getTemplateRoot(ContextType.TESTSEQUENCE)).isEmpty();
+		assertThat(templateTestStep.getTemplateRoots()).isEmpty();
+	}
+
+}
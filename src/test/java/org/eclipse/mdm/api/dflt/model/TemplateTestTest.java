@@ -0,0 +1,87 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.eclipse.mdm.api.base.model.VersionState;
+import org.junit.Test;
+
+public class TemplateTestTest {
+
+	private final EntityFactory entityFactory = TestCores.entityFactory();
+
+	@Test
+	public void editableTemplateTestContainsTemplateTestSteps() {
+		TemplateTest templateTest = entityFactory.createTemplateTest("Template");
+		TemplateTestStep measure = entityFactory.createTemplateTestStep("measure");
+		entityFactory.createTemplateTestStepUsage("measure", templateTest, measure);
+
+		assertThat(templateTest.contains(measure)).isTrue();
+		assertThat(templateTest.contains(entityFactory.createTemplateTestStep("check"))).isFalse();
+	}
+
+	@Test
+	public void validTemplateTestMatchesTemplateTestStepsByNameAndVersion() {
+		TemplateTest templateTest = entityFactory.createTemplateTest("Template");
+		entityFactory.createTemplateTestStepUsage("measure", templateTest,
+				entityFactory.createTemplateTestStep("measure"));
+		templateTest.setVersionState(VersionState.VALID);
+
+		TemplateTestStep sameVersion = entityFactory.createTemplateTestStep("measure");
+		TemplateTestStep otherVersion = entityFactory.createTemplateTestStep("measure");
+		otherVersion.setVersion(Integer.valueOf(2));
+
+		assertThat(templateTest.contains(sameVersion)).isTrue();
+		assertThat(templateTest.contains(otherVersion)).isFalse();
+	}
+
+	@Test
+	public void indexIsInvalidatedByAddedAndRemovedUsages() {
+		TemplateTest templateTest = entityFactory.createTemplateTest("Template");
+		TemplateTestStep measure = entityFactory.createTemplateTestStep("measure");
+		TemplateTestStep check = entityFactory.createTemplateTestStep("check");
+		entityFactory.createTemplateTestStepUsage("measure", templateTest, measure);
+		templateTest.setVersionState(VersionState.VALID);
+		assertThat(templateTest.contains(check)).isFalse();
+
+		entityFactory.createTemplateTestStepUsage("check", templateTest, check);
+		assertThat(templateTest.contains(check)).isTrue();
+
+		assertThat(templateTest.removeTemplateTestStepUsage("measure")).isTrue();
+		assertThat(templateTest.contains(measure)).isFalse();
+		assertThat(templateTest.contains(check)).isTrue();
+	}
+
+	@Test
+	public void usageFlagSettersKeepFlagsInSync() {
+		TemplateTest templateTest = entityFactory.createTemplateTest("Template");
+		TemplateTestStepUsage usage = entityFactory.createTemplateTestStepUsage("measure", templateTest,
+				entityFactory.createTemplateTestStep("measure"));
+		usage.setOptional(Boolean.TRUE);
+		usage.setDefaultActive(Boolean.FALSE);
+		assertThat(usage.getTemplateFlags()).isEqualTo(TemplateFlags.OPTIONAL);
+		assertThat(TemplateTestStepUsage.IS_IMPLICIT_CREATE.test(usage)).isFalse();
+
+		usage.setDefaultActive(Boolean.TRUE);
+		assertThat(TemplateTestStepUsage.IS_IMPLICIT_CREATE.test(usage)).isTrue();
+
+		usage.setOptional(Boolean.FALSE);
+		usage.setDefaultActive(Boolean.FALSE);
+		assertThat(TemplateTestStepUsage.IS_MANDATORY.test(usage)).isTrue();
+		assertThat(TemplateTestStepUsage.IS_IMPLICIT_CREATE.test(usage)).isTrue();
+	}
+
+}
@@ -0,0 +1,81 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class TemplateTreeTest {
+
+	@Test
+	public void treeIsFlattenedInPreorder() {
+		TemplateComponent c = templateComponent();
+		TemplateComponent b = templateComponent(c);
+		TemplateComponent d = templateComponent();
+		TemplateComponent a = templateComponent(b, d);
+		TemplateComponent e = templateComponent();
+		TemplateTree templateTree = TemplateTree.of(templateRoot(a, e));
+
+		assertThat(templateTree).containsExactly(a, b, c, d, e);
+		assertThat(templateTree.getParentIndex(2)).isEqualTo(1);
+		assertThat(templateTree.getParentIndex(3)).isEqualTo(0);
+		assertThat(templateTree.getDepth(2)).isEqualTo(2);
+		assertThat(templateTree.getSubtreeEnd(0)).isEqualTo(4);
+		assertThat(templateTree.getSubtreeEnd(4)).isEqualTo(5);
+		assertThat(templateTree.getChildIndices(-1)).containsExactly(0, 4);
+		assertThat(templateTree.getChildIndices(0)).containsExactly(1, 3);
+		assertThat(templateTree.getChildIndices(2)).isEmpty();
+	}
+
+	@Test
+	public void spliteratorSplitsAtSiblingBoundaries() {
+		TemplateComponent c = templateComponent();
+		TemplateComponent b = templateComponent(c);
+		TemplateComponent d = templateComponent();
+		TemplateComponent a = templateComponent(b, d);
+		TemplateComponent e = templateComponent();
+		TemplateTree templateTree = TemplateTree.of(templateRoot(a, e));
+
+		Spliterator<TemplateComponent> suffix = templateTree.spliterator();
+		Spliterator<TemplateComponent> prefix = suffix.trySplit();
+
+		assertThat(prefix.estimateSize()).isEqualTo(4);
+		assertThat(suffix.estimateSize()).isEqualTo(1);
+		assertThat(templateTree.parallelStream().collect(Collectors.toList())).containsExactly(a, b, c, d, e);
+	}
+
+	private static TemplateRoot templateRoot(TemplateComponent... templateComponents) {
+		TemplateRoot templateRoot = mock(TemplateRoot.class);
+		when(templateRoot.getTemplateComponents()).thenReturn(Arrays.asList(templateComponents));
+		return templateRoot;
+	}
+
+	private static TemplateComponent templateComponent(TemplateComponent... templateComponents) {
+		TemplateComponent templateComponent = mock(TemplateComponent.class);
+		when(templateComponent.getTemplateComponents()).thenReturn(Arrays.asList(templateComponents));
+		when(templateComponent.getTemplateAttributes()).thenReturn(Collections.emptyList());
+		when(templateComponent.getTemplateSensors()).thenReturn(Collections.emptyList());
+		return templateComponent;
+	}
+
+}
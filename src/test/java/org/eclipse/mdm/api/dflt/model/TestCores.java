@@ -0,0 +1,185 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.mdm.api.base.adapter.ChildrenStore;
+import org.eclipse.mdm.api.base.adapter.Core;
+import org.eclipse.mdm.api.base.adapter.EntityStore;
+import org.eclipse.mdm.api.base.model.BaseEntity;
+import org.eclipse.mdm.api.base.model.ContextComponent;
+import org.eclipse.mdm.api.base.model.ContextSensor;
+import org.eclipse.mdm.api.base.model.ContextType;
+import org.eclipse.mdm.api.base.model.Entity;
+import org.eclipse.mdm.api.base.model.Sortable;
+import org.eclipse.mdm.api.base.model.Value;
+import org.eclipse.mdm.api.base.model.ValueType;
+
+/**
+ * Creates {@link Core}s backed by real entity and children stores, so
+ * entities of the default model can be composed without a data source.
+ */
+final class TestCores {
+
+	private static final Set<String> BOOLEAN_VALUES = new HashSet<>(Arrays.asList(TemplateComponent.ATTR_OPTIONAL,
+			TemplateComponent.ATTR_DEFAULT_ACTIVE, TemplateComponent.ATTR_SERIES_CONSTANT,
+			TemplateAttribute.ATTR_OPTIONAL, TemplateAttribute.ATTR_VALUE_READONLY,
+			CatalogAttribute.ATTR_VALUE_COPYABLE, CatalogAttribute.ATTR_VALUE_LIST_REFERENCE,
+			CatalogAttribute.VATTR_SEQUENCE));
+
+	private static final Set<String> ENUMERATION_VALUES = new HashSet<>(Arrays.asList(Versionable.ATTR_VERSION_STATE,
+			ValueListValue.ATTR_SCALAR_TYPE, CatalogAttribute.VATTR_SCALAR_TYPE));
+
+	private TestCores() {
+	}
+
+	/**
+	 * Creates a {@code Core} with given values.
+	 */
+	static Core core(String typeName, Value... values) {
+		Map<String, Value> valueMap = new HashMap<>();
+		for (Value value : values) {
+			valueMap.put(value.getName(), value);
+		}
+		return core(typeName, valueMap);
+	}
+
+	/**
+	 * Creates an {@link EntityFactory} whose {@code Core}s create missing
+	 * values on first access. The {@code Core}s of context components and
+	 * sensors additionally provide values of given types.
+	 */
+	static EntityFactory entityFactory(Map<String, ValueType<?>> contextValueTypes) {
+		return mock(EntityFactory.class, invocation -> {
+			Method method = invocation.getMethod();
+			if (!Modifier.isAbstract(method.getModifiers())) {
+				return invocation.callRealMethod();
+			} else if (!Core.class.equals(method.getReturnType())) {
+				return null;
+			}
+
+			Class<?> entityClass = null;
+			ContextType contextType = null;
+			for (Object argument : invocation.getArguments()) {
+				if (argument instanceof Class) {
+					entityClass = (Class<?>) argument;
+				} else if (argument instanceof ContextType) {
+					contextType = (ContextType) argument;
+				}
+			}
+
+			Map<String, Value> values = new LazyValues();
+			if (ContextComponent.class.equals(entityClass) || ContextSensor.class.equals(entityClass)) {
+				contextValueTypes.forEach((name, valueType) -> values.put(name, valueType.create(name, null)));
+			}
+
+			return core(entityClass.getSimpleName() + (contextType == null ? "" : contextType.name()), values);
+		});
+	}
+
+	/**
+	 * Creates an {@link EntityFactory} without additional context values.
+	 */
+	static EntityFactory entityFactory() {
+		return entityFactory(Collections.emptyMap());
+	}
+
+	/**
+	 * Returns the {@code Core} of given entity.
+	 */
+	static Core of(Entity entity) {
+		return CoreAccess.of(entity);
+	}
+
+	private static Core core(String typeName, Map<String, Value> values) {
+		Core core = mock(Core.class);
+		EntityStore permanentStore = new EntityStore();
+		EntityStore mutableStore = new EntityStore();
+		ChildrenStore childrenStore = new ChildrenStore();
+		when(core.getTypeName()).thenReturn(typeName);
+		when(core.getValues()).thenReturn(values);
+		when(core.getPermanentStore()).thenReturn(permanentStore);
+		when(core.getMutableStore()).thenReturn(mutableStore);
+		when(core.getChildrenStore()).thenReturn(childrenStore);
+		doAnswer(invocation -> {
+			values.keySet().removeAll(invocation.<Collection<?>>getArgument(0));
+			return null;
+		}).when(core).hideValues(any());
+		return core;
+	}
+
+	/**
+	 * Grants access to the {@code Core} of an entity.
+	 */
+	private static final class CoreAccess extends BaseEntity {
+
+		private CoreAccess(Core core) {
+			super(core);
+		}
+
+		private static Core of(Entity entity) {
+			return getCore(entity);
+		}
+
+	}
+
+	/**
+	 * Creates values with the type of the default model on first access.
+	 */
+	private static final class LazyValues extends HashMap<String, Value> {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public Value get(Object key) {
+			return computeIfAbsent((String) key, LazyValues::create);
+		}
+
+		@Override
+		public Value remove(Object key) {
+			get(key);
+			return super.remove(key);
+		}
+
+		private static Value create(String name) {
+			if (BOOLEAN_VALUES.contains(name)) {
+				return ValueType.BOOLEAN.create(name, null);
+			} else if (ENUMERATION_VALUES.contains(name)) {
+				return ValueType.ENUMERATION.create(name, "", false, null, name);
+			} else if (Sortable.ATTR_SORT_INDEX.equals(name)) {
+				return ValueType.INTEGER.create(name, null);
+			} else if ("DateCreated".equals(name)) {
+				return ValueType.DATE.create(name, null);
+			}
+			return ValueType.STRING.create(name, null);
+		}
+
+	}
+
+}
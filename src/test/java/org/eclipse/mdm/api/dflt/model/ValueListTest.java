@@ -0,0 +1,125 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Test;
+
+public class ValueListTest {
+
+	@Test
+	public void findByPrefixReturnsSortedMatches() {
+		EntityFactory entityFactory = TestCores.entityFactory();
+		ValueList valueList = entityFactory.createValueList("vl");
+		ValueListValue beta = entityFactory.createValueListValue("beta", valueList);
+		ValueListValue alpha = entityFactory.createValueListValue("alpha", valueList);
+		ValueListValue alps = entityFactory.createValueListValue("alps", valueList);
+		entityFactory.createValueListValue("gamma", valueList);
+
+		assertThat(valueList.findByPrefix("al", 10)).containsExactly(alpha, alps);
+		assertThat(valueList.findByPrefix("al", 1)).containsExactly(alpha);
+		assertThat(valueList.findByPrefix("", 3)).containsExactly(alpha, alps, beta);
+		assertThat(valueList.findByPrefix("delta", 10)).isEmpty();
+		assertThatThrownBy(() -> valueList.findByPrefix("al", -1)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void findByPrefixFollowsChanges() {
+		EntityFactory entityFactory = TestCores.entityFactory();
+		ValueList valueList = entityFactory.createValueList("vl");
+		ValueListValue alpha = entityFactory.createValueListValue("alpha", valueList);
+		ValueListValue beta = entityFactory.createValueListValue("beta", valueList);
+		assertThat(valueList.findByPrefix("a", 10)).containsExactly(alpha);
+
+		// the number of values stays the same
+		valueList.removeValueListValue("alpha");
+		ValueListValue alps = entityFactory.createValueListValue("alps", valueList);
+		assertThat(valueList.findByPrefix("a", 10)).containsExactly(alps);
+
+		beta.setName("alpine");
+		assertThat(valueList.findByPrefix("a", 10)).containsExactly(beta, alps);
+		assertThat(valueList.findByPrefix("b", 10)).isEmpty();
+	}
+
+	@Test
+	public void findByPrefixSkipsUnnamedValues() {
+		EntityFactory entityFactory = TestCores.entityFactory();
+		ValueList valueList = entityFactory.createValueList("vl");
+		ValueListValue alpha = entityFactory.createValueListValue("alpha", valueList);
+		ValueListValue beta = entityFactory.createValueListValue("beta", valueList);
+		beta.setName(null);
+		assertThat(valueList.findByPrefix("", 10)).containsExactly(alpha);
+
+		ValueListValue alps = entityFactory.createValueListValue("alps", valueList);
+		alpha.setName(null);
+		assertThat(valueList.findByPrefix("", 10)).containsExactly(alps);
+
+		beta.setName("beta");
+		assertThat(valueList.findByPrefix("", 10)).containsExactly(alps, beta);
+	}
+
+	@Test
+	public void sortIndicesAreAssignedSequentially() {
+		EntityFactory entityFactory = TestCores.entityFactory();
+		ValueList valueList = entityFactory.createValueList("vl");
+		ValueListValue first = entityFactory.createValueListValue("first", valueList);
+		entityFactory.createValueListValue("second", valueList);
+		assertThat(valueList.getValueListValues()).extracting(ValueListValue::getSortIndex).containsExactly(1, 2);
+
+		// highest sort index plus one, like BaseEntityFactory#nextIndex
+		valueList.removeValueListValue("second");
+		ValueListValue third = entityFactory.createValueListValue("third", valueList);
+		assertThat(third.getSortIndex()).isEqualTo(2);
+
+		first.setSortIndex(10);
+		assertThat(entityFactory.createValueListValue("fourth", valueList).getSortIndex()).isEqualTo(11);
+	}
+
+	@Test
+	public void nonPositiveSortIndicesAreTakenIntoAccount() {
+		EntityFactory entityFactory = TestCores.entityFactory();
+		ValueList valueList = entityFactory.createValueList("vl");
+		ValueListValue first = entityFactory.createValueListValue("first", valueList);
+		assertThat(first.getSortIndex()).isEqualTo(1);
+
+		first.setSortIndex(-5);
+		assertThat(entityFactory.createValueListValue("second", valueList).getSortIndex()).isEqualTo(-4);
+	}
+
+	@Test
+	public void valueListValuesAreFoundByName() {
+		EntityFactory entityFactory = TestCores.entityFactory();
+		ValueList valueList = entityFactory.createValueList("vl");
+		for (int i = 0; i < 100; i++) {
+			ValueListValue valueListValue = entityFactory.createValueListValue("v" + i, valueList);
+			assertThat(valueList.getValueListValue("v" + i)).contains(valueListValue);
+		}
+		assertThatThrownBy(() -> entityFactory.createValueListValue("v42", valueList))
+				.isInstanceOf(IllegalArgumentException.class);
+
+		ValueListValue v42 = valueList.getValueListValue("v42").get();
+		v42.setName("w42");
+		assertThat(valueList.getValueListValue("v42")).isEmpty();
+		assertThat(valueList.getValueListValue("w42")).contains(v42);
+		assertThat(v42.getValue(ValueListValue.ATTR_VALUE).<String> extract()).isEqualTo("w42");
+
+		assertThat(valueList.removeValueListValue("w42")).isTrue();
+		assertThat(valueList.getValueListValue("w42")).isEmpty();
+		assertThat(entityFactory.createValueListValue("v42", valueList).getName()).isEqualTo("v42");
+	}
+
+}
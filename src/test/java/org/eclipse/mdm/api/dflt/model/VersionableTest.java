@@ -0,0 +1,107 @@
+/********************************************************************************
+ * Copyright (c) 2015-2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ ********************************************************************************/
+
+package org.eclipse.mdm.api.dflt.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.mdm.api.base.model.ContextType;
+import org.junit.Test;
+
+public class VersionableTest {
+
+	@Test
+	public void latestValidSelectsHighestValidVersion() {
+		TemplateRoot v1 = templateRoot("Root", 1, true);
+		TemplateRoot v2 = templateRoot("Root", 2, false);
+		TemplateRoot v3 = templateRoot("Root", 3, true);
+		TemplateRoot other = templateRoot("Root2", 4, true);
+		List<TemplateRoot> candidates = Arrays.asList(v3, other, v1, v2);
+
+		assertThat(Versionable.latestValid(candidates, "Root")).contains(v3);
+		assertThat(Versionable.latestValid(candidates, "Missing")).isEmpty();
+	}
+
+	@Test
+	public void latestValidSelectsHighestValidVersionPerName() {
+		TemplateRoot a1 = templateRoot("A", 1, true);
+		TemplateRoot a2 = templateRoot("A", 2, true);
+		TemplateRoot b1 = templateRoot("B", 1, true);
+		TemplateRoot b2 = templateRoot("B", 2, false);
+		TemplateRoot c1 = templateRoot("C", 1, true);
+		List<TemplateRoot> candidates = Arrays.asList(a2, b2, c1, a1, b1);
+
+		Map<String, TemplateRoot> latestValid = Versionable.latestValid(candidates, Arrays.asList("B", "A", "D"));
+
+		assertThat(latestValid).containsExactly(entry("B", b1), entry("A", a2));
+	}
+
+	@Test
+	public void versionNumberFollowsReplacedVersion() {
+		EntityFactory entityFactory = TestCores.entityFactory();
+		TemplateTestStep templateTestStep = entityFactory.createTemplateTestStep("Step");
+		assertThat(templateTestStep.getVersionNumber()).isEqualTo(1);
+
+		templateTestStep.setVersion(Integer.valueOf(2));
+		assertThat(templateTestStep.getVersionNumber()).isEqualTo(2);
+		assertThat(templateTestStep.getVersion()).isEqualTo(2);
+	}
+
+	@Test
+	public void versionNumberFollowsVersionWrittenThroughValue() {
+		EntityFactory entityFactory = TestCores.entityFactory();
+		TemplateRoot templateRoot = entityFactory.createTemplateRoot(ContextType.UNITUNDERTEST, "Root");
+		TemplateRoot other = entityFactory.createTemplateRoot(ContextType.UNITUNDERTEST, "Root");
+		other.setVersion(Integer.valueOf(2));
+		assertThat(templateRoot.getVersionNumber()).isEqualTo(1);
+		assertThat(Versionable.COMPARATOR.compare(templateRoot, other)).isPositive();
+		assertThat(Versionable.VERSION_NUMBER_COMPARATOR.compare(templateRoot, other)).isPositive();
+
+		// e.g. written by an adapter or a generic editor
+		templateRoot.getValue(Versionable.ATTR_VERSION).set("3");
+		assertThat(templateRoot.getVersionNumber()).isEqualTo(3);
+		assertThat(templateRoot.getVersion()).isEqualTo(3);
+		assertThat(Versionable.COMPARATOR.compare(templateRoot, other)).isNegative();
+		assertThat(Versionable.VERSION_NUMBER_COMPARATOR.compare(templateRoot, other)).isNegative();
+	}
+
+	@Test
+	public void comparatorComparesVersions() {
+		TemplateRoot older = templateRoot("Root", 1, true);
+		TemplateRoot newer = templateRoot("Root", 2, true);
+		when(older.getVersion()).thenReturn(Integer.valueOf(3));
+		when(newer.getVersion()).thenReturn(Integer.valueOf(2));
+
+		// the version of overriding implementations is taken into account
+		assertThat(Versionable.COMPARATOR.compare(older, newer)).isNegative();
+		assertThat(Versionable.VERSION_NUMBER_COMPARATOR.compare(older, newer)).isPositive();
+	}
+
+	private static TemplateRoot templateRoot(String name, int version, boolean valid) {
+		TemplateRoot templateRoot = mock(TemplateRoot.class);
+		when(templateRoot.getName()).thenReturn(name);
+		when(templateRoot.nameEquals(name)).thenReturn(true);
+		when(templateRoot.getVersionNumber()).thenReturn(version);
+		when(templateRoot.isValid()).thenReturn(valid);
+		return templateRoot;
+	}
+
+}